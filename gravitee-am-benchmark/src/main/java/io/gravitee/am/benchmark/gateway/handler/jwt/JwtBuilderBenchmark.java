@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.benchmark.gateway.handler.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.am.benchmark.AbstractBenchmark;
+import io.gravitee.am.common.jwt.JWT;
+import io.gravitee.am.gateway.handler.jwt.JwtBuilder;
+import io.gravitee.am.gateway.handler.jwt.impl.DefaultJwtBuilder;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.JacksonSerializer;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sign an access token with the {@link DefaultJwtBuilder} of a certificate versus the jjwt builder it replaced, for
+ * HMAC, RSA and ECDSA keys.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBuilderBenchmark extends AbstractBenchmark {
+
+    @Param({"HS256", "RS256", "ES256"})
+    public String algorithm;
+
+    private JwtBuilder jwtBuilder;
+    private io.jsonwebtoken.JwtBuilder jjwtBuilder;
+    private JWT jwt;
+
+    @Setup
+    public void setup() {
+        SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.forName(algorithm);
+        Key signingKey = signatureAlgorithm.isHmac() ?
+                Keys.secretKeyFor(signatureAlgorithm) : Keys.keyPairFor(signatureAlgorithm).getPrivate();
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        jwtBuilder = new DefaultJwtBuilder(signingKey, "kid", objectMapper);
+        // single threaded benchmark, the jjwt builder can be shared as it was by the certificate provider
+        jjwtBuilder = Jwts.builder()
+                .serializeToJsonWith(new JacksonSerializer(objectMapper))
+                .signWith(signingKey)
+                .setHeaderParam(JwsHeader.KEY_ID, "kid");
+
+        jwt = new JWT();
+        jwt.setIss("https://gravitee.am/domain/oidc");
+        jwt.setSub("00a1b2c3-d4e5-f6a7-b8c9-d0e1f2a3b4c5");
+        jwt.setAud("client-id");
+        jwt.setDomain("domain");
+        jwt.setIat(1546300800L);
+        jwt.setExp(4102444800L);
+        jwt.setScope("openid profile email");
+    }
+
+    @Benchmark
+    public String defaultJwtBuilder() {
+        return jwtBuilder.sign(jwt);
+    }
+
+    @Benchmark
+    public String jjwtBuilder() {
+        return jjwtBuilder.setClaims(jwt).compact();
+    }
+}
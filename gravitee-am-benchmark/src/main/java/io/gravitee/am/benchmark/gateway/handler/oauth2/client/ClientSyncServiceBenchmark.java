@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.benchmark.gateway.handler.oauth2.client;
+
+import io.gravitee.am.benchmark.AbstractBenchmark;
+import io.gravitee.am.gateway.handler.oauth2.client.impl.ClientSyncServiceImpl;
+import io.gravitee.am.model.Client;
+import io.gravitee.am.model.Domain;
+import io.reactivex.Observable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Look up a client of the security domain by its client_id from the indexes of {@link ClientSyncServiceImpl} versus
+ * the former scan of the domain clients.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+public class ClientSyncServiceBenchmark extends AbstractBenchmark {
+
+    private static final String DOMAIN_ID = "domain";
+
+    @Param({"100000"})
+    public int clients;
+
+    private ClientSyncServiceImpl clientSyncService;
+    private Set<Client> domainClients;
+    private String clientId;
+
+    @Setup
+    public void setup() {
+        Domain domain = new Domain();
+        domain.setId(DOMAIN_ID);
+        domain.setName(DOMAIN_ID);
+
+        clientSyncService = new ClientSyncServiceImpl();
+        setField(clientSyncService, "domain", domain);
+        domainClients = new HashSet<>();
+        for (int i = 0; i < clients; i++) {
+            Client client = new Client();
+            client.setId("id-" + i);
+            client.setClientId("client-" + i);
+            client.setDomain(DOMAIN_ID);
+            clientSyncService.addDynamicClientRegistred(client);
+            domainClients.add(client);
+        }
+        clientId = "client-" + (clients / 2);
+    }
+
+    @Benchmark
+    public Client index() {
+        return clientSyncService.findByDomainAndClientId(DOMAIN_ID, clientId).blockingGet();
+    }
+
+    @Benchmark
+    public Client scan() {
+        return Observable.fromIterable(domainClients)
+                .filter(client -> client.getClientId().equals(clientId))
+                .firstElement()
+                .blockingGet();
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.benchmark.identityprovider.mongo;
+
+import io.gravitee.am.benchmark.AbstractBenchmark;
+import io.gravitee.am.identityprovider.mongo.utils.BsonQueryTemplate;
+import org.bson.BsonDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Build the query used to find a user of a MongoDB identity provider, from a precompiled {@link BsonQueryTemplate}
+ * versus parsing the configured query for every user.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+public class BsonQueryTemplateBenchmark extends AbstractBenchmark {
+
+    @Param({"{username: ?}", "{$or: [{username: ?}, {email: ?}]}"})
+    public String query;
+
+    private String username = "john.doe@gravitee.io";
+    private BsonQueryTemplate template;
+
+    @Setup
+    public void setup() {
+        template = BsonQueryTemplate.compile(query);
+    }
+
+    @Benchmark
+    public BsonDocument render() {
+        return template.render(username);
+    }
+
+    @Benchmark
+    public BsonDocument parse() {
+        String rawQuery = query.replaceAll("\\?", username);
+        return BsonDocument.parse(rawQuery.replaceAll("[^\\{\\}\\[\\],:\\s]+(\\s+[^\\{\\}\\[\\],:\\s]+)*", "\"$0\""));
+    }
+}
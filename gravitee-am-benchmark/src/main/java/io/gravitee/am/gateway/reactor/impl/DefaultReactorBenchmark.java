@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.reactor.impl;
+
+import io.gravitee.am.benchmark.AbstractBenchmark;
+import io.vertx.reactivex.core.Vertx;
+import io.vertx.reactivex.ext.web.Router;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Resolve the router of the security domain targeted by a request depending on the number of deployed domains, the
+ * cost is expected to be the same whatever the number of domains.
+ *
+ * The benchmark lives in the package of {@link DefaultReactor} to call its package private resolution.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+public class DefaultReactorBenchmark extends AbstractBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int domains;
+
+    private Vertx vertx;
+    private DefaultReactor reactor;
+    private String firstDomainPath;
+    private String lastDomainPath;
+
+    @Setup
+    public void setup() {
+        vertx = Vertx.vertx();
+        reactor = new DefaultReactor();
+        setField(reactor, "vertx", vertx);
+        reactor.afterPropertiesSet();
+
+        for (int i = 0; i < domains; i++) {
+            reactor.mountSubRouter("/domain-" + i, Router.router(vertx));
+        }
+        firstDomainPath = "/domain-0/oauth/authorize";
+        lastDomainPath = "/domain-" + (domains - 1) + "/oauth/authorize";
+    }
+
+    @TearDown
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Benchmark
+    public Router resolveFirstDomain() {
+        return reactor.resolve(firstDomainPath);
+    }
+
+    @Benchmark
+    public Router resolveLastDomain() {
+        return reactor.resolve(lastDomainPath);
+    }
+
+    @Benchmark
+    public Router resolveUnknownDomain() {
+        return reactor.resolve("/unknown/oauth/authorize");
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.core.deployment;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keep track of the security domains being deployed while the gateway is starting.
+ *
+ * The gateway is ready once the initial synchronization has submitted every security domain and all of them have been
+ * processed by the reactor, whether their deployment succeeded or not. It then remains ready: domains deployed later
+ * on do not change its readiness.
+ *
+ * @author GraviteeSource Team
+ */
+public class DomainDeploymentTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainDeploymentTracker.class);
+
+    private final Set<String> pendingDomains = ConcurrentHashMap.newKeySet();
+    private final long startTime = System.currentTimeMillis();
+    private volatile boolean initialized;
+    private volatile boolean ready;
+    private volatile long startupTime = -1;
+
+    /**
+     * A security domain is about to be deployed by the initial synchronization.
+     */
+    public void deploying(String domainId) {
+        if (!ready) {
+            pendingDomains.add(domainId);
+        }
+    }
+
+    /**
+     * The reactor is done with the deployment of a security domain.
+     */
+    public void deployed(String domainId) {
+        if (pendingDomains.remove(domainId)) {
+            checkReadiness();
+        }
+    }
+
+    /**
+     * Every security domain of the initial synchronization has been submitted for deployment.
+     */
+    public void initialized() {
+        initialized = true;
+        checkReadiness();
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return number of security domains of the initial synchronization which are not deployed yet
+     */
+    public int getPendingDeployments() {
+        return pendingDomains.size();
+    }
+
+    /**
+     * @return time in milliseconds taken to deploy the security domains of the initial synchronization, or -1 if they
+     * are not all deployed yet
+     */
+    public long getStartupTime() {
+        return startupTime;
+    }
+
+    private synchronized void checkReadiness() {
+        if (!ready && initialized && pendingDomains.isEmpty()) {
+            startupTime = System.currentTimeMillis() - startTime;
+            ready = true;
+            logger.info("Security domains deployed in {} ms", startupTime);
+        }
+    }
+}
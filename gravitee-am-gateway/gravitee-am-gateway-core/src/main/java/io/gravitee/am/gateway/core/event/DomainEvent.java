@@ -25,7 +25,12 @@ public enum DomainEvent {
 
     DEPLOY,
     UPDATE,
-    UNDEPLOY;
+    UNDEPLOY,
+    /**
+     * Redeploy the whole domain, its clients, certificates, identity providers, scopes, roles and forms included.
+     * Used when some events of the domain may have been missed, whereas {@link #UPDATE} only applies the domain settings.
+     */
+    RELOAD;
 
     public static DomainEvent actionOf(Action action) {
         DomainEvent domainEvent = null;
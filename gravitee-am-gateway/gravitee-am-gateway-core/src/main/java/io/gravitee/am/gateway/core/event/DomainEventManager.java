@@ -0,0 +1,35 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.core.event;
+
+import io.gravitee.common.event.EventListener;
+import io.gravitee.common.event.EventManager;
+
+/**
+ * Event manager partitioned by security domain.
+ *
+ * Events whose content belongs to a security domain (a {@link io.gravitee.am.model.Domain} or a
+ * {@link io.gravitee.am.model.common.event.Payload}) are only delivered to the listeners registered for that domain
+ * and to the listeners registered without domain. Events of a given domain are delivered in publication order.
+ *
+ * @author GraviteeSource Team
+ */
+public interface DomainEventManager extends EventManager {
+
+    <T extends Enum> void subscribeForEvents(EventListener<T, ?> eventListener, Class<T> events, String domain);
+
+    <T extends Enum> void unsubscribeForEvents(EventListener<T, ?> eventListener, Class<T> events, String domain);
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.core.deployment;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class DomainDeploymentTrackerTest {
+
+    private DomainDeploymentTracker domainDeploymentTracker = new DomainDeploymentTracker();
+
+    @Test
+    public void shouldNotBeReady_notInitialized() {
+        Assert.assertFalse(domainDeploymentTracker.isInitialized());
+        Assert.assertFalse(domainDeploymentTracker.isReady());
+        Assert.assertEquals(-1, domainDeploymentTracker.getStartupTime());
+    }
+
+    @Test
+    public void shouldBeReady_noDomain() {
+        domainDeploymentTracker.initialized();
+
+        Assert.assertTrue(domainDeploymentTracker.isInitialized());
+        Assert.assertTrue(domainDeploymentTracker.isReady());
+        Assert.assertTrue(domainDeploymentTracker.getStartupTime() >= 0);
+    }
+
+    @Test
+    public void shouldNotBeReady_pendingDomains() {
+        domainDeploymentTracker.deploying("domain-1");
+        domainDeploymentTracker.deploying("domain-2");
+        domainDeploymentTracker.initialized();
+        domainDeploymentTracker.deployed("domain-1");
+
+        Assert.assertTrue(domainDeploymentTracker.isInitialized());
+        Assert.assertFalse(domainDeploymentTracker.isReady());
+        Assert.assertEquals(1, domainDeploymentTracker.getPendingDeployments());
+        Assert.assertEquals(-1, domainDeploymentTracker.getStartupTime());
+    }
+
+    @Test
+    public void shouldNotBeReady_domainsDeployedBeforeInitialization() {
+        domainDeploymentTracker.deploying("domain-1");
+        domainDeploymentTracker.deployed("domain-1");
+
+        Assert.assertFalse(domainDeploymentTracker.isReady());
+
+        domainDeploymentTracker.initialized();
+        Assert.assertTrue(domainDeploymentTracker.isReady());
+    }
+
+    @Test
+    public void shouldBeReady_domainsDeployed() {
+        domainDeploymentTracker.deploying("domain-1");
+        domainDeploymentTracker.deploying("domain-2");
+        domainDeploymentTracker.initialized();
+        domainDeploymentTracker.deployed("domain-1");
+        domainDeploymentTracker.deployed("domain-2");
+
+        Assert.assertTrue(domainDeploymentTracker.isReady());
+        Assert.assertEquals(0, domainDeploymentTracker.getPendingDeployments());
+        Assert.assertTrue(domainDeploymentTracker.getStartupTime() >= 0);
+    }
+
+    @Test
+    public void shouldBeReady_domainFailed() {
+        // the reactor reports a domain as deployed even if its handler could not be registered
+        domainDeploymentTracker.deploying("domain-ok");
+        domainDeploymentTracker.deploying("domain-ko");
+        domainDeploymentTracker.initialized();
+        domainDeploymentTracker.deployed("domain-ko");
+
+        Assert.assertFalse(domainDeploymentTracker.isReady());
+
+        domainDeploymentTracker.deployed("domain-ok");
+        Assert.assertTrue(domainDeploymentTracker.isReady());
+    }
+
+    @Test
+    public void shouldNotBeReady_unknownDomainDeployed() {
+        domainDeploymentTracker.deploying("domain-1");
+        domainDeploymentTracker.initialized();
+        domainDeploymentTracker.deployed("domain-2");
+
+        Assert.assertFalse(domainDeploymentTracker.isReady());
+        Assert.assertEquals(1, domainDeploymentTracker.getPendingDeployments());
+    }
+
+    @Test
+    public void shouldStayReady_domainDeployedAfterStartup() {
+        domainDeploymentTracker.initialized();
+        long startupTime = domainDeploymentTracker.getStartupTime();
+
+        domainDeploymentTracker.deploying("domain-1");
+
+        Assert.assertTrue(domainDeploymentTracker.isReady());
+        Assert.assertEquals(0, domainDeploymentTracker.getPendingDeployments());
+        Assert.assertEquals(startupTime, domainDeploymentTracker.getStartupTime());
+    }
+}
@@ -22,13 +22,17 @@ import io.gravitee.am.gateway.handler.form.FormManager;
 import io.gravitee.am.gateway.handler.oauth2.client.ClientSyncService;
 import io.gravitee.am.gateway.handler.oauth2.granter.extensiongrant.ExtensionGrantManager;
 import io.gravitee.am.gateway.handler.oauth2.scope.ScopeManager;
+import io.gravitee.am.gateway.handler.role.RoleManager;
 import io.gravitee.am.gateway.handler.spring.HandlerConfiguration;
 import io.gravitee.am.gateway.handler.vertx.VertxSecurityDomainHandler;
 import io.gravitee.am.model.Domain;
 import io.gravitee.common.component.LifecycleComponent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.support.AbstractApplicationContext;
@@ -39,6 +43,8 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -47,14 +53,27 @@ import java.util.List;
 public class SecurityDomainRouterFactory {
 
     private final Logger logger = LoggerFactory.getLogger(SecurityDomainRouterFactory.class);
+    private static final String DOMAIN_TARGET_SOURCE = "domainTargetSource";
+
+    private final ConcurrentMap<String, ApplicationContext> domainApplicationContexts = new ConcurrentHashMap<>();
 
     @Autowired
     private ApplicationContext gatewayApplicationContext;
 
     public VertxSecurityDomainHandler create(Domain domain) {
         if (domain.isEnabled()) {
+            long startTime = System.currentTimeMillis();
             AbstractApplicationContext internalApplicationContext = createApplicationContext(domain);
+            logger.debug("Application context of domain {} created in {} ms", domain.getId(), System.currentTimeMillis() - startTime);
+
+            startTime = System.currentTimeMillis();
             startComponents(internalApplicationContext);
+            logger.debug("Components of domain {} started in {} ms", domain.getId(), System.currentTimeMillis() - startTime);
+
+            ApplicationContext previousApplicationContext = domainApplicationContexts.put(domain.getId(), internalApplicationContext);
+            if (previousApplicationContext != null) {
+                stopComponents(previousApplicationContext);
+            }
             VertxSecurityDomainHandler handler = internalApplicationContext.getBean(VertxSecurityDomainHandler.class);
             return handler;
         } else {
@@ -63,6 +82,40 @@ public class SecurityDomainRouterFactory {
         }
     }
 
+    /**
+     * Apply the settings of an updated domain to its running application context, without reloading its clients,
+     * certificates, identity providers, scopes, roles and forms.
+     * The domain bean of the context delegates to a domain instance which is swapped as a whole for a copy of the
+     * updated domain, so a request never sees the settings of both versions. The path and the state of the domain are
+     * not updated: changing them requires to create the domain again.
+     *
+     * @return the handler of the domain or <code>null</code> if the domain has not been created
+     */
+    public VertxSecurityDomainHandler update(Domain domain) {
+        ApplicationContext applicationContext = domainApplicationContexts.get(domain.getId());
+        if (applicationContext == null) {
+            return null;
+        }
+
+        DomainTargetSource domainTargetSource = applicationContext.getBean(DOMAIN_TARGET_SOURCE, DomainTargetSource.class);
+        Domain deployedDomain = domainTargetSource.getTarget();
+        Domain updatedDomain = new Domain(domain);
+        updatedDomain.setPath(deployedDomain.getPath());
+        updatedDomain.setEnabled(deployedDomain.isEnabled());
+        domainTargetSource.swap(updatedDomain);
+
+        return applicationContext.getBean(VertxSecurityDomainHandler.class);
+    }
+
+    public void destroy(Domain domain) {
+        ApplicationContext applicationContext = domainApplicationContexts.remove(domain.getId());
+        if (applicationContext != null) {
+            // stop components so that they no longer listen for the events of the domain
+            stopComponents(applicationContext);
+            applicationContext.getBean(VertxSecurityDomainHandler.class).close();
+        }
+    }
+
     AbstractApplicationContext createApplicationContext(Domain domain) {
         AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
         context.setParent(gatewayApplicationContext);
@@ -74,7 +127,7 @@ public class SecurityDomainRouterFactory {
         configurer.setEnvironment(gatewayApplicationContext.getEnvironment());
         context.addBeanFactoryPostProcessor(configurer);
 
-        context.getBeanFactory().registerSingleton("domain", domain);
+        registerDomain(context.getBeanFactory(), domain);
         context.register(HandlerConfiguration.class);
         context.setId("context-domain-" + domain.getId());
         context.refresh();
@@ -82,6 +135,59 @@ public class SecurityDomainRouterFactory {
         return context;
     }
 
+    /**
+     * Register the domain bean of a domain application context, as a proxy of a copy of the domain which can be swapped
+     * by {@link #update(Domain)}.
+     */
+    void registerDomain(ConfigurableListableBeanFactory beanFactory, Domain domain) {
+        DomainTargetSource domainTargetSource = new DomainTargetSource(new Domain(domain));
+
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTargetSource(domainTargetSource);
+        proxyFactory.setProxyTargetClass(true);
+        // the proxy must look like a plain domain, e.g. when it is rendered by the templates
+        proxyFactory.setOpaque(true);
+
+        beanFactory.registerSingleton(DOMAIN_TARGET_SOURCE, domainTargetSource);
+        beanFactory.registerSingleton("domain", proxyFactory.getProxy(Domain.class.getClassLoader()));
+    }
+
+    /**
+     * Unlike {@link org.springframework.aop.target.HotSwappableTargetSource}, the target is read without locking as the
+     * domain is read by every request.
+     */
+    private static class DomainTargetSource implements TargetSource {
+
+        private volatile Domain domain;
+
+        DomainTargetSource(Domain domain) {
+            this.domain = domain;
+        }
+
+        @Override
+        public Class<?> getTargetClass() {
+            return Domain.class;
+        }
+
+        @Override
+        public boolean isStatic() {
+            return false;
+        }
+
+        @Override
+        public Domain getTarget() {
+            return domain;
+        }
+
+        @Override
+        public void releaseTarget(Object target) {
+        }
+
+        void swap(Domain domain) {
+            this.domain = domain;
+        }
+    }
+
     private static class ReactorHandlerClassLoader extends URLClassLoader {
         public ReactorHandlerClassLoader(ClassLoader parent) {
             super(new URL[]{}, parent);
@@ -89,6 +195,28 @@ public class SecurityDomainRouterFactory {
     }
 
     private void startComponents(ApplicationContext applicationContext) {
+        components().forEach(componentClass -> {
+            LifecycleComponent lifecyclecomponent = applicationContext.getBean(componentClass);
+            try {
+                lifecyclecomponent.start();
+            } catch (Exception e) {
+                logger.error("An error occurs while starting component {}", componentClass.getSimpleName(), e);
+            }
+        });
+    }
+
+    private void stopComponents(ApplicationContext applicationContext) {
+        components().forEach(componentClass -> {
+            LifecycleComponent lifecyclecomponent = applicationContext.getBean(componentClass);
+            try {
+                lifecyclecomponent.stop();
+            } catch (Exception e) {
+                logger.error("An error occurs while stopping component {}", componentClass.getSimpleName(), e);
+            }
+        });
+    }
+
+    private static List<Class<? extends LifecycleComponent>> components() {
         // register components that require event listener feature
         List<Class<? extends LifecycleComponent>> components = new ArrayList<>();
         components.add(ClientSyncService.class);
@@ -98,14 +226,7 @@ public class SecurityDomainRouterFactory {
         components.add(FormManager.class);
         components.add(EmailManager.class);
         components.add(ScopeManager.class);
-
-        components.forEach(componentClass -> {
-            LifecycleComponent lifecyclecomponent = applicationContext.getBean(componentClass);
-            try {
-                lifecyclecomponent.start();
-            } catch (Exception e) {
-                logger.error("An error occurs while starting component {}", componentClass.getSimpleName(), e);
-            }
-        });
+        components.add(RoleManager.class);
+        return components;
     }
 }
@@ -0,0 +1,189 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.auth.idp.impl;
+
+import io.gravitee.am.identityprovider.api.Authentication;
+import io.gravitee.am.identityprovider.api.AuthenticationProvider;
+import io.gravitee.am.identityprovider.api.DefaultUser;
+import io.gravitee.am.identityprovider.api.User;
+import io.gravitee.am.service.exception.authentication.UsernameNotFoundException;
+import io.reactivex.Maybe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Authentication provider keeping the users (attributes and groups) loaded from an identity provider for a while.
+ *
+ * Authentications are always delegated to the identity provider, so that password changes, locked or disabled accounts
+ * are enforced immediately. Only the pre-authenticated lookups are served from the cache, which is refreshed by every
+ * successful authentication and cleared by every failed one. Unknown users are kept for a shorter time to shield the
+ * identity provider from repeated lookups without hiding newly created users for long.
+ *
+ * @author GraviteeSource Team
+ */
+public class CachedAuthenticationProvider implements AuthenticationProvider, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachedAuthenticationProvider.class);
+    private static final int MAX_CACHED_USERS = 10000;
+    private static final long MAX_NEGATIVE_TIME_TO_LIVE = 30 * 1000;
+
+    private final String identityProviderId;
+    private final AuthenticationProvider authenticationProvider;
+    private final long timeToLive;
+    private final long negativeTimeToLive;
+    private final Map<String, CachedUser> cachedUsers = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public CachedAuthenticationProvider(String identityProviderId, AuthenticationProvider authenticationProvider, long timeToLive) {
+        this.identityProviderId = identityProviderId;
+        this.authenticationProvider = authenticationProvider;
+        this.timeToLive = timeToLive;
+        this.negativeTimeToLive = Math.min(timeToLive, MAX_NEGATIVE_TIME_TO_LIVE);
+    }
+
+    @Override
+    public Maybe<User> loadUserByUsername(Authentication authentication) {
+        if (!(authentication.getPrincipal() instanceof String)) {
+            return authenticationProvider.loadUserByUsername(authentication);
+        }
+
+        final String username = (String) authentication.getPrincipal();
+        return authenticationProvider.loadUserByUsername(authentication)
+                .doOnSuccess(user -> cache(username, user))
+                .doOnError(error -> {
+                    cachedUsers.remove(username);
+                    cacheUnknownUser(username, error);
+                });
+    }
+
+    @Override
+    public Maybe<User> loadUserByUsername(String username) {
+        final CachedUser cachedUser = get(username);
+        if (cachedUser != null) {
+            return hit(username, cachedUser.user == null ?
+                    Maybe.error(new UsernameNotFoundException(username)) : Maybe.just(copy(cachedUser.user)));
+        }
+
+        misses.incrementAndGet();
+        return authenticationProvider.loadUserByUsername(username)
+                .doOnSuccess(user -> cache(username, user))
+                .doOnError(error -> cacheUnknownUser(username, error));
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        logger.info("Identity provider {} cache statistics: {} hit(s), {} miss(es), hit ratio {}%",
+                identityProviderId, hits.get(), misses.get(), Math.round(getHitRatio() * 100));
+        cachedUsers.clear();
+
+        if (authenticationProvider instanceof DisposableBean) {
+            ((DisposableBean) authenticationProvider).destroy();
+        }
+    }
+
+    public AuthenticationProvider getAuthenticationProvider() {
+        return authenticationProvider;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public double getHitRatio() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0 : (double) hits.get() / total;
+    }
+
+    @Override
+    public String toString() {
+        return authenticationProvider.toString();
+    }
+
+    private <T> T hit(String username, T result) {
+        hits.incrementAndGet();
+        logger.debug("User {} loaded from the cache of identity provider {} (hit ratio {})", username, identityProviderId, getHitRatio());
+        return result;
+    }
+
+    private CachedUser get(String username) {
+        CachedUser cachedUser = cachedUsers.get(username);
+        if (cachedUser != null && !cachedUser.isValid()) {
+            cachedUsers.remove(username, cachedUser);
+            return null;
+        }
+        return cachedUser;
+    }
+
+    private void cache(String username, User user) {
+        // keep a copy as the users returned by the providers are enhanced by the callers
+        put(username, new CachedUser(copy(user), System.currentTimeMillis() + timeToLive));
+    }
+
+    private void cacheUnknownUser(String username, Throwable error) {
+        if (error instanceof UsernameNotFoundException) {
+            put(username, new CachedUser(null, System.currentTimeMillis() + negativeTimeToLive));
+        }
+    }
+
+    private void put(String username, CachedUser cachedUser) {
+        if (cachedUsers.size() >= MAX_CACHED_USERS) {
+            cachedUsers.values().removeIf(cached -> !cached.isValid());
+        }
+        if (cachedUsers.size() < MAX_CACHED_USERS) {
+            cachedUsers.put(username, cachedUser);
+        }
+    }
+
+    private static User copy(User user) {
+        DefaultUser copy = new DefaultUser(user.getUsername());
+        copy.setId(user.getId());
+        copy.setCredentials(user.getCredentials());
+        copy.setAccountExpired(user.isAccountExpired());
+        copy.setEnabled(user.isEnabled());
+        copy.setRoles(user.getRoles() == null ? null : new ArrayList<>(user.getRoles()));
+        copy.setAdditionalInformation(user.getAdditionalInformation() == null ? null : new HashMap<>(user.getAdditionalInformation()));
+        copy.setCreatedAt(user.getCreatedAt());
+        copy.setUpdatedAt(user.getUpdatedAt());
+        return copy;
+    }
+
+    private static class CachedUser {
+
+        private final User user;
+        private final long expireAt;
+
+        CachedUser(User user, long expireAt) {
+            this.user = user;
+            this.expireAt = expireAt;
+        }
+
+        boolean isValid() {
+            return System.currentTimeMillis() < expireAt;
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.gravitee.am.gateway.handler.auth.idp.impl;
 
+import io.gravitee.am.gateway.core.event.DomainEventManager;
 import io.gravitee.am.gateway.core.event.IdentityProviderEvent;
 import io.gravitee.am.gateway.handler.auth.idp.IdentityProviderManager;
 import io.gravitee.am.identityprovider.api.AuthenticationProvider;
@@ -26,11 +27,11 @@ import io.gravitee.am.plugins.idp.core.IdentityProviderPluginManager;
 import io.gravitee.am.repository.management.api.IdentityProviderRepository;
 import io.gravitee.common.event.Event;
 import io.gravitee.common.event.EventListener;
-import io.gravitee.common.event.EventManager;
 import io.gravitee.common.service.AbstractService;
 import io.reactivex.Maybe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -57,7 +58,7 @@ public class IdentityProviderManagerImpl extends AbstractService implements Iden
     private IdentityProviderRepository identityProviderRepository;
 
     @Autowired
-    private EventManager eventManager;
+    private DomainEventManager eventManager;
 
     private ConcurrentMap<String, AuthenticationProvider> providers = new ConcurrentHashMap<>();
     private ConcurrentMap<String, IdentityProvider> identities = new ConcurrentHashMap<>();
@@ -101,7 +102,21 @@ public class IdentityProviderManagerImpl extends AbstractService implements Iden
         super.doStart();
 
         logger.info("Register event listener for identity provider events");
-        eventManager.subscribeForEvents(this, IdentityProviderEvent.class);
+        eventManager.subscribeForEvents(this, IdentityProviderEvent.class, domain.getId());
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        eventManager.unsubscribeForEvents(this, IdentityProviderEvent.class, domain.getId());
+
+        // release the resources held by the providers of the stopped domain
+        providers.forEach(this::release);
+        providers.clear();
+        userProviders.forEach(this::release);
+        userProviders.clear();
+        identities.clear();
     }
 
     @Override
@@ -134,9 +149,9 @@ public class IdentityProviderManagerImpl extends AbstractService implements Iden
 
     private void removeIdentityProvider(String identityProviderId) {
         logger.info("Domain {} has received identity provider event, delete identity provider {}", domain.getName(), identityProviderId);
-        providers.remove(identityProviderId);
+        release(identityProviderId, providers.remove(identityProviderId));
         identities.remove(identityProviderId);
-        userProviders.remove(identityProviderId);
+        release(identityProviderId, userProviders.remove(identityProviderId));
     }
 
     private void updateAuthenticationProvider(IdentityProvider identityProvider) {
@@ -144,12 +159,33 @@ public class IdentityProviderManagerImpl extends AbstractService implements Iden
         AuthenticationProvider authenticationProvider =
                 identityProviderPluginManager.create(identityProvider.getType(), identityProvider.getConfiguration(),
                         identityProvider.getMappers(), identityProvider.getRoleMapper());
+        if (authenticationProvider != null && isCacheEnabled(identityProvider)) {
+            authenticationProvider = new CachedAuthenticationProvider(identityProvider.getId(), authenticationProvider, identityProvider.getCacheTimeToLive());
+        }
         UserProvider userProvider =
                 identityProviderPluginManager.create(identityProvider.getType(), identityProvider.getConfiguration());
-        providers.put(identityProvider.getId(), authenticationProvider);
+        release(identityProvider.getId(), providers.put(identityProvider.getId(), authenticationProvider));
         identities.put(identityProvider.getId(), identityProvider);
         if (userProvider != null) {
-            userProviders.put(identityProvider.getId(), userProvider);
+            release(identityProvider.getId(), userProviders.put(identityProvider.getId(), userProvider));
+        } else {
+            release(identityProvider.getId(), userProviders.remove(identityProvider.getId()));
+        }
+    }
+
+    private boolean isCacheEnabled(IdentityProvider identityProvider) {
+        // the credentials of external (OAuth 2.0) providers are single-use authorization codes
+        return !identityProvider.isExternal() && identityProvider.getCacheTimeToLive() != null && identityProvider.getCacheTimeToLive() > 0;
+    }
+
+    private void release(String identityProviderId, Object provider) {
+        // providers holding resources (connection pools, clients, ...) release them once they are replaced or removed
+        if (provider instanceof DisposableBean) {
+            try {
+                ((DisposableBean) provider).destroy();
+            } catch (Exception e) {
+                logger.error("Unable to release identity provider {}", identityProviderId, e);
+            }
         }
     }
 }
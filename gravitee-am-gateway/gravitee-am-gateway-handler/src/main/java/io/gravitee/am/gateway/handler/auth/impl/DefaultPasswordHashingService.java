@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.auth.impl;
+
+import io.gravitee.am.gateway.handler.auth.PasswordHashingService;
+import io.gravitee.am.gateway.handler.executor.AbstractBoundedExecutorService;
+import io.gravitee.am.service.authentication.crypto.password.bcrypt.BCrypt;
+import io.gravitee.am.service.exception.authentication.InternalAuthenticationServiceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed size password hashing worker pool with a bounded queue.
+ *
+ * When the queue is full, tasks are rejected so that a burst of logins can not stall the other requests.
+ * When the rehash on login is enabled, the target BCrypt cost is calibrated on this host at startup.
+ *
+ * @author GraviteeSource Team
+ */
+public class DefaultPasswordHashingService extends AbstractBoundedExecutorService implements PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DefaultPasswordHashingService.class);
+    private static final int DEFAULT_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 16;
+
+    // 0 means one worker per available core
+    @Value("${authentication.password.workers:0}")
+    private int workers;
+
+    @Value("${authentication.password.queueCapacity:1024}")
+    private int queueCapacity;
+
+    @Value("${authentication.password.rehash.enabled:false}")
+    private boolean rehashEnabled;
+
+    // expected time (in milliseconds) of a single BCrypt verification at the target cost
+    @Value("${authentication.password.rehash.targetTime:250}")
+    private long rehashTargetTime;
+
+    private int targetStrength = -1;
+
+    public DefaultPasswordHashingService() {
+        super("Password hashing worker pool", "gio-am-password-");
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+
+        if (rehashEnabled) {
+            targetStrength = calibrate();
+            logger.info("Password rehash on login enabled, target BCrypt cost is {}", targetStrength);
+        }
+    }
+
+    @Override
+    public int getTargetStrength() {
+        return targetStrength;
+    }
+
+    @Override
+    protected int workers() {
+        return workers;
+    }
+
+    @Override
+    protected int queueCapacity() {
+        return queueCapacity;
+    }
+
+    @Override
+    protected Exception rejection() {
+        return new InternalAuthenticationServiceException("Too many concurrent authentications, please retry later");
+    }
+
+    /**
+     * Each additional BCrypt round doubles the hashing time, measure the default cost on this host
+     * and derive the highest cost which stays within the target time.
+     */
+    private int calibrate() {
+        final String salt = BCrypt.gensalt(DEFAULT_STRENGTH);
+        long elapsed = Long.MAX_VALUE;
+        // keep the best of a few runs to ignore JIT warm-up
+        for (int i = 0; i < 3; i++) {
+            final long start = System.nanoTime();
+            BCrypt.hashpw("gravitee-am-calibration", salt);
+            elapsed = Math.min(elapsed, System.nanoTime() - start);
+        }
+
+        final double ratio = (double) TimeUnit.MILLISECONDS.toNanos(rehashTargetTime) / Math.max(1, elapsed);
+        final int strength = DEFAULT_STRENGTH + (ratio > 1 ? (int) Math.floor(Math.log(ratio) / Math.log(2)) : 0);
+        logger.debug("BCrypt cost {} takes {} ms on this host", DEFAULT_STRENGTH, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return Math.min(strength, MAX_STRENGTH);
+    }
+}
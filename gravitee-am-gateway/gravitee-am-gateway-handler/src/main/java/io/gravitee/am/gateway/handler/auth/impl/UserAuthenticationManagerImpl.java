@@ -18,12 +18,13 @@ package io.gravitee.am.gateway.handler.auth.impl;
 import io.gravitee.am.gateway.handler.auth.UserAuthenticationManager;
 import io.gravitee.am.gateway.handler.auth.idp.IdentityProviderManager;
 import io.gravitee.am.gateway.handler.oauth2.utils.OAuth2Constants;
+import io.gravitee.am.gateway.handler.role.RoleManager;
 import io.gravitee.am.identityprovider.api.Authentication;
 import io.gravitee.am.identityprovider.api.DefaultUser;
 import io.gravitee.am.model.Client;
 import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.IdentityProviderStrategy;
 import io.gravitee.am.model.User;
-import io.gravitee.am.service.RoleService;
 import io.gravitee.am.service.UserService;
 import io.gravitee.am.service.exception.UserNotFoundException;
 import io.gravitee.am.service.exception.authentication.AccountDisabledException;
@@ -38,9 +39,16 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 
 /**
@@ -62,11 +70,14 @@ public class UserAuthenticationManagerImpl implements UserAuthenticationManager
     private Domain domain;
 
     @Autowired
-    private RoleService roleService;
+    private RoleManager roleManager;
 
     @Autowired
     private IdentityProviderManager identityProviderManager;
 
+    // compiled identity provider routes by client, compiled again when the client routes are updated
+    private final ConcurrentMap<String, ClientRoutes> clientRoutes = new ConcurrentHashMap<>();
+
     @Override
     public Single<User> authenticate(Client client, Authentication authentication) {
         logger.debug("Trying to authenticate [{}]", authentication);
@@ -80,10 +91,12 @@ public class UserAuthenticationManagerImpl implements UserAuthenticationManager
             return Single.error(new BadCredentialsException("No identity provider found for client : " + client.getClientId()));
         }
 
-        return Observable.fromIterable(client.getIdentities())
-                .flatMapMaybe(authProvider -> authenticate0(client, authentication, authProvider))
+        return authenticate(client, authentication, client.getIdentityProviderStrategy())
                 .takeUntil(userAuthentication -> userAuthentication.getUser() != null)
-                .lastOrError()
+                // keep the successful authentication or the most meaningful failure, whatever the order of the answers
+                .reduce((previous, current) -> current.getUser() != null
+                        || rank(current.getLastException()) >= rank(previous.getLastException()) ? current : previous)
+                .toSingle()
                 .flatMap(userAuthentication -> {
                     io.gravitee.am.identityprovider.api.User user = userAuthentication.getUser();
                     if (user == null) {
@@ -141,6 +154,62 @@ public class UserAuthenticationManagerImpl implements UserAuthenticationManager
                 .flatMap(this::enhanceUserWithRoles);
     }
 
+    private Observable<UserAuthentication> authenticate(Client client, Authentication authentication, IdentityProviderStrategy strategy) {
+        if (strategy == IdentityProviderStrategy.PARALLEL) {
+            // every identity provider is called at once, takeUntil cancels the pending calls on the first success
+            return Observable.fromIterable(client.getIdentities())
+                    .flatMapMaybe(authProvider -> authenticate0(client, authentication, authProvider));
+        }
+
+        Collection<String> identities = client.getIdentities();
+        if (strategy == IdentityProviderStrategy.ROUTING) {
+            String authProvider = route(client, authentication);
+            if (authProvider != null) {
+                identities = Collections.singleton(authProvider);
+            }
+        }
+
+        // the next identity provider is called only if the previous one did not authenticate the user
+        return Observable.fromIterable(identities)
+                .concatMap(authProvider -> authenticate0(client, authentication, authProvider).toObservable());
+    }
+
+    private String route(Client client, Authentication authentication) {
+        final Map<String, String> routes = client.getIdentityProviderRoutes();
+        final Object username = authentication == null ? null : authentication.getPrincipal();
+        if (routes == null || !(username instanceof String)) {
+            return null;
+        }
+
+        ClientRoutes compiledRoutes = clientRoutes.get(client.getClientId());
+        if (compiledRoutes == null || !compiledRoutes.source.equals(routes)) {
+            compiledRoutes = new ClientRoutes(client.getClientId(), routes);
+            clientRoutes.put(client.getClientId(), compiledRoutes);
+        }
+
+        return compiledRoutes.patterns.entrySet()
+                .stream()
+                .filter(route -> client.getIdentities().contains(route.getKey()))
+                .filter(route -> route.getValue().matcher((String) username).matches())
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Rank the authentication failures: a rejection of the credentials is reported first, then the technical errors
+     * and finally the unknown user.
+     */
+    private static int rank(Throwable error) {
+        if (error == null) {
+            return 0;
+        }
+        if (error instanceof BadCredentialsException) {
+            return 3;
+        }
+        return error instanceof UsernameNotFoundException ? 1 : 2;
+    }
+
     private Maybe<UserAuthentication> authenticate0(Client client, Authentication authentication, String authProvider) {
         return identityProviderManager.get(authProvider)
                 .switchIfEmpty(Maybe.error(new BadCredentialsException("Unable to load authentication provider " + authProvider + ", an error occurred during the initialization stage")))
@@ -166,7 +235,7 @@ public class UserAuthenticationManagerImpl implements UserAuthenticationManager
     private Single<User> enhanceUserWithRoles(User user) {
         List<String> userRoles = user.getRoles();
         if (userRoles != null && !userRoles.isEmpty()) {
-            return roleService.findByIdIn(userRoles)
+            return roleManager.findByIdIn(userRoles)
                     .map(roles -> {
                         user.setRolesPermissions(roles);
                         return user;
@@ -210,6 +279,26 @@ public class UserAuthenticationManagerImpl implements UserAuthenticationManager
         }
     }
 
+    private class ClientRoutes {
+        private final Map<String, String> source;
+        private final Map<String, Pattern> patterns = new LinkedHashMap<>();
+
+        ClientRoutes(String clientId, Map<String, String> routes) {
+            this.source = new HashMap<>(routes);
+            routes.forEach((identityProvider, pattern) -> {
+                if (pattern == null) {
+                    return;
+                }
+                try {
+                    patterns.put(identityProvider, Pattern.compile(pattern));
+                } catch (PatternSyntaxException ex) {
+                    // the route is ignored until the client is updated
+                    logger.warn("Invalid identity provider route pattern {} for client {}", pattern, clientId);
+                }
+            });
+        }
+    }
+
     private class UserAuthentication {
         private io.gravitee.am.identityprovider.api.User user;
         private Throwable lastException;
@@ -19,9 +19,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.gravitee.am.certificate.api.CertificateMetadata;
 import io.gravitee.am.certificate.api.DefaultKey;
 import io.gravitee.am.gateway.core.event.CertificateEvent;
+import io.gravitee.am.gateway.core.event.DomainEventManager;
 import io.gravitee.am.gateway.handler.certificate.CertificateManager;
 import io.gravitee.am.gateway.handler.certificate.CertificateProvider;
-import io.gravitee.am.gateway.handler.jwt.impl.JJwtBuilder;
+import io.gravitee.am.gateway.handler.jwt.impl.DefaultJwtBuilder;
 import io.gravitee.am.gateway.handler.jwt.impl.JJwtParser;
 import io.gravitee.am.model.Certificate;
 import io.gravitee.am.model.Domain;
@@ -31,12 +32,9 @@ import io.gravitee.am.plugins.certificate.core.CertificatePluginManager;
 import io.gravitee.am.repository.management.api.CertificateRepository;
 import io.gravitee.common.event.Event;
 import io.gravitee.common.event.EventListener;
-import io.gravitee.common.event.EventManager;
 import io.gravitee.common.service.AbstractService;
-import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.JacksonDeserializer;
-import io.jsonwebtoken.io.JacksonSerializer;
 import io.jsonwebtoken.security.Keys;
 import io.reactivex.Flowable;
 import io.reactivex.Maybe;
@@ -83,7 +81,7 @@ public class CertificateManagerImpl extends AbstractService implements Certifica
     private CertificatePluginManager certificatePluginManager;
 
     @Autowired
-    private EventManager eventManager;
+    private DomainEventManager eventManager;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -144,7 +142,14 @@ public class CertificateManagerImpl extends AbstractService implements Certifica
         super.doStart();
 
         logger.info("Register event listener for certificate events");
-        eventManager.subscribeForEvents(this, CertificateEvent.class);
+        eventManager.subscribeForEvents(this, CertificateEvent.class, domain.getId());
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        eventManager.unsubscribeForEvents(this, CertificateEvent.class, domain.getId());
     }
 
     @Override
@@ -239,16 +244,16 @@ public class CertificateManagerImpl extends AbstractService implements Certifica
         // create certificate provider
         CertificateProvider certificateProvider = new CertificateProvider(provider);
 
-        // create parser and builder (default to jjwt)
+        // create parser (default to jjwt) and builder
         io.gravitee.am.certificate.api.Key providerKey = provider.key().blockingGet();
         Key signingKey = providerKey.getValue() instanceof KeyPair ? ((KeyPair) providerKey.getValue()).getPrivate() : (Key) providerKey.getValue();
         Key verifyingKey = providerKey.getValue() instanceof KeyPair ? ((KeyPair) providerKey.getValue()).getPublic() : (Key) providerKey.getValue();
 
         io.jsonwebtoken.JwtParser jjwtParser = Jwts.parser().deserializeJsonWith(new JacksonDeserializer(objectMapper)).setSigningKey(verifyingKey);
-        io.jsonwebtoken. JwtBuilder jjwtBuilder = Jwts.builder().serializeToJsonWith(new JacksonSerializer(objectMapper)).signWith(signingKey).setHeaderParam(JwsHeader.KEY_ID, providerKey.getKeyId());
 
         certificateProvider.setJwtParser(new JJwtParser(jjwtParser));
-        certificateProvider.setJwtBuilder(new JJwtBuilder(jjwtBuilder));
+        // jjwt builders are mutable and can't be shared across threads, use a thread-safe builder instead
+        certificateProvider.setJwtBuilder(new DefaultJwtBuilder(signingKey, providerKey.getKeyId(), objectMapper));
 
         return certificateProvider;
     }
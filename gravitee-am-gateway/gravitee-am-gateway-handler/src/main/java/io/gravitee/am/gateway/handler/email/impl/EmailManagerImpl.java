@@ -17,6 +17,7 @@ package io.gravitee.am.gateway.handler.email.impl;
 
 import freemarker.cache.TemplateLoader;
 import freemarker.template.Configuration;
+import io.gravitee.am.gateway.core.event.DomainEventManager;
 import io.gravitee.am.gateway.core.event.EmailEvent;
 import io.gravitee.am.gateway.handler.email.EmailManager;
 import io.gravitee.am.gateway.handler.vertx.view.freemarker.DomainBasedEmailTemplateLoader;
@@ -26,7 +27,6 @@ import io.gravitee.am.model.common.event.Payload;
 import io.gravitee.am.repository.management.api.EmailRepository;
 import io.gravitee.common.event.Event;
 import io.gravitee.common.event.EventListener;
-import io.gravitee.common.event.EventManager;
 import io.gravitee.common.service.AbstractService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,7 +60,7 @@ public class EmailManagerImpl extends AbstractService implements EmailManager, I
     private Domain domain;
 
     @Autowired
-    private EventManager eventManager;
+    private DomainEventManager eventManager;
 
     @Autowired
     private Configuration configuration;
@@ -91,7 +91,14 @@ public class EmailManagerImpl extends AbstractService implements EmailManager, I
         super.doStart();
 
         logger.info("Register event listener for email events");
-        eventManager.subscribeForEvents(this, EmailEvent.class);
+        eventManager.subscribeForEvents(this, EmailEvent.class, domain.getId());
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        eventManager.unsubscribeForEvents(this, EmailEvent.class, domain.getId());
     }
 
 
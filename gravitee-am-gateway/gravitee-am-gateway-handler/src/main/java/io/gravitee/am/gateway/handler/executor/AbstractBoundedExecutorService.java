@@ -0,0 +1,219 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.executor;
+
+import io.gravitee.common.service.AbstractService;
+import io.reactivex.Single;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed size worker pool with a bounded queue, used to run CPU bound tasks away from the event loops.
+ *
+ * When the queue is full, tasks are rejected instead of being executed by the caller thread (which is usually an
+ * event loop). Task latencies (queue wait included) are recorded in a fixed bucket histogram.
+ *
+ * @author GraviteeSource Team
+ */
+public abstract class AbstractBoundedExecutorService extends AbstractService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractBoundedExecutorService.class);
+    // upper bounds (in milliseconds) of the latency histogram buckets, the last bucket holds everything above
+    private static final long[] LATENCY_BUCKETS = {1, 5, 10, 25, 50, 100, 250, 500, 1000};
+
+    private final String poolName;
+    private final String threadPrefix;
+    private ThreadPoolExecutor executor;
+    private final LongAdder completedTasks = new LongAdder();
+    private final LongAdder rejectedTasks = new LongAdder();
+    private final LongAdder waitTime = new LongAdder();
+    private final LongAdder executionTime = new LongAdder();
+    private final LongAccumulator maxLatency = new LongAccumulator(Long::max, 0L);
+    private final LongAdder[] latencies = new LongAdder[LATENCY_BUCKETS.length + 1];
+
+    protected AbstractBoundedExecutorService(String poolName, String threadPrefix) {
+        this.poolName = poolName;
+        this.threadPrefix = threadPrefix;
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @return number of workers, 0 means one worker per available core
+     */
+    protected abstract int workers();
+
+    protected abstract int queueCapacity();
+
+    /**
+     * @return the error emitted when a task is rejected because the pool is saturated
+     */
+    protected abstract Exception rejection();
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+
+        final int poolSize = workers() > 0 ? workers() : Runtime.getRuntime().availableProcessors();
+        final AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity())),
+                r -> {
+                    Thread thread = new Thread(r, threadPrefix + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        logger.info("{} initialized with {} workers and a queue capacity of {}", poolName, poolSize, queueCapacity());
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        if (executor != null) {
+            executor.shutdown();
+            logger.info("{} stopped: {} completed tasks, {} rejected tasks, latency histogram {}",
+                    poolName, completedTasks.sum(), rejectedTasks.sum(), histogram());
+        }
+    }
+
+    public <T> Single<T> execute(Callable<T> task) {
+        return Single.create(emitter -> {
+            if (executor == null) {
+                emitter.onError(new IllegalStateException(poolName + " is not started"));
+                return;
+            }
+
+            final long submittedAt = System.nanoTime();
+            try {
+                executor.execute(() -> {
+                    final long startedAt = System.nanoTime();
+                    T result = null;
+                    Throwable error = null;
+                    try {
+                        result = task.call();
+                    } catch (Throwable t) {
+                        error = t;
+                    }
+
+                    // record the task before emitting so that the statistics include it when the caller resumes
+                    final long completedAt = System.nanoTime();
+                    waitTime.add(startedAt - submittedAt);
+                    executionTime.add(completedAt - startedAt);
+                    maxLatency.accumulate(completedAt - submittedAt);
+                    record(TimeUnit.NANOSECONDS.toMillis(completedAt - submittedAt));
+                    completedTasks.increment();
+
+                    if (error != null) {
+                        emitter.onError(error);
+                    } else {
+                        emitter.onSuccess(result);
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                rejectedTasks.increment();
+                logger.debug("{} is saturated, reject task", poolName);
+                emitter.onError(rejection());
+            }
+        });
+    }
+
+    public int getQueueDepth() {
+        return executor != null ? executor.getQueue().size() : 0;
+    }
+
+    public int getActiveWorkers() {
+        return executor != null ? executor.getActiveCount() : 0;
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks.sum();
+    }
+
+    public long getRejectedTasks() {
+        return rejectedTasks.sum();
+    }
+
+    /**
+     * @return average time (in nanoseconds) spent by a task in the queue
+     */
+    public long getAverageWaitTime() {
+        long completed = completedTasks.sum();
+        return completed == 0 ? 0 : waitTime.sum() / completed;
+    }
+
+    /**
+     * @return average time (in nanoseconds) spent by a worker to run a task
+     */
+    public long getAverageExecutionTime() {
+        long completed = completedTasks.sum();
+        return completed == 0 ? 0 : executionTime.sum() / completed;
+    }
+
+    /**
+     * @return highest end-to-end latency (in nanoseconds) observed since startup
+     */
+    public long getMaxLatency() {
+        return maxLatency.get();
+    }
+
+    /**
+     * @return number of tasks per latency bucket, bucket i counts the tasks completed in less than
+     * {@link #getLatencyBuckets()}[i] milliseconds, the last bucket counts the slowest ones
+     */
+    public long[] getLatencyHistogram() {
+        long[] histogram = new long[latencies.length];
+        for (int i = 0; i < latencies.length; i++) {
+            histogram[i] = latencies[i].sum();
+        }
+        return histogram;
+    }
+
+    public long[] getLatencyBuckets() {
+        return LATENCY_BUCKETS.clone();
+    }
+
+    private void record(long latency) {
+        int i = 0;
+        while (i < LATENCY_BUCKETS.length && latency >= LATENCY_BUCKETS[i]) {
+            i++;
+        }
+        latencies[i].increment();
+    }
+
+    private String histogram() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < latencies.length; i++) {
+            sb.append(i < LATENCY_BUCKETS.length ? "<" + LATENCY_BUCKETS[i] + "ms" : ">=" + LATENCY_BUCKETS[LATENCY_BUCKETS.length - 1] + "ms")
+                    .append('=').append(latencies[i].sum());
+            if (i < latencies.length - 1) {
+                sb.append(", ");
+            }
+        }
+        return sb.append('}').toString();
+    }
+}
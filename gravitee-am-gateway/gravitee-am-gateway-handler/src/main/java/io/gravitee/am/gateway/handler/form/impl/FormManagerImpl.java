@@ -15,6 +15,7 @@
  */
 package io.gravitee.am.gateway.handler.form.impl;
 
+import io.gravitee.am.gateway.core.event.DomainEventManager;
 import io.gravitee.am.gateway.core.event.FormEvent;
 import io.gravitee.am.gateway.handler.form.FormManager;
 import io.gravitee.am.gateway.handler.vertx.view.thymeleaf.DomainBasedTemplateResolver;
@@ -24,7 +25,6 @@ import io.gravitee.am.model.common.event.Payload;
 import io.gravitee.am.repository.management.api.FormRepository;
 import io.gravitee.common.event.Event;
 import io.gravitee.common.event.EventListener;
-import io.gravitee.common.event.EventManager;
 import io.gravitee.common.service.AbstractService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -56,7 +56,7 @@ public class FormManagerImpl extends AbstractService implements FormManager, Ini
     private Domain domain;
 
     @Autowired
-    private EventManager eventManager;
+    private DomainEventManager eventManager;
 
     @Override
     public void afterPropertiesSet() {
@@ -75,7 +75,14 @@ public class FormManagerImpl extends AbstractService implements FormManager, Ini
         super.doStart();
 
         logger.info("Register event listener for form events");
-        eventManager.subscribeForEvents(this, FormEvent.class);
+        eventManager.subscribeForEvents(this, FormEvent.class, domain.getId());
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        eventManager.unsubscribeForEvents(this, FormEvent.class, domain.getId());
     }
 
     @Override
@@ -0,0 +1,41 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.jwt;
+
+import io.gravitee.common.service.Service;
+import io.reactivex.Single;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Bounded worker pool used to run CPU intensive cryptographic operations (JWT signature and verification)
+ * outside of the Vert.x event loop.
+ *
+ * @author GraviteeSource Team
+ */
+public interface CryptoExecutor extends Service {
+
+    /**
+     * Run the task on a crypto worker.
+     * The returned single fails with a {@link io.gravitee.am.gateway.handler.oauth2.exception.TemporarilyUnavailableException}
+     * if all the workers are busy and the queue is full.
+     *
+     * @param task the cryptographic operation
+     * @param <T> result type
+     * @return the result of the task
+     */
+    <T> Single<T> execute(Callable<T> task);
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.jwt.impl;
+
+import io.gravitee.am.gateway.handler.executor.AbstractBoundedExecutorService;
+import io.gravitee.am.gateway.handler.jwt.CryptoExecutor;
+import io.gravitee.am.gateway.handler.oauth2.exception.TemporarilyUnavailableException;
+import org.springframework.beans.factory.annotation.Value;
+
+/**
+ * Fixed size crypto worker pool with a bounded queue.
+ *
+ * When the queue is full, tasks are rejected with a temporarily unavailable error.
+ *
+ * @author GraviteeSource Team
+ */
+public class DefaultCryptoExecutor extends AbstractBoundedExecutorService implements CryptoExecutor {
+
+    // 0 means one worker per available core
+    @Value("${jwt.crypto.workers:0}")
+    private int workers;
+
+    @Value("${jwt.crypto.queueCapacity:1024}")
+    private int queueCapacity;
+
+    public DefaultCryptoExecutor() {
+        super("Crypto worker pool", "gio-am-crypto-");
+    }
+
+    @Override
+    protected int workers() {
+        return workers;
+    }
+
+    @Override
+    protected int queueCapacity() {
+        return queueCapacity;
+    }
+
+    @Override
+    protected Exception rejection() {
+        return new TemporarilyUnavailableException("The server is currently unable to handle the request");
+    }
+}
@@ -0,0 +1,212 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.jwt.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.gravitee.am.common.jwt.JWT;
+import io.gravitee.am.gateway.handler.jwt.JwtBuilder;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import javax.crypto.Mac;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Thread-safe JWS compact serialization builder.
+ *
+ * The protected header is serialized and encoded once per key, claims are serialized into a per-thread reusable buffer and
+ * the JCA {@link Signature}/{@link Mac} instances are kept per thread (they are initialized once and reset after each signature).
+ * The output is the same as the one produced by jjwt for the given key (algorithm selected with {@link SignatureAlgorithm#forSigningKey(Key)}).
+ *
+ * @author GraviteeSource Team
+ */
+public class DefaultJwtBuilder implements JwtBuilder {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final byte SEPARATOR = '.';
+
+    private final SignatureAlgorithm signatureAlgorithm;
+    private final ObjectWriter objectWriter;
+    private final byte[] encodedHeader;
+    private final ThreadLocal<ReusableByteArrayOutputStream> buffers = ThreadLocal.withInitial(ReusableByteArrayOutputStream::new);
+    private final ThreadLocal<Signer> signers;
+
+    public DefaultJwtBuilder(Key signingKey, String keyId, ObjectMapper objectMapper) {
+        this.signatureAlgorithm = SignatureAlgorithm.forSigningKey(signingKey);
+        this.objectWriter = objectMapper.writer();
+
+        // same header as jjwt : key id (if any) then algorithm
+        Map<String, Object> header = new LinkedHashMap<>();
+        if (keyId != null) {
+            header.put(JwsHeader.KEY_ID, keyId);
+        }
+        header.put(JwsHeader.ALGORITHM, signatureAlgorithm.getValue());
+        try {
+            this.encodedHeader = ENCODER.encode(objectWriter.writeValueAsBytes(header));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unable to serialize JWS header", e);
+        }
+
+        this.signers = ThreadLocal.withInitial(() -> createSigner(signatureAlgorithm, signingKey));
+    }
+
+    @Override
+    public String sign(JWT payload) {
+        try {
+            // serialize claims into the thread buffer and encode them without intermediate String
+            ReusableByteArrayOutputStream buffer = buffers.get();
+            buffer.reset();
+            objectWriter.writeValue(buffer, payload.containsValue(null) ? withoutNullValues(payload) : payload);
+            ByteBuffer encodedClaims = ENCODER.encode(ByteBuffer.wrap(buffer.array(), 0, buffer.size()));
+
+            byte[] signature = signers.get().sign(encodedHeader, encodedClaims.array(), encodedClaims.limit());
+            byte[] encodedSignature = ENCODER.encode(signature);
+
+            byte[] jws = new byte[encodedHeader.length + encodedClaims.limit() + encodedSignature.length + 2];
+            int offset = 0;
+            System.arraycopy(encodedHeader, 0, jws, offset, encodedHeader.length);
+            offset += encodedHeader.length;
+            jws[offset++] = SEPARATOR;
+            System.arraycopy(encodedClaims.array(), 0, jws, offset, encodedClaims.limit());
+            offset += encodedClaims.limit();
+            jws[offset++] = SEPARATOR;
+            System.arraycopy(encodedSignature, 0, jws, offset, encodedSignature.length);
+            return new String(jws, StandardCharsets.US_ASCII);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to sign JWT", e);
+        }
+    }
+
+    private static Map<String, Object> withoutNullValues(JWT payload) {
+        // jjwt ignores claims with a null value
+        Map<String, Object> claims = new LinkedHashMap<>(payload);
+        claims.values().removeIf(Objects::isNull);
+        return claims;
+    }
+
+    private static Signer createSigner(SignatureAlgorithm signatureAlgorithm, Key signingKey) {
+        try {
+            if (signatureAlgorithm.isHmac()) {
+                Mac mac = Mac.getInstance(signatureAlgorithm.getJcaName());
+                mac.init(signingKey);
+                return (header, claims, length) -> {
+                    mac.update(header);
+                    mac.update(SEPARATOR);
+                    mac.update(claims, 0, length);
+                    return mac.doFinal();
+                };
+            }
+
+            Signature signature = Signature.getInstance(signatureAlgorithm.getJcaName());
+            signature.initSign((PrivateKey) signingKey);
+            if (signatureAlgorithm.isEllipticCurve()) {
+                // JCA produces DER encoded ECDSA signatures, JWS expects R|S concatenation
+                int length = signatureLength(signatureAlgorithm);
+                return (header, claims, claimsLength) -> toConcat(sign(signature, header, claims, claimsLength), length);
+            }
+            return (header, claims, length) -> sign(signature, header, claims, length);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Unable to create signer for algorithm " + signatureAlgorithm.getValue(), e);
+        }
+    }
+
+    private static byte[] sign(Signature signature, byte[] header, byte[] claims, int length) throws GeneralSecurityException {
+        signature.update(header);
+        signature.update(SEPARATOR);
+        signature.update(claims, 0, length);
+        return signature.sign();
+    }
+
+    /**
+     * @return length of the R|S concatenation : twice the size of the curve order (P-256, P-384 and P-521)
+     */
+    private static int signatureLength(SignatureAlgorithm signatureAlgorithm) {
+        switch (signatureAlgorithm) {
+            case ES256:
+                return 64;
+            case ES384:
+                return 96;
+            case ES512:
+                return 132;
+            default:
+                throw new IllegalArgumentException("Unsupported elliptic curve algorithm " + signatureAlgorithm.getValue());
+        }
+    }
+
+    /**
+     * Transcode a DER encoded ECDSA signature, a SEQUENCE of the R and S INTEGERs, into their fixed size concatenation.
+     */
+    private static byte[] toConcat(byte[] der, int length) throws SignatureException {
+        if (der.length < 8 || der[0] != 0x30) {
+            throw new SignatureException("Invalid ECDSA signature format");
+        }
+        // the SEQUENCE length takes two bytes when it exceeds 127 (P-521)
+        int offset = der[1] == (byte) 0x81 ? 3 : 2;
+        byte[] concat = new byte[length];
+        offset = copyInteger(der, offset, concat, length / 2);
+        copyInteger(der, offset, concat, length);
+        return concat;
+    }
+
+    /**
+     * Copy the INTEGER starting at the offset right-aligned before the end of the destination, return the next offset.
+     */
+    private static int copyInteger(byte[] der, int offset, byte[] concat, int end) throws SignatureException {
+        if (offset + 2 > der.length || der[offset] != 0x02) {
+            throw new SignatureException("Invalid ECDSA signature format");
+        }
+        int start = offset + 2;
+        int next = start + (der[offset + 1] & 0xff);
+        // skip the leading zeros (sign byte of the DER INTEGER)
+        while (start < next - 1 && der[start] == 0) {
+            start++;
+        }
+        if (next > der.length || next - start > concat.length / 2) {
+            throw new SignatureException("Invalid ECDSA signature format");
+        }
+        System.arraycopy(der, start, concat, end - (next - start), next - start);
+        return next;
+    }
+
+    @FunctionalInterface
+    private interface Signer {
+        byte[] sign(byte[] header, byte[] claims, int length) throws GeneralSecurityException;
+    }
+
+    private static class ReusableByteArrayOutputStream extends ByteArrayOutputStream {
+
+        ReusableByteArrayOutputStream() {
+            super(1024);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+}
@@ -19,13 +19,16 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.gravitee.am.common.jwt.JWT;
 import io.gravitee.am.gateway.handler.certificate.CertificateManager;
 import io.gravitee.am.gateway.handler.certificate.CertificateProvider;
+import io.gravitee.am.gateway.handler.jwt.CryptoExecutor;
 import io.gravitee.am.gateway.handler.jwt.JwtService;
 import io.gravitee.am.gateway.handler.oauth2.exception.InvalidTokenException;
 import io.gravitee.am.model.Client;
 import io.reactivex.Single;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import java.util.Base64;
 import java.util.Map;
@@ -35,16 +38,32 @@ import java.util.Objects;
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class JwtServiceImpl implements JwtService {
+public class JwtServiceImpl implements JwtService, InitializingBean {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtServiceImpl.class);
 
+    @Value("${jwt.cache.ttl:60000}")
+    private long verifiedTokenCacheTtl;
+
+    @Value("${jwt.cache.maxEntries:10000}")
+    private int verifiedTokenCacheMaxEntries;
+
     @Autowired
     private CertificateManager certificateManager;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CryptoExecutor cryptoExecutor;
+
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Override
+    public void afterPropertiesSet() {
+        verifiedTokenCache = new VerifiedTokenCache(verifiedTokenCacheTtl, verifiedTokenCacheMaxEntries);
+    }
+
     @Override
     public Single<String> encode(JWT jwt, CertificateProvider certificateProvider) {
         Objects.requireNonNull(certificateProvider, "Certificate provider is required to sign JWT");
@@ -63,8 +82,7 @@ public class JwtServiceImpl implements JwtService {
         // use findByDomainAndId method because introspect token can be use across domains
         return certificateManager.findByDomainAndId(client.getDomain(), client.getCertificate())
                 .defaultIfEmpty(certificateManager.defaultCertificateProvider())
-                .flatMapSingle(certificateProvider -> decode(certificateProvider, jwt))
-                .map(claims -> new JWT(claims));
+                .flatMapSingle(certificateProvider -> verify(certificateProvider, jwt));
     }
 
     @Override
@@ -82,11 +100,26 @@ public class JwtServiceImpl implements JwtService {
     }
 
     private Single<String> sign(CertificateProvider certificateProvider, JWT jwt) {
-        return Single.just(certificateProvider.getJwtBuilder().sign(jwt));
+        // RSA/EC private key operations are CPU intensive, keep them out of the event loop
+        return cryptoExecutor.execute(() -> certificateProvider.getJwtBuilder().sign(jwt));
+    }
+
+    private Single<JWT> verify(CertificateProvider certificateProvider, String payload) {
+        // the same token is usually introspected many times during its lifetime, skip signature verification once verified
+        JWT verifiedToken = verifiedTokenCache.get(payload, certificateProvider);
+        if (verifiedToken != null) {
+            return Single.just(verifiedToken);
+        }
+        return decode(certificateProvider, payload)
+                .map(claims -> {
+                    JWT jwt = new JWT(claims);
+                    verifiedTokenCache.put(payload, certificateProvider, jwt);
+                    return jwt;
+                });
     }
 
     private Single<Map<String, Object>> decode(CertificateProvider certificateProvider, String payload) {
-        return Single.just(certificateProvider.getJwtParser().parse(payload));
+        return cryptoExecutor.execute(() -> certificateProvider.getJwtParser().parse(payload));
     }
 
 }
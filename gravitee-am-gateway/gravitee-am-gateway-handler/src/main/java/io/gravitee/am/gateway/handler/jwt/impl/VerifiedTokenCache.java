@@ -0,0 +1,135 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.jwt.impl;
+
+import io.gravitee.am.common.jwt.JWT;
+import io.gravitee.am.gateway.handler.certificate.CertificateProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of successfully verified JWT, keyed by the SHA-256 hash of the token.
+ *
+ * An entry expires at the earliest of the token expiration time and the configured time to live.
+ * An entry is only valid for the certificate provider which verified it, so that updating or removing a certificate
+ * (which creates a new provider) invalidates the tokens verified with the previous key.
+ *
+ * @author GraviteeSource Team
+ */
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm is not available", e);
+        }
+    });
+
+    private final long ttl;
+    private final int maxEntries;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param ttl maximum time (in milliseconds) a verified token is kept, 0 disables the cache
+     * @param maxEntries maximum number of verified tokens
+     */
+    public VerifiedTokenCache(long ttl, int maxEntries) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+    }
+
+    public boolean isEnabled() {
+        return ttl > 0 && maxEntries > 0;
+    }
+
+    public JWT get(String token, CertificateProvider certificateProvider) {
+        if (!isEnabled()) {
+            return null;
+        }
+        final String key = hash(token);
+        final Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.certificateProvider != certificateProvider || entry.expireAt <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        // claims are mutable, each caller gets its own copy
+        return new JWT(entry.claims);
+    }
+
+    public void put(String token, CertificateProvider certificateProvider, JWT claims) {
+        if (!isEnabled()) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        final long expireAt = claims.getExp() > 0 ? Math.min(claims.getExp() * 1000L, now + ttl) : now + ttl;
+        if (expireAt <= now) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(entry -> entry.expireAt <= now);
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(hash(token), new Entry(new JWT(claims), certificateProvider, expireAt));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private static String hash(String token) {
+        MessageDigest digest = DIGEST.get();
+        digest.reset();
+        return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static class Entry {
+
+        private final JWT claims;
+        private final CertificateProvider certificateProvider;
+        private final long expireAt;
+
+        Entry(JWT claims, CertificateProvider certificateProvider, long expireAt) {
+            this.claims = claims;
+            this.certificateProvider = certificateProvider;
+            this.expireAt = expireAt;
+        }
+    }
+}
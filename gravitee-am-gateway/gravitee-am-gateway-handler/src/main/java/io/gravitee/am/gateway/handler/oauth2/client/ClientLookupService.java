@@ -0,0 +1,31 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.oauth2.client;
+
+import io.gravitee.am.model.Client;
+import io.gravitee.common.service.Service;
+import io.reactivex.Maybe;
+
+/**
+ * Gateway-wide client lookup used when a security domain needs a client which belongs to another domain
+ * (e.g. token introspection).
+ *
+ * @author GraviteeSource Team
+ */
+public interface ClientLookupService extends Service {
+
+    Maybe<Client> findByDomainAndClientId(String domain, String clientId);
+}
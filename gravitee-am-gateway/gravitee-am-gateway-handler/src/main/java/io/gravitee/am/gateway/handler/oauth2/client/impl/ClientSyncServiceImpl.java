@@ -16,6 +16,8 @@
 package io.gravitee.am.gateway.handler.oauth2.client.impl;
 
 import io.gravitee.am.gateway.core.event.ClientEvent;
+import io.gravitee.am.gateway.core.event.DomainEventManager;
+import io.gravitee.am.gateway.handler.oauth2.client.ClientLookupService;
 import io.gravitee.am.gateway.handler.oauth2.client.ClientSyncService;
 import io.gravitee.am.model.Client;
 import io.gravitee.am.model.Domain;
@@ -23,17 +25,15 @@ import io.gravitee.am.model.common.event.Payload;
 import io.gravitee.am.repository.management.api.ClientRepository;
 import io.gravitee.common.event.Event;
 import io.gravitee.common.event.EventListener;
-import io.gravitee.common.event.EventManager;
 import io.gravitee.common.service.AbstractService;
 import io.reactivex.Maybe;
-import io.reactivex.Observable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -47,7 +47,10 @@ import java.util.concurrent.ConcurrentMap;
 public class ClientSyncServiceImpl extends AbstractService implements ClientSyncService, InitializingBean, EventListener<ClientEvent, Payload> {
 
     private final Logger logger = LoggerFactory.getLogger(ClientSyncServiceImpl.class);
-    private ConcurrentMap<String, Set<Client>> domainsClients = new ConcurrentHashMap<>();
+    // clients of the domain indexed by their technical identifier
+    private final ConcurrentMap<String, Client> clientsById = new ConcurrentHashMap<>();
+    // clients of the domain indexed by their client_id
+    private final ConcurrentMap<String, Client> clientsByClientId = new ConcurrentHashMap<>();
 
     @Autowired
     private Domain domain;
@@ -56,25 +59,30 @@ public class ClientSyncServiceImpl extends AbstractService implements ClientSync
     private ClientRepository clientRepository;
 
     @Autowired
-    private EventManager eventManager;
+    private ClientLookupService clientLookupService;
+
+    @Autowired
+    private DomainEventManager eventManager;
 
     @Override
     public Maybe<Client> findById(String id) {
-        return Observable.fromIterable(domainsClients.get(domain.getId()))
-                .filter(client -> client.getId().equals(id))
-                .firstElement();
+        Client client = id != null ? clientsById.get(id) : null;
+        return client != null ? Maybe.just(client) : Maybe.empty();
     }
 
     @Override
     public Maybe<Client> findByClientId(String clientId) {
-        return findByDomainAndClientId(domain.getId(), clientId);
+        Client client = clientId != null ? clientsByClientId.get(clientId) : null;
+        return client != null ? Maybe.just(client) : Maybe.empty();
     }
 
     @Override
     public Maybe<Client> findByDomainAndClientId(String domain, String clientId) {
-        return Observable.fromIterable(domainsClients.get(domain))
-                .filter(client -> client.getClientId().equals(clientId))
-                .firstElement();
+        if (this.domain.getId().equals(domain)) {
+            return findByClientId(clientId);
+        }
+        // only the clients of the current domain are kept in memory, others are looked up on demand
+        return clientLookupService.findByDomainAndClientId(domain, clientId);
     }
 
     @Override
@@ -85,14 +93,14 @@ public class ClientSyncServiceImpl extends AbstractService implements ClientSync
 
     @Override
     public Client removeDynamicClientRegistred(Client client) {
-        this.removeClient(client.getId(), client.getDomain());
+        this.removeClient(client.getId());
         return client;
     }
 
     @Override
     public void afterPropertiesSet() {
         logger.info("Initializing clients for domain {}", domain.getName());
-        clientRepository.findAll()
+        clientRepository.findByDomain(domain.getId())
                 .subscribe(
                         clients -> {
                             updateClients(clients);
@@ -107,18 +115,29 @@ public class ClientSyncServiceImpl extends AbstractService implements ClientSync
         super.doStart();
 
         logger.info("Register event listener for client events");
-        eventManager.subscribeForEvents(this, ClientEvent.class);
+        eventManager.subscribeForEvents(this, ClientEvent.class, domain.getId());
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        eventManager.unsubscribeForEvents(this, ClientEvent.class, domain.getId());
     }
 
     @Override
     public void onEvent(Event<ClientEvent, Payload> event) {
+        if (!domain.getId().equals(event.content().getDomain())) {
+            return;
+        }
+
         switch (event.type()) {
             case DEPLOY:
             case UPDATE:
                 updateClient(event.content().getId(), event.type());
                 break;
             case UNDEPLOY:
-                removeClient(event.content().getId(), event.content().getDomain());
+                removeClient(event.content().getId());
                 break;
         }
     }
@@ -136,23 +155,22 @@ public class ClientSyncServiceImpl extends AbstractService implements ClientSync
                         () -> logger.error("No client found with id {}", clientId));
     }
 
-    private void removeClient(String idClient, String domainId) {
+    private void removeClient(String idClient) {
         logger.info("Domain {} has received client event, delete client {}", domain.getName(), idClient);
-        domainsClients.get(domainId).removeIf(client -> client.getId().equals(idClient));
+        Client existingClient = clientsById.remove(idClient);
+        if (existingClient != null) {
+            clientsByClientId.remove(existingClient.getClientId(), existingClient);
+        }
     }
 
     private void updateClients(Set<Client> clients) {
         clients.forEach(client -> {
-            Set<Client> existingDomainClients = domainsClients.get(client.getDomain());
-            if (existingDomainClients != null) {
-                Set<Client> updateClients = new HashSet<>(existingDomainClients);
-                if (updateClients.contains(client)) {
-                    updateClients.remove(client);
-                }
-                updateClients.add(client);
-                domainsClients.put(client.getDomain(), updateClients);
-            } else {
-                domainsClients.put(client.getDomain(), Collections.singleton(client));
+            // replace the whole entry, readers always see either the previous or the new client
+            Client existingClient = clientsById.put(client.getId(), client);
+            clientsByClientId.put(client.getClientId(), client);
+            if (existingClient != null && !Objects.equals(existingClient.getClientId(), client.getClientId())) {
+                // only remove the entry if it still references the stale client
+                clientsByClientId.remove(existingClient.getClientId(), existingClient);
             }
         });
     }
@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.oauth2.client.impl;
+
+import io.gravitee.am.gateway.core.event.ClientEvent;
+import io.gravitee.am.gateway.handler.oauth2.client.ClientLookupService;
+import io.gravitee.am.model.Client;
+import io.gravitee.am.model.common.event.Payload;
+import io.gravitee.am.repository.management.api.ClientRepository;
+import io.gravitee.common.event.Event;
+import io.gravitee.common.event.EventListener;
+import io.gravitee.common.event.EventManager;
+import io.gravitee.common.service.AbstractService;
+import io.reactivex.Maybe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Read-through client lookup backed by the management repository.
+ *
+ * Clients are loaded on demand and kept for a limited amount of time, client events evict the cached entries.
+ *
+ * @author GraviteeSource Team
+ */
+public class DefaultClientLookupService extends AbstractService implements ClientLookupService, EventListener<ClientEvent, Payload> {
+
+    private static final Logger logger = LoggerFactory.getLogger(DefaultClientLookupService.class);
+
+    @Value("${oauth2.client.lookup.ttl:60000}")
+    private long ttl;
+
+    @Value("${oauth2.client.lookup.maxEntries:10000}")
+    private int maxEntries;
+
+    @Autowired
+    private EventManager eventManager;
+
+    private ClientRepository clientRepository;
+    private final ConcurrentMap<String, CachedClient> clients = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+
+        // management repository is registered by the repository plugin after the gateway context refresh
+        clientRepository = applicationContext.getBean(ClientRepository.class);
+
+        logger.info("Register event listener for client events");
+        eventManager.subscribeForEvents(this, ClientEvent.class);
+    }
+
+    @Override
+    public Maybe<Client> findByDomainAndClientId(String domain, String clientId) {
+        if (domain == null || clientId == null) {
+            return Maybe.empty();
+        }
+
+        final String key = domain + ':' + clientId;
+        final CachedClient cachedClient = clients.get(key);
+        if (cachedClient != null && !cachedClient.isExpired(System.currentTimeMillis())) {
+            return Maybe.just(cachedClient.client);
+        }
+
+        return clientRepository.findByClientIdAndDomain(clientId, domain)
+                .doOnSuccess(client -> put(key, client));
+    }
+
+    @Override
+    public void onEvent(Event<ClientEvent, Payload> event) {
+        switch (event.type()) {
+            case UPDATE:
+            case UNDEPLOY:
+                evict(event.content().getId());
+                break;
+        }
+    }
+
+    private void put(String key, Client client) {
+        final long now = System.currentTimeMillis();
+        if (clients.size() >= maxEntries) {
+            clients.values().removeIf(cachedClient -> cachedClient.isExpired(now));
+            if (clients.size() >= maxEntries) {
+                return;
+            }
+        }
+        clients.put(key, new CachedClient(client, now + ttl));
+    }
+
+    private void evict(String id) {
+        if (id != null) {
+            clients.values().removeIf(cachedClient -> id.equals(cachedClient.client.getId()));
+        }
+    }
+
+    private static class CachedClient {
+
+        private final Client client;
+        private final long expireAt;
+
+        CachedClient(Client client, long expireAt) {
+            this.client = client;
+            this.expireAt = expireAt;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expireAt;
+        }
+    }
+}
@@ -20,6 +20,7 @@ import io.gravitee.am.common.utils.SecureRandomString;
 import io.gravitee.am.gateway.handler.oauth2.code.AuthorizationCodeService;
 import io.gravitee.am.gateway.handler.oauth2.exception.InvalidGrantException;
 import io.gravitee.am.gateway.handler.oauth2.request.AuthorizationRequest;
+import io.gravitee.am.gateway.handler.oauth2.revocation.RevokedTokenRegistry;
 import io.gravitee.am.model.Client;
 import io.gravitee.am.model.User;
 import io.gravitee.am.repository.oauth2.api.AccessTokenRepository;
@@ -52,6 +53,9 @@ public class AuthorizationCodeServiceImpl implements AuthorizationCodeService {
     @Autowired
     private RefreshTokenRepository refreshTokenRepository;
 
+    @Autowired
+    private RevokedTokenRegistry revokedTokenRegistry;
+
     @Override
     public Single<AuthorizationCode> create(AuthorizationRequest authorizationRequest, User user) {
         AuthorizationCode authorizationCode = new AuthorizationCode();
@@ -88,9 +92,12 @@ public class AuthorizationCodeServiceImpl implements AuthorizationCodeService {
         // https://tools.ietf.org/html/rfc6749#section-4.1.2
         return accessTokenRepository.findByAuthorizationCode(code)
                 .flatMapCompletable(accessToken -> {
-                    Completable deleteAccessTokenAction = accessTokenRepository.delete(accessToken.getToken());
+                    Completable deleteAccessTokenAction = revokedTokenRegistry.revoke(accessToken.getToken(), accessToken.getExpireAt())
+                            .andThen(accessTokenRepository.delete(accessToken.getToken()));
                     if (accessToken.getRefreshToken() != null) {
-                        deleteAccessTokenAction.andThen(refreshTokenRepository.delete(accessToken.getRefreshToken()));
+                        deleteAccessTokenAction = deleteAccessTokenAction
+                                .andThen(revokedTokenRegistry.revoke(accessToken.getRefreshToken(), null))
+                                .andThen(refreshTokenRepository.delete(accessToken.getRefreshToken()));
                     }
                     return deleteAccessTokenAction;
                 })
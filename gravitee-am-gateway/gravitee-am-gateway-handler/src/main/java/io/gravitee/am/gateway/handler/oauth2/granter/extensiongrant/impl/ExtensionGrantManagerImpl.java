@@ -16,6 +16,7 @@
 package io.gravitee.am.gateway.handler.oauth2.granter.extensiongrant.impl;
 
 import io.gravitee.am.extensiongrant.api.ExtensionGrantProvider;
+import io.gravitee.am.gateway.core.event.DomainEventManager;
 import io.gravitee.am.gateway.core.event.ExtensionGrantEvent;
 import io.gravitee.am.gateway.handler.auth.UserAuthenticationManager;
 import io.gravitee.am.gateway.handler.auth.idp.IdentityProviderManager;
@@ -33,7 +34,6 @@ import io.gravitee.am.plugins.extensiongrant.core.ExtensionGrantPluginManager;
 import io.gravitee.am.repository.management.api.ExtensionGrantRepository;
 import io.gravitee.common.event.Event;
 import io.gravitee.common.event.EventListener;
-import io.gravitee.common.event.EventManager;
 import io.gravitee.common.service.AbstractService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -71,7 +71,7 @@ public class ExtensionGrantManagerImpl extends AbstractService implements Extens
     private IdentityProviderManager identityProviderManager;
 
     @Autowired
-    private EventManager eventManager;
+    private DomainEventManager eventManager;
 
     @Override
     public void afterPropertiesSet() {
@@ -90,7 +90,14 @@ public class ExtensionGrantManagerImpl extends AbstractService implements Extens
         super.doStart();
 
         logger.info("Register event listener for extension grant events");
-        eventManager.subscribeForEvents(this, ExtensionGrantEvent.class);
+        eventManager.subscribeForEvents(this, ExtensionGrantEvent.class, domain.getId());
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        eventManager.unsubscribeForEvents(this, ExtensionGrantEvent.class, domain.getId());
     }
 
     @Override
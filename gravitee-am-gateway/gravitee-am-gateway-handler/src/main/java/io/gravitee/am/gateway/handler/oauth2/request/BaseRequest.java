@@ -18,6 +18,7 @@ package io.gravitee.am.gateway.handler.oauth2.request;
 import io.gravitee.common.util.LinkedMultiValueMap;
 import io.gravitee.common.util.MultiValueMap;
 
+import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -25,7 +26,7 @@ import java.util.Set;
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
-public abstract class BaseRequest {
+public abstract class BaseRequest implements Serializable {
 
     /**
      * The authorization server issues the registered client a client
@@ -0,0 +1,54 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.oauth2.revocation;
+
+import io.gravitee.common.service.Service;
+import io.reactivex.Completable;
+
+import java.util.Date;
+
+/**
+ * Gateway-wide registry of revoked token identifiers (jti).
+ *
+ * Used by the stateless token validation mode to reject tokens which have been revoked before their expiration
+ * without querying the token repository. Revocations are shared between gateway nodes through the OAuth2 repository.
+ *
+ * @author GraviteeSource Team
+ */
+public interface RevokedTokenRegistry extends Service {
+
+    /**
+     * Check if a token has been revoked
+     * @param jti token identifier
+     * @return true if the token has been revoked
+     */
+    boolean isRevoked(String jti);
+
+    /**
+     * Register a revoked token and propagate the revocation to the other gateway nodes
+     * @param jti token identifier
+     * @param expireAt token expiration date, the entry is kept until this date
+     * @return completable
+     */
+    Completable revoke(String jti, Date expireAt);
+
+    /**
+     * The registry can only be trusted once the revoked tokens have been loaded from the repository and as long as
+     * its configured capacity is not exceeded. Callers must fall back to the token repository otherwise.
+     * @return true if the registry holds every known revoked token
+     */
+    boolean isAvailable();
+}
@@ -0,0 +1,259 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.oauth2.revocation.impl;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.gateway.handler.oauth2.revocation.RevokedTokenRegistry;
+import io.gravitee.am.repository.oauth2.api.RevokedTokenRepository;
+import io.gravitee.am.repository.oauth2.model.RevokedToken;
+import io.gravitee.common.service.AbstractService;
+import io.reactivex.Completable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sharded in-memory revoked token registry.
+ *
+ * Each shard combines a bloom filter (fast negative answers) and an exact set of revoked token identifiers.
+ * Entries are kept until the expiration date of the revoked token. Once the capacity is reached, new revocations are
+ * only written to the repository and the registry is unavailable until the expired tokens have been purged and the
+ * revocations have been reloaded.
+ * Revocations are written to the OAuth2 repository and each node incrementally pulls the revocations made by the
+ * other nodes.
+ *
+ * @author GraviteeSource Team
+ */
+public class DefaultRevokedTokenRegistry extends AbstractService implements RevokedTokenRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(DefaultRevokedTokenRegistry.class);
+
+    @Value("${oauth2.token.revocation.shards:16}")
+    private int shardCount;
+
+    @Value("${oauth2.token.revocation.maxEntries:1000000}")
+    private int maxEntries;
+
+    @Value("${oauth2.token.revocation.falsePositiveProbability:0.01}")
+    private double falsePositiveProbability;
+
+    @Value("${oauth2.token.revocation.retention:43200}")
+    private int defaultRetentionSeconds;
+
+    @Value("${oauth2.token.revocation.sync.interval:1000}")
+    private long syncInterval;
+
+    @Value("${oauth2.token.revocation.purge.interval:60000}")
+    private long purgeInterval;
+
+    // tolerated clock skew between gateway nodes when pulling revocations
+    @Value("${oauth2.token.revocation.sync.clockSkew:5000}")
+    private long clockSkew;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    private RevokedTokenShard[] shards;
+    private RevokedTokenRepository revokedTokenRepository;
+    private ScheduledExecutorService executorService;
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder bloomFilterNegatives = new LongAdder();
+    private final LongAdder rejectedEntries = new LongAdder();
+    private volatile boolean initialized;
+    private volatile boolean overflow;
+    private volatile long lastSync;
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+
+        // use a power of two to select the shard with a bit mask
+        int count = shardCount <= 1 ? 1 : Integer.highestOneBit(shardCount - 1) << 1;
+        shards = new RevokedTokenShard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new RevokedTokenShard(maxEntries / count, falsePositiveProbability);
+        }
+
+        // OAuth2 repository is registered by the repository plugin after the gateway context refresh
+        revokedTokenRepository = applicationContext.getBean(RevokedTokenRepository.class);
+
+        executorService = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "gio-am-revoked-tokens"));
+        executorService.scheduleWithFixedDelay(this::sync, 0, syncInterval, TimeUnit.MILLISECONDS);
+        executorService.scheduleWithFixedDelay(this::purge, purgeInterval, purgeInterval, TimeUnit.MILLISECONDS);
+        logger.info("Revoked token registry initialized with {} shards and a capacity of {} tokens", count, maxEntries);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRevoked(String jti) {
+        if (jti == null || shards == null) {
+            return false;
+        }
+        boolean revoked = shard(jti).contains(jti, System.currentTimeMillis());
+        if (!revoked) {
+            bloomFilterNegatives.increment();
+        }
+        return revoked;
+    }
+
+    @Override
+    public Completable revoke(String jti, Date expireAt) {
+        if (jti == null) {
+            return Completable.complete();
+        }
+        return Completable.defer(() -> {
+            final Date now = new Date();
+            final Date expiration = expireAt != null ? expireAt : new Date(now.getTime() + (defaultRetentionSeconds * 1000L));
+            register(jti, expiration.getTime());
+
+            if (revokedTokenRepository == null) {
+                return Completable.complete();
+            }
+
+            RevokedToken revokedToken = new RevokedToken();
+            revokedToken.setId(RandomString.generate());
+            revokedToken.setToken(jti);
+            revokedToken.setCreatedAt(now);
+            revokedToken.setExpireAt(expiration);
+            return revokedTokenRepository.create(revokedToken)
+                    .toCompletable()
+                    .doOnError(error -> logger.error("Unable to propagate revocation of token {}", jti, error))
+                    .onErrorComplete();
+        });
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return initialized && !overflow;
+    }
+
+    /**
+     * @return number of revoked tokens currently held by the registry
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * @return number of revocations not held by the registry because its capacity was reached
+     */
+    public long getRejectedEntries() {
+        return rejectedEntries.sum();
+    }
+
+    /**
+     * @return number of lookups answered negatively
+     */
+    public long getNegativeLookups() {
+        return bloomFilterNegatives.sum();
+    }
+
+    /**
+     * @return approximate memory used by the bloom filters in bytes
+     */
+    public long getBloomFilterMemory() {
+        long memory = 0;
+        for (RevokedTokenShard shard : shards) {
+            memory += shard.memoryFootprint();
+        }
+        return memory;
+    }
+
+    private void register(String jti, long expireAt) {
+        if (shards == null) {
+            return;
+        }
+        // reserve the slot first so that the capacity is never exceeded
+        if (size.incrementAndGet() > maxEntries) {
+            size.decrementAndGet();
+            rejectedEntries.increment();
+            if (!overflow) {
+                overflow = true;
+                logger.warn("Revoked token registry capacity ({}) reached, stateless token validation is disabled until expired tokens are purged", maxEntries);
+            }
+            return;
+        }
+        if (!shard(jti).add(jti, expireAt)) {
+            size.decrementAndGet();
+        }
+    }
+
+    private void sync() {
+        try {
+            final long now = System.currentTimeMillis();
+            // once some revocations have been rejected, reload all of them as soon as expired tokens have been purged
+            final boolean reload = overflow && size.get() < maxEntries;
+            final long rejected = rejectedEntries.sum();
+            final Date from = reload ? new Date(0) : new Date(Math.max(0, lastSync - clockSkew));
+            revokedTokenRepository.findByCreatedAtAfter(from)
+                    .filter(revokedToken -> revokedToken.getExpireAt() == null || revokedToken.getExpireAt().getTime() >= now)
+                    .blockingForEach(revokedToken -> register(revokedToken.getToken(),
+                            revokedToken.getExpireAt() != null ? revokedToken.getExpireAt().getTime() : now + (defaultRetentionSeconds * 1000L)));
+            lastSync = now;
+
+            if (reload && rejected == rejectedEntries.sum()) {
+                overflow = false;
+                logger.info("Revoked token registry reloaded with {} tokens, stateless token validation is enabled", size.get());
+            }
+
+            if (!initialized) {
+                initialized = true;
+                logger.info("Revoked token registry loaded with {} tokens", size.get());
+            }
+        } catch (Exception ex) {
+            logger.error("An error occurs while synchronizing revoked tokens", ex);
+        }
+    }
+
+    private void purge() {
+        final long now = System.currentTimeMillis();
+        int removed = 0;
+        for (RevokedTokenShard shard : shards) {
+            removed += shard.purge(now);
+        }
+        if (removed > 0) {
+            size.addAndGet(-removed);
+            logger.debug("{} expired tokens removed from the revoked token registry", removed);
+        }
+    }
+
+    private RevokedTokenShard shard(String jti) {
+        int hash = jti.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & (shards.length - 1)];
+    }
+
+    @Override
+    protected String name() {
+        return "Revoked token registry";
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.oauth2.revocation.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A shard of the revoked token registry : a bloom filter used to quickly answer that a token has not been revoked
+ * (which is the common case) and an exact set of the revoked token identifiers to confirm bloom filter hits.
+ *
+ * @author GraviteeSource Team
+ */
+class RevokedTokenShard {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Long> entries = new HashMap<>();
+    private final long[] bits;
+    private final int numBits;
+    private final int numHashFunctions;
+
+    RevokedTokenShard(int expectedEntries, double falsePositiveProbability) {
+        int expected = Math.max(expectedEntries, 1);
+        long optimalNumBits = (long) (-expected * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        this.numBits = (int) Math.max(64, Math.min(optimalNumBits, Integer.MAX_VALUE - 63));
+        this.numHashFunctions = Math.max(1, (int) Math.round((double) numBits / expected * Math.log(2)));
+        this.bits = new long[(numBits + 63) / 64];
+    }
+
+    /**
+     * @return true if the token is revoked and not yet expired
+     */
+    boolean contains(String jti, long now) {
+        lock.readLock().lock();
+        try {
+            if (!mightContain(hash(jti))) {
+                return false;
+            }
+            Long expireAt = entries.get(jti);
+            return expireAt != null && expireAt >= now;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return true if the token was not already registered
+     */
+    boolean add(String jti, long expireAt) {
+        lock.writeLock().lock();
+        try {
+            Long previous = entries.put(jti, expireAt);
+            if (previous == null) {
+                put(hash(jti));
+                return true;
+            }
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove expired entries and rebuild the bloom filter to clear their bits.
+     * @return number of removed entries
+     */
+    int purge(long now) {
+        lock.writeLock().lock();
+        try {
+            int size = entries.size();
+            entries.values().removeIf(expireAt -> expireAt < now);
+            int removed = size - entries.size();
+            if (removed > 0) {
+                Arrays.fill(bits, 0L);
+                entries.keySet().forEach(jti -> put(hash(jti)));
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long memoryFootprint() {
+        return bits.length * 8L;
+    }
+
+    private boolean mightContain(long hash) {
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashFunctions; i++) {
+            int combinedHash = hash1 + (i * hash2);
+            int index = (combinedHash & Integer.MAX_VALUE) % numBits;
+            if ((bits[index >>> 6] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void put(long hash) {
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashFunctions; i++) {
+            int combinedHash = hash1 + (i * hash2);
+            int index = (combinedHash & Integer.MAX_VALUE) % numBits;
+            bits[index >>> 6] |= (1L << index);
+        }
+    }
+
+    /**
+     * 64 bits FNV-1a hash of the token identifier
+     */
+    static long hash(String jti) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : jti.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
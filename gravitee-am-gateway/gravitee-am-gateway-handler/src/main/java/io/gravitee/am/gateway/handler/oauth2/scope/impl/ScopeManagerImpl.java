@@ -15,6 +15,7 @@
  */
 package io.gravitee.am.gateway.handler.oauth2.scope.impl;
 
+import io.gravitee.am.gateway.core.event.DomainEventManager;
 import io.gravitee.am.gateway.core.event.ScopeEvent;
 import io.gravitee.am.gateway.handler.oauth2.scope.ScopeManager;
 import io.gravitee.am.model.Domain;
@@ -23,7 +24,6 @@ import io.gravitee.am.model.oauth2.Scope;
 import io.gravitee.am.repository.management.api.ScopeRepository;
 import io.gravitee.common.event.Event;
 import io.gravitee.common.event.EventListener;
-import io.gravitee.common.event.EventManager;
 import io.gravitee.common.service.AbstractService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,7 +52,7 @@ public class ScopeManagerImpl extends AbstractService implements ScopeManager, I
     private Domain domain;
 
     @Autowired
-    private EventManager eventManager;
+    private DomainEventManager eventManager;
 
     @Override
     public void afterPropertiesSet() {
@@ -71,7 +71,14 @@ public class ScopeManagerImpl extends AbstractService implements ScopeManager, I
     protected void doStart() throws Exception {
         super.doStart();
         logger.info("Register event listener for scopes events");
-        eventManager.subscribeForEvents(this, ScopeEvent.class);
+        eventManager.subscribeForEvents(this, ScopeEvent.class, domain.getId());
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        eventManager.unsubscribeForEvents(this, ScopeEvent.class, domain.getId());
     }
 
     @Override
@@ -15,6 +15,7 @@
  */
 package io.gravitee.am.gateway.handler.oauth2.token;
 
+import java.io.Serializable;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -28,7 +29,7 @@ import java.util.Map;
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
  */
-public abstract class Token {
+public abstract class Token implements Serializable {
 
     private String value;
     private String tokenType = BEARER_TYPE.toLowerCase();
@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.oauth2.token;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters related to access token validation.
+ *
+ * @author GraviteeSource Team
+ */
+public class TokenValidationMetrics {
+
+    private final LongAdder repositoryLookups = new LongAdder();
+    private final LongAdder avoidedRepositoryLookups = new LongAdder();
+    private final LongAdder revokedTokens = new LongAdder();
+
+    public void incrementRepositoryLookups() {
+        repositoryLookups.increment();
+    }
+
+    public void incrementAvoidedRepositoryLookups() {
+        avoidedRepositoryLookups.increment();
+    }
+
+    public void incrementRevokedTokens() {
+        revokedTokens.increment();
+    }
+
+    /**
+     * @return number of access tokens validated against the token repository
+     */
+    public long getRepositoryLookups() {
+        return repositoryLookups.sum();
+    }
+
+    /**
+     * @return number of access tokens validated without any token repository lookup
+     */
+    public long getAvoidedRepositoryLookups() {
+        return avoidedRepositoryLookups.sum();
+    }
+
+    /**
+     * @return number of stateless validations rejected because the token has been revoked
+     */
+    public long getRevokedTokens() {
+        return revokedTokens.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "TokenValidationMetrics{" +
+                "repositoryLookups=" + getRepositoryLookups() +
+                ", avoidedRepositoryLookups=" + getAvoidedRepositoryLookups() +
+                ", revokedTokens=" + getRevokedTokens() +
+                '}';
+    }
+}
@@ -26,9 +26,11 @@ import io.gravitee.am.gateway.handler.oauth2.exception.InvalidGrantException;
 import io.gravitee.am.gateway.handler.oauth2.exception.InvalidTokenException;
 import io.gravitee.am.gateway.handler.oauth2.request.OAuth2Request;
 import io.gravitee.am.gateway.handler.oauth2.request.TokenRequest;
+import io.gravitee.am.gateway.handler.oauth2.revocation.RevokedTokenRegistry;
 import io.gravitee.am.gateway.handler.oauth2.token.Token;
 import io.gravitee.am.gateway.handler.oauth2.token.TokenEnhancer;
 import io.gravitee.am.gateway.handler.oauth2.token.TokenService;
+import io.gravitee.am.gateway.handler.oauth2.token.TokenValidationMetrics;
 import io.gravitee.am.gateway.handler.oauth2.utils.OAuth2Constants;
 import io.gravitee.am.gateway.handler.oauth2.utils.OIDCParameters;
 import io.gravitee.am.model.Client;
@@ -59,6 +61,9 @@ public class TokenServiceImpl implements TokenService {
     @Value("${oidc.iss:http://gravitee.am}")
     private String iss;
 
+    @Value("${oauth2.token.validation.stateless:false}")
+    private boolean statelessTokenValidation;
+
     @Autowired
     private AccessTokenRepository accessTokenRepository;
 
@@ -74,6 +79,12 @@ public class TokenServiceImpl implements TokenService {
     @Autowired
     private ClientSyncService clientSyncService;
 
+    @Autowired
+    private RevokedTokenRegistry revokedTokenRegistry;
+
+    @Autowired
+    private TokenValidationMetrics tokenValidationMetrics;
+
     @Override
     public Maybe<Token> getAccessToken(String token, Client client) {
         return jwtService.decodeAndVerify(token, client)
@@ -83,7 +94,19 @@ public class TokenServiceImpl implements TokenService {
                     }
                     return Single.error(ex);
                 })
-                .flatMapMaybe(jwt -> accessTokenRepository.findByToken(jwt.getJti()).map(accessToken -> convertAccessToken(jwt)));
+                .flatMapMaybe(jwt -> {
+                    // signature and expiration time have been checked, the token is valid unless it has been revoked
+                    if (isStatelessTokenValidation(client) && revokedTokenRegistry.isAvailable()) {
+                        tokenValidationMetrics.incrementAvoidedRepositoryLookups();
+                        if (revokedTokenRegistry.isRevoked(jwt.getJti())) {
+                            tokenValidationMetrics.incrementRevokedTokens();
+                            return Maybe.empty();
+                        }
+                        return Maybe.just(convertAccessToken(jwt));
+                    }
+                    tokenValidationMetrics.incrementRepositoryLookups();
+                    return accessTokenRepository.findByToken(jwt.getJti()).map(accessToken -> convertAccessToken(jwt));
+                });
     }
 
     @Override
@@ -95,7 +118,13 @@ public class TokenServiceImpl implements TokenService {
                     }
                     return Single.error(ex);
                 })
-                .flatMapMaybe(jwt -> refreshTokenRepository.findByToken(jwt.getJti()).map(refreshToken1 -> convertRefreshToken(jwt)));
+                .flatMapMaybe(jwt -> {
+                    // refresh tokens are used only once, reject already used ones without repository lookup
+                    if (revokedTokenRegistry.isRevoked(jwt.getJti())) {
+                        return Maybe.empty();
+                    }
+                    return refreshTokenRepository.findByToken(jwt.getJti()).map(refreshToken1 -> convertRefreshToken(jwt));
+                });
     }
 
     @Override
@@ -109,21 +138,17 @@ public class TokenServiceImpl implements TokenService {
 
     @Override
     public Single<Token> create(OAuth2Request oAuth2Request, Client client, User endUser) {
-        // store access token and refresh token (if exits)
-        // encode access/refresh token in JWT compact string format
+        // build access token and refresh token (if exits)
+        // store them while encoding them in JWT compact string format
         // convert to access token response format
-        return Single.just(oAuth2Request.isSupportRefreshToken())
-                .flatMap(supportRefreshToken -> {
-                    if (supportRefreshToken) {
-                        return storeRefreshToken(client, endUser)
-                                .flatMap(refreshToken -> storeAccessToken(oAuth2Request, client, endUser, refreshToken.getToken())
-                                        .flatMap(accessToken -> convert(accessToken, refreshToken, client, oAuth2Request)));
-                    } else {
-                        return storeAccessToken(oAuth2Request, client, endUser, null)
-                                .flatMap(accessToken -> convert(accessToken, null, client, oAuth2Request));
-                    }
-                })
-                .flatMap(accessToken1 -> tokenEnhancer.enhance(accessToken1, oAuth2Request, client, endUser));
+        return Single.defer(() -> {
+            final io.gravitee.am.repository.oauth2.model.RefreshToken refreshToken = oAuth2Request.isSupportRefreshToken() ? createRefreshToken(client, endUser) : null;
+            final io.gravitee.am.repository.oauth2.model.AccessToken accessToken = createAccessToken(oAuth2Request, client, endUser, refreshToken != null ? refreshToken.getToken() : null);
+            return Single.zip(
+                    store(accessToken, refreshToken).toSingleDefault(true),
+                    convert(accessToken, refreshToken, client, oAuth2Request),
+                    (stored, token) -> token);
+        }).flatMap(accessToken1 -> tokenEnhancer.enhance(accessToken1, oAuth2Request, client, endUser));
     }
 
     @Override
@@ -141,30 +166,51 @@ public class TokenServiceImpl implements TokenService {
                     }
 
                     // refresh token is used only once
-                    return refreshTokenRepository.delete(refreshToken1.getValue())
+                    return revokedTokenRegistry.revoke(refreshToken1.getValue(), refreshToken1.getExpireAt())
+                            .andThen(refreshTokenRepository.delete(refreshToken1.getValue()))
                             .andThen(Single.just(refreshToken1));
                 });
     }
 
     @Override
     public Completable deleteAccessToken(String accessToken) {
-        return accessTokenRepository.delete(accessToken);
+        // keep track of the revoked token for the stateless validation mode
+        return accessTokenRepository.findByToken(accessToken)
+                .flatMapCompletable(accessToken1 -> revokedTokenRegistry.revoke(accessToken1.getToken(), accessToken1.getExpireAt()))
+                .andThen(accessTokenRepository.delete(accessToken));
     }
 
     @Override
     public Completable deleteRefreshToken(String refreshToken) {
-        return refreshTokenRepository.delete(refreshToken);
+        return refreshTokenRepository.findByToken(refreshToken)
+                .flatMapCompletable(refreshToken1 -> revokedTokenRegistry.revoke(refreshToken1.getToken(), refreshToken1.getExpireAt()))
+                .andThen(refreshTokenRepository.delete(refreshToken));
+    }
+
+    /**
+     * Store access token and refresh token (if exists), both writes are sent concurrently and stored tokens are not read back
+     * @param accessToken access token
+     * @param refreshToken refresh token
+     * @return completion of the writes
+     */
+    private Completable store(io.gravitee.am.repository.oauth2.model.AccessToken accessToken, io.gravitee.am.repository.oauth2.model.RefreshToken refreshToken) {
+        if (refreshToken == null) {
+            return accessTokenRepository.bulkWrite(Collections.singletonList(accessToken));
+        }
+        return Completable.mergeArray(
+                refreshTokenRepository.bulkWrite(Collections.singletonList(refreshToken)),
+                accessTokenRepository.bulkWrite(Collections.singletonList(accessToken)));
     }
 
     /**
-     * Store access token
+     * Create access token
      * @param oAuth2Request oauth2 token or authorization request
      * @param client oauth2 client
      * @param endUser oauth2 resource owner
      * @param refreshToken refresh token id
      * @return access token
      */
-    private Single<io.gravitee.am.repository.oauth2.model.AccessToken> storeAccessToken(OAuth2Request oAuth2Request, Client client, User endUser, String refreshToken) {
+    private io.gravitee.am.repository.oauth2.model.AccessToken createAccessToken(OAuth2Request oAuth2Request, Client client, User endUser, String refreshToken) {
         io.gravitee.am.repository.oauth2.model.AccessToken accessToken = new io.gravitee.am.repository.oauth2.model.AccessToken();
         accessToken.setId(RandomString.generate());
         accessToken.setToken(SecureRandomString.generate());
@@ -185,16 +231,16 @@ public class TokenServiceImpl implements TokenService {
         if (refreshToken != null) {
             accessToken.setRefreshToken(refreshToken);
         }
-        return accessTokenRepository.create(accessToken);
+        return accessToken;
     }
 
     /**
-     * Store refresh token
+     * Create refresh token
      * @param client oauth2 client
      * @param endUser oauth2 resource owner
      * @return refresh token
      */
-    private Single<io.gravitee.am.repository.oauth2.model.RefreshToken> storeRefreshToken(Client client, User endUser) {
+    private io.gravitee.am.repository.oauth2.model.RefreshToken createRefreshToken(Client client, User endUser) {
         io.gravitee.am.repository.oauth2.model.RefreshToken refreshToken = new io.gravitee.am.repository.oauth2.model.RefreshToken();
         refreshToken.setId(RandomString.generate());
         refreshToken.setToken(SecureRandomString.generate());
@@ -204,7 +250,7 @@ public class TokenServiceImpl implements TokenService {
         refreshToken.setCreatedAt(new Date());
         refreshToken.setExpireAt(new Date(System.currentTimeMillis() + (getRefreshTokenValiditySeconds(client) * 1000L)));
 
-        return refreshTokenRepository.create(refreshToken);
+        return refreshToken;
     }
 
     /**
@@ -215,15 +261,15 @@ public class TokenServiceImpl implements TokenService {
      * @return access token response format
      */
     private Single<Token> convert(io.gravitee.am.repository.oauth2.model.AccessToken accessToken, io.gravitee.am.repository.oauth2.model.RefreshToken refreshToken, Client client, OAuth2Request oAuth2Request) {
+        // signatures are computed in parallel by the bounded crypto worker pool
+        if (refreshToken != null) {
+            return Single.zip(
+                    jwtService.encode(convert(accessToken, oAuth2Request), client),
+                    jwtService.encode(convert(refreshToken, oAuth2Request), client),
+                    (encodedAccessToken, encodedRefreshToken) -> convert(accessToken, encodedAccessToken, encodedRefreshToken, oAuth2Request));
+        }
         return jwtService.encode(convert(accessToken, oAuth2Request), client)
-                .flatMap(encodedAccessToken -> {
-                    if (refreshToken != null) {
-                        return jwtService.encode(convert(refreshToken, oAuth2Request), client)
-                                .map(encodedRefreshToken -> convert(accessToken, encodedAccessToken, encodedRefreshToken, oAuth2Request));
-                    } else {
-                        return Single.just(convert(accessToken, encodedAccessToken, null, oAuth2Request));
-                    }
-                }); // RSA Signer can be very slow, delegate work to a bounded thread-pool
+                .map(encodedAccessToken -> convert(accessToken, encodedAccessToken, null, oAuth2Request));
     }
 
     /**
@@ -324,6 +370,15 @@ public class TokenServiceImpl implements TokenService {
         return jwt;
     }
 
+    /**
+     * Check if access tokens can be validated without token repository lookup
+     * @param client client which set this option
+     * @return true if only the signature, the expiration time and the revocation list must be checked
+     */
+    private boolean isStatelessTokenValidation(Client client) {
+        return statelessTokenValidation || client.isStatelessTokenValidation();
+    }
+
     /**
      * Get access token validity in seconds
      * @param client client which set this option
@@ -13,25 +13,25 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package io.gravitee.am.gateway.handler.jwt.impl;
+package io.gravitee.am.gateway.handler.role;
 
-import io.gravitee.am.common.jwt.JWT;
-import io.gravitee.am.gateway.handler.jwt.JwtBuilder;
+import io.gravitee.am.model.Role;
+import io.gravitee.common.service.Service;
+import io.reactivex.Single;
+
+import java.util.List;
+import java.util.Set;
 
 /**
- * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class JJwtBuilder implements JwtBuilder {
-
-    private io.jsonwebtoken.JwtBuilder jwtBuilder;
-
-    public JJwtBuilder(io.jsonwebtoken.JwtBuilder jwtBuilder) {
-        this.jwtBuilder = jwtBuilder;
-    }
+public interface RoleManager extends Service {
 
-    @Override
-    public String sign(JWT payload) {
-        return jwtBuilder.setClaims(payload).compact();
-    }
+    /**
+     * Retrieve the roles from the in-memory roles of the domain, the repository is only queried for unknown roles.
+     *
+     * @param ids the role identifiers
+     * @return the roles found
+     */
+    Single<Set<Role>> findByIdIn(List<String> ids);
 }
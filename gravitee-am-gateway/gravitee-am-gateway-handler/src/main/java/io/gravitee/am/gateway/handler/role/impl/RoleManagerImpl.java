@@ -0,0 +1,141 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.role.impl;
+
+import io.gravitee.am.gateway.core.event.DomainEventManager;
+import io.gravitee.am.gateway.core.event.RoleEvent;
+import io.gravitee.am.gateway.handler.role.RoleManager;
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.Role;
+import io.gravitee.am.model.common.event.Payload;
+import io.gravitee.am.repository.management.api.RoleRepository;
+import io.gravitee.common.event.Event;
+import io.gravitee.common.event.EventListener;
+import io.gravitee.common.service.AbstractService;
+import io.reactivex.Single;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class RoleManagerImpl extends AbstractService implements RoleManager, InitializingBean, EventListener<RoleEvent, Payload> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoleManagerImpl.class);
+    private ConcurrentMap<String, Role> roles = new ConcurrentHashMap<>();
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private Domain domain;
+
+    @Autowired
+    private DomainEventManager eventManager;
+
+    @Override
+    public void afterPropertiesSet() {
+        logger.info("Initializing roles for domain {}", domain.getName());
+        roleRepository.findByDomain(domain.getId())
+                .subscribe(
+                        roles -> {
+                            updateRoles(roles);
+                            logger.info("Roles loaded for domain {}", domain.getName());
+                        },
+                        error -> logger.error("Unable to initialize roles for domain {}", domain.getName(), error));
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        logger.info("Register event listener for roles events");
+        eventManager.subscribeForEvents(this, RoleEvent.class, domain.getId());
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        eventManager.unsubscribeForEvents(this, RoleEvent.class, domain.getId());
+    }
+
+    @Override
+    public void onEvent(Event<RoleEvent, Payload> event) {
+        if (domain.getId().equals(event.content().getDomain())) {
+            switch (event.type()) {
+                case DEPLOY:
+                case UPDATE:
+                    updateRole(event.content().getId(), event.type());
+                    break;
+                case UNDEPLOY:
+                    removeRole(event.content().getId());
+                    break;
+            }
+        }
+    }
+
+    @Override
+    public Single<Set<Role>> findByIdIn(List<String> ids) {
+        Set<Role> cachedRoles = new HashSet<>();
+        for (String id : ids) {
+            Role role = roles.get(id);
+            if (role == null) {
+                // unknown role (not loaded yet or from another domain), fallback to the repository
+                return roleRepository.findByIdIn(ids)
+                        .doOnSuccess(this::updateRoles);
+            }
+            cachedRoles.add(role);
+        }
+        return Single.just(cachedRoles);
+    }
+
+    private void updateRoles(Set<Role> roles) {
+        roles
+                .stream()
+                .filter(role -> domain.getId().equals(role.getDomain()))
+                .forEach(role -> {
+                    this.roles.put(role.getId(), role);
+                    logger.debug("Role {} loaded for domain {}", role.getName(), domain.getName());
+                });
+    }
+
+    private void updateRole(String roleId, RoleEvent roleEvent) {
+        final String eventType = roleEvent.toString().toLowerCase();
+        logger.info("Domain {} has received {} role event for {}", domain.getName(), eventType, roleId);
+        roleRepository.findById(roleId)
+                .subscribe(
+                        role -> {
+                            updateRoles(Collections.singleton(role));
+                            logger.info("Role {} {}d for domain {}", roleId, eventType, domain.getName());
+                        },
+                        error -> logger.error("Unable to {} role for domain {}", eventType, domain.getName(), error),
+                        () -> logger.error("No role found with id {}", roleId));
+    }
+
+    private void removeRole(String roleId) {
+        logger.info("Domain {} has received role event, delete role {}", domain.getName(), roleId);
+        roles.remove(roleId);
+    }
+}
@@ -33,6 +33,8 @@ import io.gravitee.am.gateway.handler.jwt.JwtService;
 import io.gravitee.am.gateway.handler.jwt.impl.JwtServiceImpl;
 import io.gravitee.am.gateway.handler.oauth2.spring.OAuth2Configuration;
 import io.gravitee.am.gateway.handler.oidc.spring.OpenIDConfiguration;
+import io.gravitee.am.gateway.handler.role.RoleManager;
+import io.gravitee.am.gateway.handler.role.impl.RoleManagerImpl;
 import io.gravitee.am.gateway.handler.scim.spring.SCIMConfiguration;
 import io.gravitee.am.gateway.handler.user.spring.UserConfiguration;
 import io.gravitee.am.gateway.handler.vertx.spring.SecurityDomainRouterConfiguration;
@@ -100,4 +102,9 @@ public class HandlerConfiguration {
     public EmailManager emailManager() {
         return new EmailManagerImpl();
     }
+
+    @Bean
+    public RoleManager roleManager() {
+        return new RoleManagerImpl();
+    }
 }
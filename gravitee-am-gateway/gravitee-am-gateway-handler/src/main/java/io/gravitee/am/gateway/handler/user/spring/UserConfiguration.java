@@ -15,13 +15,13 @@
  */
 package io.gravitee.am.gateway.handler.user.spring;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.gravitee.am.gateway.handler.jwt.JwtBuilder;
 import io.gravitee.am.gateway.handler.jwt.JwtParser;
-import io.gravitee.am.gateway.handler.jwt.impl.JJwtBuilder;
+import io.gravitee.am.gateway.handler.jwt.impl.DefaultJwtBuilder;
 import io.gravitee.am.gateway.handler.jwt.impl.JJwtParser;
 import io.gravitee.am.gateway.handler.user.UserService;
 import io.gravitee.am.gateway.handler.user.impl.UserServiceImpl;
-import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -43,9 +43,6 @@ public class UserConfiguration {
     @Value("${jwt.secret:s3cR3t4grAv1t3310AMS1g1ingDftK3y}")
     private String signingKeySecret;
 
-    @Value("${jwt.issuer:https://gravitee.am}")
-    private String issuer;
-
     @Bean("managementUserService")
     public UserService userService() {
         return new UserServiceImpl();
@@ -61,7 +58,7 @@ public class UserConfiguration {
     @Bean
     public JwtBuilder jwtBuilder() {
         // jwt builder for reset password
-        JwtBuilder jwtBuilder = new JJwtBuilder(Jwts.builder().signWith(key()).setHeaderParam(JwsHeader.KEY_ID, kid).setIssuer(issuer));
+        JwtBuilder jwtBuilder = new DefaultJwtBuilder(key(), kid, new ObjectMapper());
         return jwtBuilder;
     }
 
@@ -15,10 +15,10 @@
  */
 package io.gravitee.am.gateway.handler.vertx;
 
-import io.gravitee.am.common.utils.SecureRandomString;
 import io.gravitee.am.gateway.handler.auth.UserAuthenticationManager;
 import io.gravitee.am.gateway.handler.oauth2.client.ClientSyncService;
 import io.gravitee.am.gateway.handler.vertx.auth.provider.UserAuthenticationProvider;
+import io.gravitee.am.gateway.handler.vertx.handler.CSRFTokenHandler;
 import io.gravitee.am.gateway.handler.vertx.handler.ExceptionHandler;
 import io.gravitee.am.gateway.handler.vertx.handler.oauth2.OAuth2Router;
 import io.gravitee.am.gateway.handler.vertx.handler.oauth2.endpoint.authorization.AuthorizationEndpointFailureHandler;
@@ -26,8 +26,11 @@ import io.gravitee.am.gateway.handler.vertx.handler.oidc.OIDCRouter;
 import io.gravitee.am.gateway.handler.vertx.handler.root.RootRouter;
 import io.gravitee.am.gateway.handler.vertx.handler.scim.SCIMRouter;
 import io.gravitee.am.gateway.handler.vertx.handler.scim.handler.ErrorHandler;
+import io.gravitee.am.gateway.handler.vertx.handler.session.RepositorySessionStore;
 import io.gravitee.am.gateway.handler.vertx.handler.session.RxSessionHandler;
 import io.gravitee.am.model.Domain;
+import io.gravitee.am.repository.oauth2.api.SessionRepository;
+import io.gravitee.am.repository.oauth2.api.SharedSecretRepository;
 import io.vertx.core.Handler;
 import io.vertx.reactivex.core.Vertx;
 import io.vertx.reactivex.ext.auth.AuthProvider;
@@ -35,6 +38,7 @@ import io.vertx.reactivex.ext.web.Router;
 import io.vertx.reactivex.ext.web.RoutingContext;
 import io.vertx.reactivex.ext.web.handler.*;
 import io.vertx.reactivex.ext.web.sstore.LocalSessionStore;
+import io.vertx.reactivex.ext.web.sstore.SessionStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
 
@@ -47,6 +51,9 @@ public class VertxSecurityDomainHandler {
 
     private static final String DEFAULT_SESSION_COOKIE_NAME = "GRAVITEE_IO_AM_SESSION";
     private static final long DEFAULT_SESSION_TIMEOUT = 30 * 60 * 1000; // 30 minutes
+    private static final String REPOSITORY_SESSION_STORE = "repository";
+    private static final long DEFAULT_CSRF_SECRET_ROTATION = 24 * 60 * 60 * 1000; // 1 day
+    private static final long DEFAULT_CSRF_TIMEOUT = 30 * 60 * 1000; // 30 minutes
 
     @Autowired
     private UserAuthenticationManager userAuthenticationManager;
@@ -72,9 +79,17 @@ public class VertxSecurityDomainHandler {
     @Autowired
     private SCIMRouter scimRouter;
 
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SharedSecretRepository sharedSecretRepository;
+
     @Autowired
     private Environment environment;
 
+    private SessionStore sessionStore;
+
     public Router create() {
         // Create the security domain router
         final Router router = Router.router(vertx);
@@ -147,7 +162,7 @@ public class VertxSecurityDomainHandler {
         CookieHandler cookieHandler = io.gravitee.am.gateway.handler.vertx.handler.cookie.CookieHandler.create();
         // session handler
         SessionHandler sessionHandler = RxSessionHandler
-                .create(LocalSessionStore.create(vertx))
+                .create(sessionStore())
                 .setCookieHttpOnlyFlag(true)
                 .setSessionCookieName(environment.getProperty("http.cookie.session.name", String.class, DEFAULT_SESSION_COOKIE_NAME))
                 .setSessionTimeout(environment.getProperty("http.cookie.session.timeout", Long.class, DEFAULT_SESSION_TIMEOUT))
@@ -202,8 +217,34 @@ public class VertxSecurityDomainHandler {
                 .handler(userSessionHandler);
     }
 
+    /**
+     * Release the resources held by the session store of the domain.
+     */
+    public synchronized void close() {
+        if (sessionStore != null) {
+            sessionStore.close();
+            sessionStore = null;
+        }
+    }
+
+    private synchronized SessionStore sessionStore() {
+        // the store is kept when the router of the domain is created again
+        if (sessionStore == null) {
+            if (REPOSITORY_SESSION_STORE.equalsIgnoreCase(environment.getProperty("http.session.store.type", "local"))) {
+                long cacheTimeToLive = environment.getProperty("http.session.store.cache.ttl", Long.class, 0L);
+                sessionStore = SessionStore.newInstance(new RepositorySessionStore(vertx.getDelegate(), sessionRepository, domain.getId(), cacheTimeToLive));
+            } else {
+                sessionStore = LocalSessionStore.create(vertx);
+            }
+        }
+        return sessionStore;
+    }
+
     private void csrfHandler(Router router) {
-        CSRFHandler csrfHandler = CSRFHandler.create(SecureRandomString.generate());
+        // the signing secrets are shared by the gateway nodes so that a token can be checked by any of them
+        CSRFTokenHandler csrfHandler = new CSRFTokenHandler(sharedSecretRepository, domain.getId(),
+                environment.getProperty("http.csrf.secret.rotation", Long.class, DEFAULT_CSRF_SECRET_ROTATION),
+                environment.getProperty("http.csrf.timeout", Long.class, DEFAULT_CSRF_TIMEOUT));
         // override cookie path
         csrfHandler.setCookiePath("/" + domain.getPath());
         io.gravitee.am.gateway.handler.vertx.handler.CSRFHandler csrfHandler1 = io.gravitee.am.gateway.handler.vertx.handler.CSRFHandler.create();
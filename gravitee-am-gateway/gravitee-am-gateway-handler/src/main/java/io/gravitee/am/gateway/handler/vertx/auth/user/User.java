@@ -17,18 +17,25 @@ package io.gravitee.am.gateway.handler.vertx.auth.user;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.impl.ClusterSerializable;
 import io.vertx.ext.auth.AuthProvider;
 
 /**
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class User implements io.vertx.ext.auth.User {
+public class User implements io.vertx.ext.auth.User, ClusterSerializable {
 
     private JsonObject principal;
     private io.gravitee.am.model.User user;
 
+    /**
+     * Used to read an authenticated user from a session shared between gateway nodes
+     */
+    public User() { }
+
     public User(io.gravitee.am.model.User user) {
         this.user = user;
         this.principal = JsonObject.mapFrom(user);
@@ -57,4 +64,20 @@ public class User implements io.vertx.ext.auth.User {
     public void setAuthProvider(AuthProvider authProvider) {
 
     }
+
+    @Override
+    public void writeToBuffer(Buffer buffer) {
+        Buffer value = principal.toBuffer();
+        buffer.appendInt(value.length());
+        buffer.appendBuffer(value);
+    }
+
+    @Override
+    public int readFromBuffer(int pos, Buffer buffer) {
+        int length = buffer.getInt(pos);
+        pos += 4;
+        principal = new JsonObject(buffer.getBuffer(pos, pos + length));
+        user = principal.mapTo(io.gravitee.am.model.User.class);
+        return pos + length;
+    }
 }
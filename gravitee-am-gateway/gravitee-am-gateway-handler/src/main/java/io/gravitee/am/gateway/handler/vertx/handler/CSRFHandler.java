@@ -24,7 +24,7 @@ import java.util.Map;
 /**
  * Enhance routing context with CSRF values to fill in the right value for the form fields.
  *
- * This handler must be call after {@link io.vertx.ext.web.handler.CSRFHandler}
+ * This handler must be call after {@link CSRFTokenHandler}
  *
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
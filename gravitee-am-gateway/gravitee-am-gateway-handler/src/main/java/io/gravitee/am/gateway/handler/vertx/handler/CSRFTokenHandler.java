@@ -0,0 +1,207 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.vertx.handler;
+
+import io.gravitee.am.common.utils.SecureRandomString;
+import io.gravitee.am.repository.oauth2.api.SharedSecretRepository;
+import io.gravitee.am.repository.oauth2.model.SharedSecret;
+import io.gravitee.common.http.HttpStatusCode;
+import io.reactivex.Maybe;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.reactivex.ext.web.Cookie;
+import io.vertx.reactivex.ext.web.RoutingContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.vertx.ext.web.handler.CSRFHandler.DEFAULT_COOKIE_NAME;
+import static io.vertx.ext.web.handler.CSRFHandler.DEFAULT_HEADER_NAME;
+
+/**
+ * CSRF handler which can be used by every gateway node of a security domain.
+ *
+ * Like the Vert.x {@link io.vertx.ext.web.handler.CSRFHandler}, tokens are signed with a HMAC of a salt and of their
+ * creation time. The signing key is not local to the node: it is shared by the nodes through the OAuth2 repository and
+ * a new key is used for each rotation period. The key of a token is found from its creation time, so tokens created
+ * just before a rotation remain valid until they time out.
+ *
+ * @author GraviteeSource Team
+ */
+public class CSRFTokenHandler implements Handler<RoutingContext> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CSRFTokenHandler.class);
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder BASE64_ENCODER = Base64.getMimeEncoder();
+    // tolerated clock difference between the gateway nodes
+    private static final long CLOCK_SKEW = 60 * 1000;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<Long, SecretKeySpec> keys = new ConcurrentHashMap<>();
+    private final SharedSecretRepository sharedSecretRepository;
+    private final String domain;
+    private final long rotationPeriod;
+    private final long timeout;
+    private String cookiePath = "/";
+
+    public CSRFTokenHandler(SharedSecretRepository sharedSecretRepository, String domain, long rotationPeriod, long timeout) {
+        this.sharedSecretRepository = sharedSecretRepository;
+        this.domain = domain;
+        this.rotationPeriod = rotationPeriod;
+        this.timeout = timeout;
+    }
+
+    public CSRFTokenHandler setCookiePath(String cookiePath) {
+        this.cookiePath = cookiePath;
+        return this;
+    }
+
+    @Override
+    public void handle(RoutingContext context) {
+        switch (context.request().method()) {
+            case GET:
+                final long now = System.currentTimeMillis();
+                withKey(context, now / rotationPeriod, true, key -> {
+                    final String token = generateToken(key, now);
+                    // put the token in the context for the templates rendering the token in the HTML form
+                    context.put(DEFAULT_HEADER_NAME, token);
+                    context.addCookie(Cookie.cookie(DEFAULT_COOKIE_NAME, token).setPath(cookiePath));
+                    context.next();
+                });
+                break;
+            case POST:
+            case PUT:
+            case DELETE:
+            case PATCH:
+                final String header = context.request().getHeader(DEFAULT_HEADER_NAME);
+                final String token = header != null ? header : context.request().getFormAttribute(DEFAULT_HEADER_NAME);
+                final Cookie cookie = context.getCookie(DEFAULT_COOKIE_NAME);
+                if (token == null || cookie == null || !token.equals(cookie.getValue())) {
+                    context.fail(HttpStatusCode.FORBIDDEN_403);
+                    return;
+                }
+
+                final String[] parts = token.split("\\.");
+                final long createdAt = parts.length == 3 ? parseTime(parts[1]) : -1;
+                final long currentTime = System.currentTimeMillis();
+
+                // tokens from the future are rejected, they would make the nodes create and keep the secrets of any period
+                if (createdAt < 0 || currentTime > createdAt + timeout || createdAt > currentTime + CLOCK_SKEW) {
+                    context.fail(HttpStatusCode.FORBIDDEN_403);
+                    return;
+                }
+
+                // the secret of a valid token has been created when the token was generated, it is only read here
+                withKey(context, createdAt / rotationPeriod, false, key -> {
+                    if (key != null && MessageDigest.isEqual(sign(key, parts[0] + "." + parts[1]).getBytes(StandardCharsets.UTF_8), parts[2].getBytes(StandardCharsets.UTF_8))) {
+                        context.next();
+                    } else {
+                        context.fail(HttpStatusCode.FORBIDDEN_403);
+                    }
+                });
+                break;
+            default:
+                context.next();
+                break;
+        }
+    }
+
+    /**
+     * Call the handler with the key of the period, or with <code>null</code> if the key does not exist and must not be
+     * created.
+     */
+    private void withKey(RoutingContext routingContext, long period, boolean create, Handler<SecretKeySpec> handler) {
+        final SecretKeySpec key = keys.get(period);
+        if (key != null) {
+            handler.handle(key);
+            return;
+        }
+
+        final Context context = Vertx.currentContext();
+        loadKey(period, create)
+                .subscribe(
+                        loadedKey -> context.runOnContext(v -> handler.handle(loadedKey)),
+                        error -> context.runOnContext(v -> {
+                            logger.error("Unable to load the CSRF key of domain {}", domain, error);
+                            routingContext.fail(error);
+                        }),
+                        () -> context.runOnContext(v -> handler.handle(null)));
+    }
+
+    private Maybe<SecretKeySpec> loadKey(long period, boolean create) {
+        final String secretId = "csrf-" + domain + "-" + period;
+        final Maybe<SharedSecret> secretLookup;
+        if (create) {
+            SharedSecret secret = new SharedSecret();
+            secret.setId(secretId);
+            secret.setDomain(domain);
+            secret.setValue(SecureRandomString.generate());
+            secret.setCreatedAt(new Date());
+            // keep the key while tokens signed during its period are valid
+            secret.setExpireAt(new Date((period + 1) * rotationPeriod + timeout));
+            secretLookup = sharedSecretRepository.findOrCreate(secret).toMaybe();
+        } else {
+            secretLookup = sharedSecretRepository.findById(secretId);
+        }
+
+        return secretLookup
+                .map(sharedSecret -> {
+                    SecretKeySpec key = new SecretKeySpec(sharedSecret.getValue().getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+                    keys.put(period, key);
+                    // forget the keys of the periods for which there are no more valid tokens
+                    long oldestPeriod = (System.currentTimeMillis() - timeout) / rotationPeriod;
+                    keys.keySet().removeIf(keyPeriod -> keyPeriod < oldestPeriod);
+                    return key;
+                });
+    }
+
+    private String generateToken(SecretKeySpec key, long now) {
+        byte[] salt = new byte[32];
+        random.nextBytes(salt);
+
+        String saltPlusToken = BASE64_ENCODER.encodeToString(salt) + "." + now;
+        return saltPlusToken + "." + sign(key, saltPlusToken);
+    }
+
+    private static String sign(SecretKeySpec key, String value) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return BASE64_ENCODER.encodeToString(mac.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to sign CSRF token", ex);
+        }
+    }
+
+    private static long parseTime(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.vertx.handler.session;
+
+import io.gravitee.am.repository.oauth2.api.SessionRepository;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.auth.PRNG;
+import io.vertx.ext.web.Session;
+import io.vertx.ext.web.handler.SessionHandler;
+import io.vertx.ext.web.sstore.SessionStore;
+import io.vertx.ext.web.sstore.impl.SessionImpl;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Session store sharing the sessions of a security domain between gateway nodes through the OAuth2 repository.
+ *
+ * Sessions are stored in the compact binary format of the Vert.x clustered sessions. Sessions read or written by the
+ * node can be kept in a local near-cache for a short time to save repository reads: since a cached session may have
+ * been modified by another node in the meantime, the cache should only be enabled when requests of a user are mostly
+ * handled by the same node.
+ *
+ * @author GraviteeSource Team
+ */
+public class RepositorySessionStore implements SessionStore {
+
+    private static final int MAX_CACHED_SESSIONS = 10000;
+
+    private final Vertx vertx;
+    private final SessionRepository sessionRepository;
+    private final String domain;
+    private final long cacheTimeToLive;
+    private final PRNG random;
+    private final Map<String, CachedSession> cachedSessions = new ConcurrentHashMap<>();
+
+    public RepositorySessionStore(Vertx vertx, SessionRepository sessionRepository, String domain, long cacheTimeToLive) {
+        this.vertx = vertx;
+        this.sessionRepository = sessionRepository;
+        this.domain = domain;
+        this.cacheTimeToLive = cacheTimeToLive;
+        this.random = new PRNG(vertx);
+    }
+
+    @Override
+    public long retryTimeout() {
+        // the write of a session starts before its response is sent, a missing session is not waited for
+        return 0;
+    }
+
+    @Override
+    public Session createSession(long timeout) {
+        return new SessionImpl(random, timeout, SessionHandler.DEFAULT_SESSIONID_MIN_LENGTH);
+    }
+
+    @Override
+    public Session createSession(long timeout, int length) {
+        return new SessionImpl(random, timeout, length);
+    }
+
+    @Override
+    public void get(String id, Handler<AsyncResult<Session>> resultHandler) {
+        CachedSession cachedSession = cachedSessions.get(id);
+        if (cachedSession != null) {
+            if (cachedSession.isValid()) {
+                resultHandler.handle(Future.succeededFuture(read(cachedSession.value)));
+                return;
+            }
+            cachedSessions.remove(id, cachedSession);
+        }
+
+        final Context context = vertx.getOrCreateContext();
+        sessionRepository.findById(id)
+                .map(session -> {
+                    cache(id, session.getValue(), session.getExpireAt().getTime());
+                    return read(session.getValue());
+                })
+                .subscribe(
+                        session -> context.runOnContext(v -> resultHandler.handle(Future.succeededFuture(session))),
+                        error -> context.runOnContext(v -> resultHandler.handle(Future.failedFuture(error))),
+                        () -> context.runOnContext(v -> resultHandler.handle(Future.succeededFuture())));
+    }
+
+    @Override
+    public void delete(String id, Handler<AsyncResult<Void>> resultHandler) {
+        cachedSessions.remove(id);
+
+        final Context context = vertx.getOrCreateContext();
+        sessionRepository.delete(id)
+                .subscribe(
+                        () -> context.runOnContext(v -> resultHandler.handle(Future.succeededFuture())),
+                        error -> context.runOnContext(v -> resultHandler.handle(Future.failedFuture(error))));
+    }
+
+    @Override
+    public void put(Session session, Handler<AsyncResult<Void>> resultHandler) {
+        final byte[] value;
+        try {
+            value = write(session);
+        } catch (Exception ex) {
+            resultHandler.handle(Future.failedFuture(ex));
+            return;
+        }
+
+        final io.gravitee.am.repository.oauth2.model.Session repositorySession = new io.gravitee.am.repository.oauth2.model.Session();
+        repositorySession.setId(session.id());
+        repositorySession.setDomain(domain);
+        repositorySession.setValue(value);
+        repositorySession.setUpdatedAt(new Date());
+        repositorySession.setExpireAt(new Date(session.lastAccessed() + session.timeout()));
+
+        final Context context = vertx.getOrCreateContext();
+        sessionRepository.save(repositorySession)
+                .subscribe(
+                        savedSession -> {
+                            cache(session.id(), value, savedSession.getExpireAt().getTime());
+                            context.runOnContext(v -> resultHandler.handle(Future.succeededFuture()));
+                        },
+                        error -> context.runOnContext(v -> resultHandler.handle(Future.failedFuture(error))));
+    }
+
+    @Override
+    public void clear(Handler<AsyncResult<Void>> resultHandler) {
+        cachedSessions.clear();
+
+        final Context context = vertx.getOrCreateContext();
+        sessionRepository.deleteByDomain(domain)
+                .subscribe(
+                        () -> context.runOnContext(v -> resultHandler.handle(Future.succeededFuture())),
+                        error -> context.runOnContext(v -> resultHandler.handle(Future.failedFuture(error))));
+    }
+
+    @Override
+    public void size(Handler<AsyncResult<Integer>> resultHandler) {
+        final Context context = vertx.getOrCreateContext();
+        sessionRepository.countByDomain(domain)
+                .subscribe(
+                        count -> context.runOnContext(v -> resultHandler.handle(Future.succeededFuture((int) Math.min(count, Integer.MAX_VALUE)))),
+                        error -> context.runOnContext(v -> resultHandler.handle(Future.failedFuture(error))));
+    }
+
+    @Override
+    public void close() {
+        cachedSessions.clear();
+        random.close();
+    }
+
+    private Session read(byte[] value) {
+        SessionImpl session = new SessionImpl(random);
+        session.readFromBuffer(0, Buffer.buffer(value));
+        return session;
+    }
+
+    private byte[] write(Session session) {
+        if (!(session instanceof SessionImpl)) {
+            throw new IllegalArgumentException("Session " + session.getClass().getName() + " has not been created by this store");
+        }
+
+        Buffer buffer = Buffer.buffer();
+        ((SessionImpl) session).writeToBuffer(buffer);
+        return buffer.getBytes();
+    }
+
+    private void cache(String id, byte[] value, long expireAt) {
+        if (cacheTimeToLive <= 0) {
+            return;
+        }
+
+        if (cachedSessions.size() >= MAX_CACHED_SESSIONS) {
+            cachedSessions.values().removeIf(cachedSession -> !cachedSession.isValid());
+        }
+        if (cachedSessions.size() < MAX_CACHED_SESSIONS) {
+            cachedSessions.put(id, new CachedSession(value, Math.min(expireAt, System.currentTimeMillis() + cacheTimeToLive)));
+        }
+    }
+
+    private static class CachedSession {
+
+        // sessions are cached in their serialized form as a session instance can not be shared between requests
+        private final byte[] value;
+        private final long expireAt;
+
+        CachedSession(byte[] value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        boolean isValid() {
+            return System.currentTimeMillis() < expireAt;
+        }
+    }
+}
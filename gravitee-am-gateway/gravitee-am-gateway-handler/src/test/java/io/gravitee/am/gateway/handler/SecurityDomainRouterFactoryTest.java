@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler;
+
+import io.gravitee.am.gateway.handler.auth.idp.IdentityProviderManager;
+import io.gravitee.am.gateway.handler.certificate.CertificateManager;
+import io.gravitee.am.gateway.handler.email.EmailManager;
+import io.gravitee.am.gateway.handler.form.FormManager;
+import io.gravitee.am.gateway.handler.oauth2.client.ClientSyncService;
+import io.gravitee.am.gateway.handler.oauth2.granter.extensiongrant.ExtensionGrantManager;
+import io.gravitee.am.gateway.handler.oauth2.scope.ScopeManager;
+import io.gravitee.am.gateway.handler.role.RoleManager;
+import io.gravitee.am.gateway.handler.vertx.VertxSecurityDomainHandler;
+import io.gravitee.am.model.Domain;
+import io.gravitee.common.component.LifecycleComponent;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.aop.TargetSource;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.Arrays;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class SecurityDomainRouterFactoryTest {
+
+    private AbstractApplicationContext applicationContext;
+
+    private SecurityDomainRouterFactory securityDomainRouterFactory = new SecurityDomainRouterFactory() {
+        @Override
+        AbstractApplicationContext createApplicationContext(Domain domain) {
+            GenericApplicationContext context = new GenericApplicationContext();
+            registerDomain(context.getBeanFactory(), domain);
+            context.getBeanFactory().registerSingleton("handler", mock(VertxSecurityDomainHandler.class));
+            Arrays.asList(ClientSyncService.class, CertificateManager.class, IdentityProviderManager.class,
+                    ExtensionGrantManager.class, FormManager.class, EmailManager.class, ScopeManager.class, RoleManager.class)
+                    .forEach(component -> context.getBeanFactory().registerSingleton(component.getSimpleName(), mock(component)));
+            context.refresh();
+            applicationContext = context;
+            return context;
+        }
+    };
+
+    @Test
+    public void shouldCreate_copyDomain() {
+        Domain domain = domain("my-domain", "test");
+        securityDomainRouterFactory.create(domain);
+        domain.setName("modified-domain");
+
+        Domain deployedDomain = applicationContext.getBean("domain", Domain.class);
+        Assert.assertEquals("domain-id", deployedDomain.getId());
+        Assert.assertEquals("my-domain", deployedDomain.getName());
+    }
+
+    @Test
+    public void shouldUpdate_swapDomain() throws Exception {
+        securityDomainRouterFactory.create(domain("my-domain", "test"));
+        Domain deployedDomain = applicationContext.getBean("domain", Domain.class);
+        Domain previousDomain = (Domain) applicationContext.getBean("domainTargetSource", TargetSource.class).getTarget();
+
+        VertxSecurityDomainHandler handler = securityDomainRouterFactory.update(domain("updated-domain", "other-path"));
+
+        Assert.assertSame(applicationContext.getBean(VertxSecurityDomainHandler.class), handler);
+        // the bean injected in the components now delegates to the updated domain
+        Assert.assertEquals("updated-domain", deployedDomain.getName());
+        // path and state of a running domain do not change
+        Assert.assertEquals("test", deployedDomain.getPath());
+        Assert.assertTrue(deployedDomain.isEnabled());
+        // the previous domain has not been modified, requests reading it see consistent settings
+        Assert.assertEquals("my-domain", previousDomain.getName());
+
+        // components are not restarted
+        LifecycleComponent clientSyncService = applicationContext.getBean(ClientSyncService.class);
+        verify(clientSyncService, times(1)).start();
+        verify(clientSyncService, never()).stop();
+    }
+
+    @Test
+    public void shouldDestroy_closeSessionStore() throws Exception {
+        Domain domain = domain("my-domain", "test");
+        securityDomainRouterFactory.create(domain);
+
+        securityDomainRouterFactory.destroy(domain);
+
+        verify(applicationContext.getBean(VertxSecurityDomainHandler.class), times(1)).close();
+        verify(applicationContext.getBean(ClientSyncService.class), times(1)).stop();
+        Assert.assertNull(securityDomainRouterFactory.update(domain));
+    }
+
+    @Test
+    public void shouldNotUpdate_unknownDomain() {
+        Assert.assertNull(securityDomainRouterFactory.update(domain("my-domain", "test")));
+    }
+
+    private Domain domain(String name, String path) {
+        Domain domain = new Domain();
+        domain.setId("domain-id");
+        domain.setName(name);
+        domain.setPath(path);
+        domain.setEnabled(true);
+        return domain;
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.auth;
+
+import io.gravitee.am.gateway.handler.auth.impl.DefaultPasswordHashingService;
+import io.gravitee.am.service.exception.authentication.InternalAuthenticationServiceException;
+import io.reactivex.observers.TestObserver;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.internal.util.reflection.Whitebox;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class PasswordHashingServiceTest {
+
+    private DefaultPasswordHashingService passwordHashingService = new DefaultPasswordHashingService();
+
+    @Before
+    public void setUp() throws Exception {
+        Whitebox.setInternalState(passwordHashingService, "workers", 1);
+        Whitebox.setInternalState(passwordHashingService, "queueCapacity", 1);
+        passwordHashingService.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        passwordHashingService.stop();
+    }
+
+    @Test
+    public void shouldExecute_onWorkerThread() throws Exception {
+        TestObserver<String> testObserver = passwordHashingService.execute(() -> Thread.currentThread().getName()).test();
+
+        testObserver.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        testObserver.assertComplete();
+        testObserver.assertValue(threadName -> threadName.startsWith("gio-am-password-"));
+        Assert.assertEquals(1, passwordHashingService.getCompletedTasks());
+        Assert.assertEquals(1, Arrays.stream(passwordHashingService.getLatencyHistogram()).sum());
+    }
+
+    @Test
+    public void shouldReject_whenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(1);
+        // first task occupies the single worker, second one fills the queue
+        TestObserver<Boolean> running = passwordHashingService.execute(() -> {
+            started.countDown();
+            return latch.await(5, TimeUnit.SECONDS);
+        }).test();
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        TestObserver<Boolean> queued = passwordHashingService.execute(() -> true).test();
+
+        TestObserver<Boolean> rejected = passwordHashingService.execute(() -> true).test();
+        rejected.assertError(InternalAuthenticationServiceException.class);
+        Assert.assertEquals(1, passwordHashingService.getRejectedTasks());
+
+        latch.countDown();
+        running.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        queued.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        running.assertValue(true);
+        queued.assertValue(true);
+    }
+
+    @Test
+    public void shouldNotRehash_byDefault() {
+        Assert.assertEquals(-1, passwordHashingService.getTargetStrength());
+    }
+
+    @Test
+    public void shouldComputeTargetStrength_whenRehashEnabled() throws Exception {
+        DefaultPasswordHashingService service = new DefaultPasswordHashingService();
+        Whitebox.setInternalState(service, "rehashEnabled", true);
+        Whitebox.setInternalState(service, "rehashTargetTime", 1L);
+        service.start();
+        try {
+            // target time is lower than a cost 10 verification, the default cost is kept
+            Assert.assertEquals(10, service.getTargetStrength());
+        } finally {
+            service.stop();
+        }
+    }
+}
@@ -22,6 +22,7 @@ import io.gravitee.am.identityprovider.api.AuthenticationProvider;
 import io.gravitee.am.identityprovider.api.DefaultUser;
 import io.gravitee.am.model.Client;
 import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.IdentityProviderStrategy;
 import io.gravitee.am.model.User;
 import io.gravitee.am.service.UserService;
 import io.gravitee.am.service.exception.authentication.AccountDisabledException;
@@ -41,6 +42,9 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
@@ -272,4 +276,178 @@ public class UserAuthenticationManagerTest {
 
         observer.assertError(AccountDisabledException.class);
     }
+
+    @Test
+    public void shouldAuthenticateUser_sequential_stopOnFirstSuccess() {
+        Client client = new Client();
+        client.setClientId("client-id");
+        client.setIdentities(new LinkedHashSet<>(Arrays.asList("idp-1", "idp-2")));
+        client.setIdentityProviderStrategy(IdentityProviderStrategy.SEQUENTIAL);
+
+        mockUserService();
+        when(identityProviderManager.get("idp-1")).thenReturn(Maybe.just(authenticationProvider(Maybe.just(new DefaultUser("username")))));
+        when(identityProviderManager.getIdentityProvider("idp-1")).thenReturn(Maybe.empty());
+
+        TestObserver<User> observer = userAuthenticationManager.authenticate(client, authentication("username")).test();
+
+        observer.assertComplete();
+        observer.assertValue(user -> user.getUsername().equals("username"));
+        verify(identityProviderManager, never()).get("idp-2");
+    }
+
+    @Test
+    public void shouldAuthenticateUser_parallel() {
+        Client client = new Client();
+        client.setClientId("client-id");
+        client.setIdentities(new LinkedHashSet<>(Arrays.asList("idp-1", "idp-2")));
+        client.setIdentityProviderStrategy(IdentityProviderStrategy.PARALLEL);
+
+        mockUserService();
+        // the first identity provider never answers, the second one authenticates the user
+        when(identityProviderManager.get("idp-1")).thenReturn(Maybe.just(authenticationProvider(Maybe.never())));
+        when(identityProviderManager.get("idp-2")).thenReturn(Maybe.just(authenticationProvider(Maybe.just(new DefaultUser("username")))));
+        when(identityProviderManager.getIdentityProvider("idp-2")).thenReturn(Maybe.empty());
+
+        TestObserver<User> observer = userAuthenticationManager.authenticate(client, authentication("username")).test();
+
+        observer.assertComplete();
+        observer.assertValue(user -> user.getUsername().equals("username"));
+    }
+
+    @Test
+    public void shouldAuthenticateUser_routing() {
+        Client client = new Client();
+        client.setClientId("client-id");
+        client.setIdentities(new LinkedHashSet<>(Arrays.asList("idp-1", "idp-2")));
+        client.setIdentityProviderStrategy(IdentityProviderStrategy.ROUTING);
+        client.setIdentityProviderRoutes(Collections.singletonMap("idp-2", ".*@acme\\.com"));
+
+        mockUserService();
+        when(identityProviderManager.get("idp-2")).thenReturn(Maybe.just(authenticationProvider(Maybe.just(new DefaultUser("john@acme.com")))));
+        when(identityProviderManager.getIdentityProvider("idp-2")).thenReturn(Maybe.empty());
+
+        TestObserver<User> observer = userAuthenticationManager.authenticate(client, authentication("john@acme.com")).test();
+
+        observer.assertComplete();
+        observer.assertValue(user -> user.getUsername().equals("john@acme.com"));
+        verify(identityProviderManager, never()).get("idp-1");
+    }
+
+    @Test
+    public void shouldAuthenticateUser_routing_noMatchingRoute() {
+        Client client = new Client();
+        client.setClientId("client-id");
+        client.setIdentities(new LinkedHashSet<>(Arrays.asList("idp-1", "idp-2")));
+        client.setIdentityProviderStrategy(IdentityProviderStrategy.ROUTING);
+        client.setIdentityProviderRoutes(Collections.singletonMap("idp-2", ".*@acme\\.com"));
+
+        mockUserService();
+        when(identityProviderManager.get("idp-1")).thenReturn(Maybe.just(authenticationProvider(Maybe.just(new DefaultUser("john@example.com")))));
+        when(identityProviderManager.getIdentityProvider("idp-1")).thenReturn(Maybe.empty());
+
+        TestObserver<User> observer = userAuthenticationManager.authenticate(client, authentication("john@example.com")).test();
+
+        observer.assertComplete();
+        observer.assertValue(user -> user.getUsername().equals("john@example.com"));
+        verify(identityProviderManager, never()).get("idp-2");
+    }
+
+    @Test
+    public void shouldNotAuthenticateUser_parallel_badCredentialsOverTechnicalError() {
+        Client client = new Client();
+        client.setClientId("client-id");
+        client.setIdentities(new LinkedHashSet<>(Arrays.asList("idp-1", "idp-2")));
+        client.setIdentityProviderStrategy(IdentityProviderStrategy.PARALLEL);
+
+        // the technical error is the last answer, the rejected credentials are reported
+        when(identityProviderManager.get("idp-1")).thenReturn(Maybe.just(authenticationProvider(Maybe.error(new BadCredentialsException("bad credentials")))));
+        when(identityProviderManager.get("idp-2")).thenReturn(Maybe.just(authenticationProvider(Maybe.error(new IllegalStateException("connection refused")))));
+
+        TestObserver<User> observer = userAuthenticationManager.authenticate(client, authentication("username")).test();
+
+        observer.assertError(BadCredentialsException.class);
+    }
+
+    @Test
+    public void shouldAuthenticateUser_routing_invalidRoute() {
+        Client client = new Client();
+        client.setClientId("client-id");
+        client.setIdentities(new LinkedHashSet<>(Arrays.asList("idp-1", "idp-2")));
+        client.setIdentityProviderStrategy(IdentityProviderStrategy.ROUTING);
+        client.setIdentityProviderRoutes(Collections.singletonMap("idp-2", "[acme"));
+
+        mockUserService();
+        when(identityProviderManager.get("idp-1")).thenReturn(Maybe.just(authenticationProvider(Maybe.just(new DefaultUser("john@acme.com")))));
+        when(identityProviderManager.getIdentityProvider("idp-1")).thenReturn(Maybe.empty());
+
+        userAuthenticationManager.authenticate(client, authentication("john@acme.com")).test().assertComplete();
+        userAuthenticationManager.authenticate(client, authentication("john@acme.com")).test().assertComplete();
+
+        verify(identityProviderManager, never()).get("idp-2");
+    }
+
+    @Test
+    public void shouldAuthenticateUser_routing_updatedRoutes() {
+        Client client = new Client();
+        client.setClientId("client-id");
+        client.setIdentities(new LinkedHashSet<>(Arrays.asList("idp-1", "idp-2")));
+        client.setIdentityProviderStrategy(IdentityProviderStrategy.ROUTING);
+        client.setIdentityProviderRoutes(Collections.singletonMap("idp-2", ".*@acme\\.com"));
+
+        mockUserService();
+        when(identityProviderManager.get("idp-1")).thenReturn(Maybe.just(authenticationProvider(Maybe.just(new DefaultUser("john@acme.com")))));
+        when(identityProviderManager.get("idp-2")).thenReturn(Maybe.just(authenticationProvider(Maybe.just(new DefaultUser("john@acme.com")))));
+        when(identityProviderManager.getIdentityProvider(any())).thenReturn(Maybe.empty());
+
+        userAuthenticationManager.authenticate(client, authentication("john@acme.com")).test().assertComplete();
+        verify(identityProviderManager, never()).get("idp-1");
+
+        // the client has been updated, its routes are compiled again
+        client.setIdentityProviderRoutes(Collections.singletonMap("idp-1", ".*@acme\\.com"));
+        userAuthenticationManager.authenticate(client, authentication("john@acme.com")).test().assertComplete();
+        verify(identityProviderManager, times(1)).get("idp-1");
+        verify(identityProviderManager, times(1)).get("idp-2");
+    }
+
+    private void mockUserService() {
+        when(userService.findOrCreate(any(), any())).then(invocation -> {
+            io.gravitee.am.identityprovider.api.User idpUser = invocation.getArgumentAt(1, io.gravitee.am.identityprovider.api.User.class);
+            User user = new User();
+            user.setUsername(idpUser.getUsername());
+            return Single.just(user);
+        });
+    }
+
+    private AuthenticationProvider authenticationProvider(Maybe<io.gravitee.am.identityprovider.api.User> result) {
+        return new AuthenticationProvider() {
+            @Override
+            public Maybe<io.gravitee.am.identityprovider.api.User> loadUserByUsername(Authentication authentication) {
+                return result;
+            }
+
+            @Override
+            public Maybe<io.gravitee.am.identityprovider.api.User> loadUserByUsername(String username) {
+                return Maybe.empty();
+            }
+        };
+    }
+
+    private Authentication authentication(String username) {
+        return new Authentication() {
+            @Override
+            public Object getCredentials() {
+                return null;
+            }
+
+            @Override
+            public Object getPrincipal() {
+                return username;
+            }
+
+            @Override
+            public Map<String, Object> getAdditionalInformation() {
+                return null;
+            }
+        };
+    }
 }
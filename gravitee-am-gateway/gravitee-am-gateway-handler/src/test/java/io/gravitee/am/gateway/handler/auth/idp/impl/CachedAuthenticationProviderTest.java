@@ -0,0 +1,151 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.auth.idp.impl;
+
+import io.gravitee.am.identityprovider.api.Authentication;
+import io.gravitee.am.identityprovider.api.AuthenticationProvider;
+import io.gravitee.am.identityprovider.api.DefaultUser;
+import io.gravitee.am.identityprovider.api.User;
+import io.gravitee.am.service.exception.authentication.BadCredentialsException;
+import io.gravitee.am.service.exception.authentication.UsernameNotFoundException;
+import io.reactivex.Maybe;
+import io.reactivex.observers.TestObserver;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Map;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CachedAuthenticationProviderTest {
+
+    @Mock
+    private AuthenticationProvider authenticationProvider;
+
+    private CachedAuthenticationProvider cachedAuthenticationProvider;
+
+    @Before
+    public void setUp() {
+        cachedAuthenticationProvider = new CachedAuthenticationProvider("idp-1", authenticationProvider, 60000);
+    }
+
+    @Test
+    public void shouldLoadUserByUsername_fromCache() {
+        when(authenticationProvider.loadUserByUsername("username")).thenReturn(Maybe.just(new DefaultUser("username")));
+
+        cachedAuthenticationProvider.loadUserByUsername("username").test().assertValue(u -> "username".equals(u.getUsername()));
+        cachedAuthenticationProvider.loadUserByUsername("username").test().assertValue(u -> "username".equals(u.getUsername()));
+
+        verify(authenticationProvider, times(1)).loadUserByUsername("username");
+        Assert.assertEquals(0.5, cachedAuthenticationProvider.getHitRatio(), 0);
+    }
+
+    @Test
+    public void shouldLoadUserByUsername_unknownUserFromCache() {
+        when(authenticationProvider.loadUserByUsername("unknown")).thenReturn(Maybe.error(new UsernameNotFoundException("unknown")));
+
+        cachedAuthenticationProvider.loadUserByUsername("unknown").test().assertError(UsernameNotFoundException.class);
+        cachedAuthenticationProvider.loadUserByUsername("unknown").test().assertError(UsernameNotFoundException.class);
+
+        verify(authenticationProvider, times(1)).loadUserByUsername("unknown");
+    }
+
+    @Test
+    public void shouldAuthenticate_alwaysCallIdentityProvider() {
+        when(authenticationProvider.loadUserByUsername(any(Authentication.class))).thenReturn(Maybe.just(new DefaultUser("username")));
+
+        cachedAuthenticationProvider.loadUserByUsername(authentication("username", "password")).test().assertValue(u -> "username".equals(u.getUsername()));
+        cachedAuthenticationProvider.loadUserByUsername(authentication("username", "password")).test().assertValue(u -> "username".equals(u.getUsername()));
+
+        verify(authenticationProvider, times(2)).loadUserByUsername(any(Authentication.class));
+    }
+
+    @Test
+    public void shouldNotAuthenticate_credentialsChanged() {
+        when(authenticationProvider.loadUserByUsername(any(Authentication.class)))
+                .thenReturn(Maybe.just(new DefaultUser("username")))
+                .thenReturn(Maybe.error(new BadCredentialsException("bad credentials")));
+
+        cachedAuthenticationProvider.loadUserByUsername(authentication("username", "password")).test().assertComplete();
+        TestObserver<User> testObserver = cachedAuthenticationProvider.loadUserByUsername(authentication("username", "password")).test();
+
+        testObserver.assertError(BadCredentialsException.class);
+        verify(authenticationProvider, times(2)).loadUserByUsername(any(Authentication.class));
+    }
+
+    @Test
+    public void shouldLoadUserByUsername_cachedByAuthentication() {
+        when(authenticationProvider.loadUserByUsername(any(Authentication.class))).thenReturn(Maybe.just(new DefaultUser("username")));
+
+        cachedAuthenticationProvider.loadUserByUsername(authentication("username", "password")).test().assertComplete();
+        cachedAuthenticationProvider.loadUserByUsername("username").test().assertValue(u -> "username".equals(u.getUsername()));
+
+        verify(authenticationProvider, never()).loadUserByUsername("username");
+    }
+
+    @Test
+    public void shouldLoadUserByUsername_evictedByFailedAuthentication() {
+        when(authenticationProvider.loadUserByUsername("username")).thenReturn(Maybe.just(new DefaultUser("username")));
+        when(authenticationProvider.loadUserByUsername(any(Authentication.class))).thenReturn(Maybe.error(new BadCredentialsException("bad credentials")));
+
+        cachedAuthenticationProvider.loadUserByUsername("username").test().assertComplete();
+        cachedAuthenticationProvider.loadUserByUsername(authentication("username", "password")).test().assertError(BadCredentialsException.class);
+        cachedAuthenticationProvider.loadUserByUsername("username").test().assertComplete();
+
+        verify(authenticationProvider, times(2)).loadUserByUsername("username");
+    }
+
+    @Test
+    public void shouldNotShareCachedUser() {
+        when(authenticationProvider.loadUserByUsername("username")).thenReturn(Maybe.just(new DefaultUser("username")));
+
+        User user = cachedAuthenticationProvider.loadUserByUsername("username").blockingGet();
+        ((DefaultUser) user).setUsername("changed");
+
+        cachedAuthenticationProvider.loadUserByUsername("username").test().assertValue(u -> "username".equals(u.getUsername()));
+    }
+
+    private static Authentication authentication(String username, String password) {
+        return new Authentication() {
+            @Override
+            public Object getCredentials() {
+                return password;
+            }
+
+            @Override
+            public Object getPrincipal() {
+                return username;
+            }
+
+            @Override
+            public Map<String, Object> getAdditionalInformation() {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.jwt;
+
+import io.gravitee.am.gateway.handler.jwt.impl.DefaultCryptoExecutor;
+import io.gravitee.am.gateway.handler.oauth2.exception.TemporarilyUnavailableException;
+import io.reactivex.observers.TestObserver;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.internal.util.reflection.Whitebox;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class CryptoExecutorTest {
+
+    private DefaultCryptoExecutor cryptoExecutor = new DefaultCryptoExecutor();
+
+    @Before
+    public void setUp() throws Exception {
+        Whitebox.setInternalState(cryptoExecutor, "workers", 1);
+        Whitebox.setInternalState(cryptoExecutor, "queueCapacity", 1);
+        cryptoExecutor.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        cryptoExecutor.stop();
+    }
+
+    @Test
+    public void shouldExecute_onWorkerThread() throws Exception {
+        TestObserver<String> testObserver = cryptoExecutor.execute(() -> Thread.currentThread().getName()).test();
+
+        testObserver.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        testObserver.assertComplete();
+        testObserver.assertValue(threadName -> threadName.startsWith("gio-am-crypto-"));
+        Assert.assertEquals(1, cryptoExecutor.getCompletedTasks());
+    }
+
+    @Test
+    public void shouldPropagateError() throws Exception {
+        TestObserver<String> testObserver = cryptoExecutor.<String>execute(() -> {
+            throw new IllegalStateException("invalid signature");
+        }).test();
+
+        testObserver.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        testObserver.assertError(IllegalStateException.class);
+    }
+
+    @Test
+    public void shouldNotExecute_notStarted() {
+        TestObserver<Boolean> testObserver = new DefaultCryptoExecutor().execute(() -> true).test();
+
+        testObserver.assertError(IllegalStateException.class);
+        testObserver.assertNoValues();
+    }
+
+    @Test
+    public void shouldReject_whenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(1);
+        // first task occupies the single worker, second one fills the queue
+        TestObserver<Boolean> running = cryptoExecutor.execute(() -> {
+            started.countDown();
+            return latch.await(5, TimeUnit.SECONDS);
+        }).test();
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        TestObserver<Boolean> queued = cryptoExecutor.execute(() -> true).test();
+
+        TestObserver<Boolean> rejected = cryptoExecutor.execute(() -> true).test();
+        rejected.assertError(TemporarilyUnavailableException.class);
+        Assert.assertEquals(1, cryptoExecutor.getRejectedTasks());
+
+        latch.countDown();
+        running.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        queued.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        running.assertValue(true);
+        queued.assertValue(true);
+    }
+}
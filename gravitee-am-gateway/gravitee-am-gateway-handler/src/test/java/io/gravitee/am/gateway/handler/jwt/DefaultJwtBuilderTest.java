@@ -0,0 +1,142 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.am.common.jwt.JWT;
+import io.gravitee.am.gateway.handler.jwt.impl.DefaultJwtBuilder;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.JacksonSerializer;
+import io.jsonwebtoken.security.Keys;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.security.Key;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class DefaultJwtBuilderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void shouldSign_HS256() {
+        Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        JWT jwt = createJWT("subject");
+
+        Assert.assertEquals(jjwt(key, jwt), new DefaultJwtBuilder(key, "kid", objectMapper).sign(jwt));
+    }
+
+    @Test
+    public void shouldSign_RS256() {
+        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        JWT jwt = createJWT("subject");
+
+        Assert.assertEquals(jjwt(keyPair.getPrivate(), jwt), new DefaultJwtBuilder(keyPair.getPrivate(), "kid", objectMapper).sign(jwt));
+    }
+
+    @Test
+    public void shouldSign_ES256() {
+        shouldSign_ECDSA(SignatureAlgorithm.ES256);
+    }
+
+    @Test
+    public void shouldSign_ES384() {
+        shouldSign_ECDSA(SignatureAlgorithm.ES384);
+    }
+
+    @Test
+    public void shouldSign_ES512() {
+        shouldSign_ECDSA(SignatureAlgorithm.ES512);
+    }
+
+    @Test
+    public void shouldIgnoreNullClaims() {
+        Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        JWT jwt = createJWT("subject");
+        jwt.setScope(null);
+
+        Assert.assertEquals(jjwt(key, jwt), new DefaultJwtBuilder(key, "kid", objectMapper).sign(jwt));
+    }
+
+    @Test
+    public void shouldSign_concurrently() throws Exception {
+        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        JwtBuilder jwtBuilder = new DefaultJwtBuilder(keyPair.getPrivate(), "kid", objectMapper);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                final String subject = "subject-" + i;
+                results.add(executorService.submit(() -> {
+                    String token = jwtBuilder.sign(createJWT(subject));
+                    return subject.equals(Jwts.parser().setSigningKey(keyPair.getPublic()).parseClaimsJws(token).getBody().getSubject());
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void shouldSign_ECDSA(SignatureAlgorithm signatureAlgorithm) {
+        // ECDSA signatures are not deterministic, check the tokens with jjwt parser
+        KeyPair keyPair = Keys.keyPairFor(signatureAlgorithm);
+        JwtBuilder jwtBuilder = new DefaultJwtBuilder(keyPair.getPrivate(), "kid", objectMapper);
+        // DER encoded R and S have a variable length, sign several tokens to cover the padded ones
+        for (int i = 0; i < 20; i++) {
+            String token = jwtBuilder.sign(createJWT("subject"));
+
+            JwsHeader header = Jwts.parser().setSigningKey(keyPair.getPublic()).parseClaimsJws(token).getHeader();
+            Claims claims = Jwts.parser().setSigningKey(keyPair.getPublic()).parseClaimsJws(token).getBody();
+            Assert.assertEquals(signatureAlgorithm.getValue(), header.getAlgorithm());
+            Assert.assertEquals("kid", header.getKeyId());
+            Assert.assertEquals("subject", claims.getSubject());
+        }
+    }
+
+    private String jjwt(Key key, JWT jwt) {
+        return Jwts.builder()
+                .serializeToJsonWith(new JacksonSerializer(objectMapper))
+                .signWith(key)
+                .setHeaderParam(JwsHeader.KEY_ID, "kid")
+                .setClaims(jwt)
+                .compact();
+    }
+
+    private JWT createJWT(String subject) {
+        JWT jwt = new JWT();
+        jwt.setSub(subject);
+        jwt.setAud("client-id");
+        jwt.setDomain("domain");
+        jwt.setIat(1546300800L);
+        jwt.setExp(4102444800L);
+        jwt.setScope("openid");
+        return jwt;
+    }
+}
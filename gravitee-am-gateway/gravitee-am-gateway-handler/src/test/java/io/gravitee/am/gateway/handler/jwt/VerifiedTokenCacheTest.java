@@ -0,0 +1,102 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.jwt;
+
+import io.gravitee.am.common.jwt.JWT;
+import io.gravitee.am.gateway.handler.certificate.CertificateProvider;
+import io.gravitee.am.gateway.handler.jwt.impl.VerifiedTokenCache;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class VerifiedTokenCacheTest {
+
+    @Mock
+    private CertificateProvider certificateProvider;
+
+    @Mock
+    private CertificateProvider updatedCertificateProvider;
+
+    @Test
+    public void shouldGetVerifiedToken() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(60000, 10);
+        cache.put("token", certificateProvider, createJWT(System.currentTimeMillis() / 1000 + 3600));
+
+        JWT jwt = cache.get("token", certificateProvider);
+        Assert.assertNotNull(jwt);
+        Assert.assertEquals("jti", jwt.getJti());
+        Assert.assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void shouldReturnCopy() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(60000, 10);
+        cache.put("token", certificateProvider, createJWT(System.currentTimeMillis() / 1000 + 3600));
+
+        cache.get("token", certificateProvider).setJti("updated");
+        Assert.assertEquals("jti", cache.get("token", certificateProvider).getJti());
+    }
+
+    @Test
+    public void shouldNotGetExpiredToken() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(60000, 10);
+        cache.put("token", certificateProvider, createJWT(System.currentTimeMillis() / 1000 - 10));
+
+        Assert.assertNull(cache.get("token", certificateProvider));
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldNotGetToken_certificateChanged() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(60000, 10);
+        cache.put("token", certificateProvider, createJWT(System.currentTimeMillis() / 1000 + 3600));
+
+        Assert.assertNull(cache.get("token", updatedCertificateProvider));
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void shouldNotExceedMaxEntries() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(60000, 1);
+        cache.put("token", certificateProvider, createJWT(System.currentTimeMillis() / 1000 + 3600));
+        cache.put("token2", certificateProvider, createJWT(System.currentTimeMillis() / 1000 + 3600));
+
+        Assert.assertEquals(1, cache.size());
+        Assert.assertNull(cache.get("token2", certificateProvider));
+    }
+
+    @Test
+    public void shouldNotCache_disabled() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(0, 10);
+        cache.put("token", certificateProvider, createJWT(System.currentTimeMillis() / 1000 + 3600));
+
+        Assert.assertNull(cache.get("token", certificateProvider));
+    }
+
+    private JWT createJWT(long exp) {
+        JWT jwt = new JWT();
+        jwt.setJti("jti");
+        jwt.setExp(exp);
+        return jwt;
+    }
+}
@@ -15,9 +15,129 @@
  */
 package io.gravitee.am.gateway.handler.oauth2.client;
 
+import io.gravitee.am.gateway.core.event.ClientEvent;
+import io.gravitee.am.gateway.handler.oauth2.client.impl.ClientSyncServiceImpl;
+import io.gravitee.am.model.Client;
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.common.event.Action;
+import io.gravitee.am.model.common.event.Payload;
+import io.gravitee.am.repository.management.api.ClientRepository;
+import io.gravitee.common.event.impl.SimpleEvent;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
+@RunWith(MockitoJUnitRunner.class)
 public class ClientSyncServiceTest {
+
+    @InjectMocks
+    private ClientSyncServiceImpl clientSyncService = new ClientSyncServiceImpl();
+
+    @Mock
+    private Domain domain;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private ClientLookupService clientLookupService;
+
+    @Before
+    public void setUp() {
+        when(domain.getId()).thenReturn("domain-id");
+        when(domain.getName()).thenReturn("domain-name");
+        when(clientRepository.findByDomain("domain-id")).thenReturn(Single.just(new HashSet<>(Arrays.asList(
+                createClient("id-1", "client-1", "domain-id"),
+                createClient("id-2", "client-2", "domain-id")))));
+
+        clientSyncService.afterPropertiesSet();
+    }
+
+    @Test
+    public void shouldFindById() {
+        TestObserver<Client> testObserver = clientSyncService.findById("id-1").test();
+        testObserver.assertComplete();
+        testObserver.assertValue(client -> "client-1".equals(client.getClientId()));
+    }
+
+    @Test
+    public void shouldLoadOnlyDomainClients() {
+        verify(clientRepository, never()).findAll();
+    }
+
+    @Test
+    public void shouldFindByDomainAndClientId() {
+        TestObserver<Client> testObserver = clientSyncService.findByDomainAndClientId("domain-id", "client-2").test();
+        testObserver.assertComplete();
+        testObserver.assertValue(client -> "id-2".equals(client.getId()));
+        verify(clientLookupService, never()).findByDomainAndClientId(anyString(), anyString());
+    }
+
+    @Test
+    public void shouldFindByDomainAndClientId_otherDomain() {
+        when(clientLookupService.findByDomainAndClientId("other-domain-id", "client-3")).thenReturn(Maybe.just(createClient("id-3", "client-3", "other-domain-id")));
+
+        TestObserver<Client> testObserver = clientSyncService.findByDomainAndClientId("other-domain-id", "client-3").test();
+        testObserver.assertComplete();
+        testObserver.assertValue(client -> "id-3".equals(client.getId()));
+    }
+
+    @Test
+    public void shouldNotFindByDomainAndClientId_unknownDomain() {
+        when(clientLookupService.findByDomainAndClientId("unknown-domain-id", "client-1")).thenReturn(Maybe.empty());
+
+        TestObserver<Client> testObserver = clientSyncService.findByDomainAndClientId("unknown-domain-id", "client-1").test();
+        testObserver.assertComplete();
+        testObserver.assertNoValues();
+    }
+
+    @Test
+    public void shouldIgnoreOtherDomainEvents() {
+        clientSyncService.onEvent(new SimpleEvent<>(ClientEvent.DEPLOY, new Payload("id-3", "other-domain-id", Action.CREATE)));
+
+        verify(clientRepository, never()).findById("id-3");
+    }
+
+    @Test
+    public void shouldUpdateClientId() {
+        clientSyncService.addDynamicClientRegistred(createClient("id-1", "client-1-updated", "domain-id"));
+
+        clientSyncService.findByClientId("client-1").test().assertNoValues();
+        clientSyncService.findByClientId("client-1-updated").test().assertValue(client -> "id-1".equals(client.getId()));
+        clientSyncService.findById("id-1").test().assertValue(client -> "client-1-updated".equals(client.getClientId()));
+    }
+
+    @Test
+    public void shouldRemoveClient() {
+        clientSyncService.removeDynamicClientRegistred(createClient("id-2", "client-2", "domain-id"));
+
+        clientSyncService.findByClientId("client-2").test().assertNoValues();
+        clientSyncService.findById("id-2").test().assertNoValues();
+    }
+
+    private Client createClient(String id, String clientId, String domain) {
+        Client client = new Client();
+        client.setId(id);
+        client.setClientId(clientId);
+        client.setDomain(domain);
+        return client;
+    }
 }
@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.oauth2.client;
+
+import io.gravitee.am.gateway.core.event.ClientEvent;
+import io.gravitee.am.gateway.handler.oauth2.client.impl.DefaultClientLookupService;
+import io.gravitee.am.model.Client;
+import io.gravitee.am.model.common.event.Action;
+import io.gravitee.am.model.common.event.Payload;
+import io.gravitee.am.repository.management.api.ClientRepository;
+import io.gravitee.common.event.EventManager;
+import io.gravitee.common.event.impl.SimpleEvent;
+import io.reactivex.Maybe;
+import io.reactivex.observers.TestObserver;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.internal.util.reflection.Whitebox;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.ApplicationContext;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DefaultClientLookupServiceTest {
+
+    @InjectMocks
+    private DefaultClientLookupService clientLookupService = new DefaultClientLookupService();
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    @Mock
+    private EventManager eventManager;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Before
+    public void setUp() throws Exception {
+        Whitebox.setInternalState(clientLookupService, "ttl", 60000L);
+        Whitebox.setInternalState(clientLookupService, "maxEntries", 10);
+        when(applicationContext.getBean(ClientRepository.class)).thenReturn(clientRepository);
+        when(clientRepository.findByClientIdAndDomain("client-id", "domain-id")).thenReturn(Maybe.just(createClient()));
+
+        clientLookupService.start();
+    }
+
+    @Test
+    public void shouldFindByDomainAndClientId_cached() {
+        clientLookupService.findByDomainAndClientId("domain-id", "client-id").test().assertValue(client -> "id".equals(client.getId()));
+        TestObserver<Client> testObserver = clientLookupService.findByDomainAndClientId("domain-id", "client-id").test();
+
+        testObserver.assertComplete();
+        testObserver.assertValue(client -> "id".equals(client.getId()));
+        verify(clientRepository, times(1)).findByClientIdAndDomain("client-id", "domain-id");
+    }
+
+    @Test
+    public void shouldNotFindByDomainAndClientId() {
+        when(clientRepository.findByClientIdAndDomain("unknown-client-id", "domain-id")).thenReturn(Maybe.empty());
+
+        TestObserver<Client> testObserver = clientLookupService.findByDomainAndClientId("domain-id", "unknown-client-id").test();
+        testObserver.assertComplete();
+        testObserver.assertNoValues();
+    }
+
+    @Test
+    public void shouldEvictOnClientEvent() {
+        clientLookupService.findByDomainAndClientId("domain-id", "client-id").test();
+        clientLookupService.onEvent(new SimpleEvent<>(ClientEvent.UPDATE, new Payload("id", "domain-id", Action.UPDATE)));
+        clientLookupService.findByDomainAndClientId("domain-id", "client-id").test();
+
+        verify(clientRepository, times(2)).findByClientIdAndDomain("client-id", "domain-id");
+    }
+
+    private Client createClient() {
+        Client client = new Client();
+        client.setId("id");
+        client.setClientId("client-id");
+        client.setDomain("domain-id");
+        return client;
+    }
+}
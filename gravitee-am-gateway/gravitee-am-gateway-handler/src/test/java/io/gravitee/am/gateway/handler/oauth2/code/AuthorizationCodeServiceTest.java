@@ -18,6 +18,7 @@ package io.gravitee.am.gateway.handler.oauth2.code;
 import io.gravitee.am.gateway.handler.oauth2.code.impl.AuthorizationCodeServiceImpl;
 import io.gravitee.am.gateway.handler.oauth2.exception.InvalidGrantException;
 import io.gravitee.am.gateway.handler.oauth2.request.AuthorizationRequest;
+import io.gravitee.am.gateway.handler.oauth2.revocation.RevokedTokenRegistry;
 import io.gravitee.am.model.Client;
 import io.gravitee.am.model.User;
 import io.gravitee.am.repository.oauth2.api.AccessTokenRepository;
@@ -61,6 +62,9 @@ public class AuthorizationCodeServiceTest {
     @Mock
     private RefreshTokenRepository refreshTokenRepository;
 
+    @Mock
+    private RevokedTokenRegistry revokedTokenRegistry;
+
     @Test
     public void shouldCreate_noExistingCode() {
         AuthorizationRequest authorizationRequest = new AuthorizationRequest();
@@ -131,6 +135,7 @@ public class AuthorizationCodeServiceTest {
         when(authorizationCodeRepository.findByCode(any())).thenReturn(Maybe.empty());
         when(accessTokenRepository.findByAuthorizationCode(anyString())).thenReturn(Observable.fromIterable(tokens));
         when(accessTokenRepository.delete(anyString())).thenReturn(Completable.complete());
+        when(revokedTokenRegistry.revoke(anyString(), any())).thenReturn(Completable.complete());
 
         TestObserver<AuthorizationCode> testObserver = authorizationCodeService.remove(authorizationCode.getCode(), client).test();
         testObserver.assertError(InvalidGrantException.class);
@@ -169,6 +174,7 @@ public class AuthorizationCodeServiceTest {
         when(authorizationCodeRepository.findByCode(any())).thenReturn(Maybe.empty());
         when(accessTokenRepository.findByAuthorizationCode(anyString())).thenReturn(Observable.fromIterable(tokens));
         when(accessTokenRepository.delete(anyString())).thenReturn(Completable.complete());
+        when(revokedTokenRegistry.revoke(anyString(), any())).thenReturn(Completable.complete());
         when(refreshTokenRepository.delete(anyString())).thenReturn(Completable.complete());
 
         TestObserver<AuthorizationCode> testObserver = authorizationCodeService.remove(authorizationCode.getCode(), client).test();
@@ -178,6 +184,7 @@ public class AuthorizationCodeServiceTest {
         verify(accessTokenRepository, times(1)).findByAuthorizationCode(anyString());
         verify(accessTokenRepository, times(2)).delete(anyString());
         verify(refreshTokenRepository, times(2)).delete(anyString());
+        verify(revokedTokenRegistry, times(4)).revoke(anyString(), any());
         verify(authorizationCodeRepository, never()).delete(any());
     }
 }
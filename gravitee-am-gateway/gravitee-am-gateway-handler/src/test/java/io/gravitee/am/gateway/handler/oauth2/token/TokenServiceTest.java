@@ -21,9 +21,11 @@ import io.gravitee.am.gateway.handler.oauth2.client.ClientSyncService;
 import io.gravitee.am.gateway.handler.oauth2.exception.InvalidGrantException;
 import io.gravitee.am.gateway.handler.oauth2.request.OAuth2Request;
 import io.gravitee.am.gateway.handler.oauth2.request.TokenRequest;
+import io.gravitee.am.gateway.handler.oauth2.revocation.RevokedTokenRegistry;
 import io.gravitee.am.gateway.handler.oauth2.token.impl.AccessToken;
 import io.gravitee.am.gateway.handler.oauth2.token.impl.TokenServiceImpl;
 import io.gravitee.am.model.Client;
+import io.gravitee.am.repository.exceptions.TechnicalException;
 import io.gravitee.am.repository.oauth2.api.AccessTokenRepository;
 import io.gravitee.am.repository.oauth2.api.RefreshTokenRepository;
 import io.gravitee.am.repository.oauth2.model.RefreshToken;
@@ -37,9 +39,11 @@ import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import java.util.Date;
+import java.util.List;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
@@ -69,6 +73,12 @@ public class TokenServiceTest {
     @Mock
     private ClientSyncService clientSyncService;
 
+    @Mock
+    private RevokedTokenRegistry revokedTokenRegistry;
+
+    @Spy
+    private TokenValidationMetrics tokenValidationMetrics = new TokenValidationMetrics();
+
     @Test
     public void shouldCreate() {
         OAuth2Request oAuth2Request = new OAuth2Request();
@@ -76,21 +86,69 @@ public class TokenServiceTest {
         Client client = new Client();
         client.setClientId("my-client-id");
 
-        ArgumentCaptor<io.gravitee.am.repository.oauth2.model.AccessToken> accessTokenCaptor = ArgumentCaptor.forClass(io.gravitee.am.repository.oauth2.model.AccessToken.class);
+        ArgumentCaptor<List> accessTokenCaptor = ArgumentCaptor.forClass(List.class);
 
         when(jwtService.encode(any(), any(Client.class))).thenReturn(Single.just(""));
-        when(accessTokenRepository.create(accessTokenCaptor.capture())).thenReturn(Single.just(new io.gravitee.am.repository.oauth2.model.AccessToken()));
+        when(accessTokenRepository.bulkWrite(accessTokenCaptor.capture())).thenReturn(Completable.complete());
         when(tokenEnhancer.enhance(any(), any(), any(), any())).thenReturn(Single.just(new AccessToken("token-id")));
 
         TestObserver<Token> testObserver = tokenService.create(oAuth2Request, client, null).test();
         testObserver.assertComplete();
         testObserver.assertNoErrors();
 
-        verify(accessTokenRepository, times(1)).create(any());
+        verify(accessTokenRepository, times(1)).bulkWrite(any());
+        verify(accessTokenRepository, never()).create(any());
+        verify(refreshTokenRepository, never()).bulkWrite(any());
         verify(accessTokenRepository, never()).delete(anyString());
         verify(refreshTokenRepository, never()).delete(anyString());
 
-        Assert.assertTrue("client should be client_id", client.getClientId().equals(accessTokenCaptor.getValue().getClient()));
+        io.gravitee.am.repository.oauth2.model.AccessToken accessToken = (io.gravitee.am.repository.oauth2.model.AccessToken) accessTokenCaptor.getValue().get(0);
+        Assert.assertTrue("client should be client_id", client.getClientId().equals(accessToken.getClient()));
+    }
+
+    @Test
+    public void shouldCreate_withRefreshToken() {
+        OAuth2Request oAuth2Request = new OAuth2Request();
+        oAuth2Request.setSupportRefreshToken(true);
+
+        Client client = new Client();
+        client.setClientId("my-client-id");
+
+        ArgumentCaptor<List> accessTokenCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List> refreshTokenCaptor = ArgumentCaptor.forClass(List.class);
+
+        when(jwtService.encode(any(), any(Client.class))).thenReturn(Single.just(""));
+        when(accessTokenRepository.bulkWrite(accessTokenCaptor.capture())).thenReturn(Completable.complete());
+        when(refreshTokenRepository.bulkWrite(refreshTokenCaptor.capture())).thenReturn(Completable.complete());
+        when(tokenEnhancer.enhance(any(), any(), any(), any())).thenReturn(Single.just(new AccessToken("token-id")));
+
+        TestObserver<Token> testObserver = tokenService.create(oAuth2Request, client, null).test();
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+
+        verify(jwtService, times(2)).encode(any(), any(Client.class));
+        verify(refreshTokenRepository, never()).create(any());
+        verify(accessTokenRepository, never()).create(any());
+
+        io.gravitee.am.repository.oauth2.model.AccessToken accessToken = (io.gravitee.am.repository.oauth2.model.AccessToken) accessTokenCaptor.getValue().get(0);
+        RefreshToken refreshToken = (RefreshToken) refreshTokenCaptor.getValue().get(0);
+        Assert.assertEquals(refreshToken.getToken(), accessToken.getRefreshToken());
+    }
+
+    @Test
+    public void shouldNotCreate_storeError() {
+        OAuth2Request oAuth2Request = new OAuth2Request();
+
+        Client client = new Client();
+        client.setClientId("my-client-id");
+
+        when(jwtService.encode(any(), any(Client.class))).thenReturn(Single.just(""));
+        when(accessTokenRepository.bulkWrite(any())).thenReturn(Completable.error(new TechnicalException()));
+
+        TestObserver<Token> testObserver = tokenService.create(oAuth2Request, client, null).test();
+        testObserver.assertError(TechnicalException.class);
+
+        verify(tokenEnhancer, never()).enhance(any(), any(), any(), any());
     }
 
     @Test
@@ -118,7 +176,8 @@ public class TokenServiceTest {
         when(jwtService.decodeAndVerify(any(), any())).thenReturn(Single.just(jwt));
         when(refreshTokenRepository.findByToken(any())).thenReturn(Maybe.just(refreshToken));
         when(refreshTokenRepository.delete(anyString())).thenReturn(Completable.complete());
-        when(accessTokenRepository.create(any())).thenReturn(Single.just(new io.gravitee.am.repository.oauth2.model.AccessToken()));
+        when(revokedTokenRegistry.revoke(anyString(), any())).thenReturn(Completable.complete());
+        when(accessTokenRepository.bulkWrite(any())).thenReturn(Completable.complete());
         when(tokenEnhancer.enhance(any(), any(), any(), any())).thenReturn(Single.just(new AccessToken("token-id")));
 
         TestObserver<Token> testObserver = tokenService.refresh(refreshToken.getToken(), tokenRequest, client).test();
@@ -224,4 +283,114 @@ public class TokenServiceTest {
         verify(refreshTokenRepository, never()).delete(anyString());
         verify(accessTokenRepository, never()).create(any());
     }
+
+    @Test
+    public void shouldGetAccessToken_statefulValidation() {
+        Client client = new Client();
+        client.setClientId("client-id");
+
+        JWT jwt = new JWT();
+        jwt.setJti("access-token");
+        jwt.setAud("client-id");
+        jwt.setExp((System.currentTimeMillis() + 10000) / 1000l);
+
+        when(jwtService.decodeAndVerify(any(), any())).thenReturn(Single.just(jwt));
+        when(accessTokenRepository.findByToken(any())).thenReturn(Maybe.just(new io.gravitee.am.repository.oauth2.model.AccessToken()));
+
+        TestObserver<Token> testObserver = tokenService.getAccessToken("access-token", client).test();
+        testObserver.assertComplete();
+        testObserver.assertValueCount(1);
+
+        verify(accessTokenRepository, times(1)).findByToken("access-token");
+        verify(revokedTokenRegistry, never()).isRevoked(anyString());
+        Assert.assertEquals(1, tokenValidationMetrics.getRepositoryLookups());
+    }
+
+    @Test
+    public void shouldGetAccessToken_statelessValidation() {
+        Client client = new Client();
+        client.setClientId("client-id");
+        client.setStatelessTokenValidation(true);
+
+        JWT jwt = new JWT();
+        jwt.setJti("access-token");
+        jwt.setAud("client-id");
+        jwt.setExp((System.currentTimeMillis() + 10000) / 1000l);
+
+        when(jwtService.decodeAndVerify(any(), any())).thenReturn(Single.just(jwt));
+        when(revokedTokenRegistry.isAvailable()).thenReturn(true);
+        when(revokedTokenRegistry.isRevoked("access-token")).thenReturn(false);
+
+        TestObserver<Token> testObserver = tokenService.getAccessToken("access-token", client).test();
+        testObserver.assertComplete();
+        testObserver.assertValue(token -> "access-token".equals(token.getValue()) && "client-id".equals(token.getClientId()));
+
+        verify(accessTokenRepository, never()).findByToken(anyString());
+        Assert.assertEquals(1, tokenValidationMetrics.getAvoidedRepositoryLookups());
+    }
+
+    @Test
+    public void shouldNotGetAccessToken_statelessValidation_revoked() {
+        Client client = new Client();
+        client.setClientId("client-id");
+        client.setStatelessTokenValidation(true);
+
+        JWT jwt = new JWT();
+        jwt.setJti("access-token");
+        jwt.setAud("client-id");
+        jwt.setExp((System.currentTimeMillis() + 10000) / 1000l);
+
+        when(jwtService.decodeAndVerify(any(), any())).thenReturn(Single.just(jwt));
+        when(revokedTokenRegistry.isAvailable()).thenReturn(true);
+        when(revokedTokenRegistry.isRevoked("access-token")).thenReturn(true);
+
+        TestObserver<Token> testObserver = tokenService.getAccessToken("access-token", client).test();
+        testObserver.assertComplete();
+        testObserver.assertNoValues();
+
+        verify(accessTokenRepository, never()).findByToken(anyString());
+        Assert.assertEquals(1, tokenValidationMetrics.getRevokedTokens());
+    }
+
+    @Test
+    public void shouldGetAccessToken_statelessValidation_registryNotAvailable() {
+        Client client = new Client();
+        client.setClientId("client-id");
+        client.setStatelessTokenValidation(true);
+
+        JWT jwt = new JWT();
+        jwt.setJti("access-token");
+        jwt.setAud("client-id");
+        jwt.setExp((System.currentTimeMillis() + 10000) / 1000l);
+
+        when(jwtService.decodeAndVerify(any(), any())).thenReturn(Single.just(jwt));
+        when(revokedTokenRegistry.isAvailable()).thenReturn(false);
+        when(accessTokenRepository.findByToken(any())).thenReturn(Maybe.just(new io.gravitee.am.repository.oauth2.model.AccessToken()));
+
+        TestObserver<Token> testObserver = tokenService.getAccessToken("access-token", client).test();
+        testObserver.assertComplete();
+        testObserver.assertValueCount(1);
+
+        verify(accessTokenRepository, times(1)).findByToken("access-token");
+        verify(revokedTokenRegistry, never()).isRevoked(anyString());
+    }
+
+    @Test
+    public void shouldNotGetRefreshToken_alreadyUsed() {
+        Client client = new Client();
+        client.setClientId("client-id");
+
+        JWT jwt = new JWT();
+        jwt.setJti("refresh-token");
+        jwt.setAud("client-id");
+
+        when(jwtService.decodeAndVerify(any(), any())).thenReturn(Single.just(jwt));
+        when(revokedTokenRegistry.isRevoked("refresh-token")).thenReturn(true);
+
+        TestObserver<Token> testObserver = tokenService.getRefreshToken("refresh-token", client).test();
+        testObserver.assertComplete();
+        testObserver.assertNoValues();
+
+        verify(refreshTokenRepository, never()).findByToken(anyString());
+    }
 }
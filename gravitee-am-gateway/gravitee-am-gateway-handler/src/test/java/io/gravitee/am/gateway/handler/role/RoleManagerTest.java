@@ -0,0 +1,139 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.role;
+
+import io.gravitee.am.gateway.core.event.RoleEvent;
+import io.gravitee.am.gateway.handler.role.impl.RoleManagerImpl;
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.Role;
+import io.gravitee.am.model.common.event.Action;
+import io.gravitee.am.model.common.event.Payload;
+import io.gravitee.am.repository.management.api.RoleRepository;
+import io.gravitee.common.event.impl.SimpleEvent;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RoleManagerTest {
+
+    @InjectMocks
+    private RoleManagerImpl roleManager = new RoleManagerImpl();
+
+    @Mock
+    private Domain domain;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Before
+    public void setUp() {
+        when(domain.getId()).thenReturn("domain-id");
+        when(domain.getName()).thenReturn("domain-name");
+        when(roleRepository.findByDomain("domain-id")).thenReturn(Single.just(new HashSet<>(Arrays.asList(
+                createRole("role-1", "domain-id"),
+                createRole("role-2", "domain-id")))));
+
+        roleManager.afterPropertiesSet();
+    }
+
+    @Test
+    public void shouldFindByIdIn() {
+        TestObserver<Set<Role>> testObserver = roleManager.findByIdIn(Arrays.asList("role-1", "role-2")).test();
+        testObserver.assertComplete();
+        testObserver.assertValue(roles -> roles.size() == 2);
+        verify(roleRepository, never()).findByIdIn(anyList());
+    }
+
+    @Test
+    public void shouldFindByIdIn_unknownRole() {
+        List<String> ids = Arrays.asList("role-1", "role-3");
+        when(roleRepository.findByIdIn(ids)).thenReturn(Single.just(new HashSet<>(Arrays.asList(
+                createRole("role-1", "domain-id"),
+                createRole("role-3", "domain-id")))));
+
+        TestObserver<Set<Role>> testObserver = roleManager.findByIdIn(ids).test();
+        testObserver.assertComplete();
+        testObserver.assertValue(roles -> roles.size() == 2);
+
+        // role-3 is now known
+        roleManager.findByIdIn(ids).test().assertValue(roles -> roles.size() == 2);
+        verify(roleRepository, times(1)).findByIdIn(ids);
+    }
+
+    @Test
+    public void shouldFindByIdIn_otherDomainRoleNotCached() {
+        List<String> ids = Collections.singletonList("role-3");
+        when(roleRepository.findByIdIn(ids)).thenReturn(Single.just(Collections.singleton(createRole("role-3", "other-domain-id"))));
+
+        roleManager.findByIdIn(ids).test().assertValue(roles -> roles.size() == 1);
+        roleManager.findByIdIn(ids).test().assertValue(roles -> roles.size() == 1);
+
+        verify(roleRepository, times(2)).findByIdIn(ids);
+    }
+
+    @Test
+    public void shouldUpdateRole() {
+        Role updatedRole = createRole("role-1", "domain-id");
+        updatedRole.setName("updated-role-1");
+        when(roleRepository.findById("role-1")).thenReturn(Maybe.just(updatedRole));
+
+        roleManager.onEvent(new SimpleEvent<>(RoleEvent.UPDATE, new Payload("role-1", "domain-id", Action.UPDATE)));
+
+        roleManager.findByIdIn(Collections.singletonList("role-1")).test()
+                .assertValue(roles -> "updated-role-1".equals(roles.iterator().next().getName()));
+    }
+
+    @Test
+    public void shouldRemoveRole() {
+        List<String> ids = Collections.singletonList("role-1");
+        when(roleRepository.findByIdIn(ids)).thenReturn(Single.just(Collections.emptySet()));
+
+        roleManager.onEvent(new SimpleEvent<>(RoleEvent.UNDEPLOY, new Payload("role-1", "domain-id", Action.DELETE)));
+
+        roleManager.findByIdIn(ids).test().assertValue(Set::isEmpty);
+        verify(roleRepository, times(1)).findByIdIn(ids);
+    }
+
+    private Role createRole(String id, String domain) {
+        Role role = new Role();
+        role.setId(id);
+        role.setName(id);
+        role.setDomain(domain);
+        return role;
+    }
+}
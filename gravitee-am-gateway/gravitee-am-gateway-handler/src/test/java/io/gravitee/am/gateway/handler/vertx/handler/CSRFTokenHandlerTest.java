@@ -0,0 +1,139 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.vertx.handler;
+
+import io.gravitee.am.gateway.handler.vertx.RxWebTestBase;
+import io.gravitee.am.repository.oauth2.api.SharedSecretRepository;
+import io.gravitee.am.repository.oauth2.model.SharedSecret;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.reactivex.ext.web.handler.CookieHandler;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CSRFTokenHandlerTest extends RxWebTestBase {
+
+    private static final long ROTATION_PERIOD = 60 * 60 * 1000;
+    private static final long TIMEOUT = 30 * 60 * 1000;
+
+    @Mock
+    private SharedSecretRepository sharedSecretRepository;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+
+        SharedSecret sharedSecret = new SharedSecret();
+        sharedSecret.setValue("shared-secret");
+        when(sharedSecretRepository.findOrCreate(any(SharedSecret.class))).thenReturn(Single.just(sharedSecret));
+        when(sharedSecretRepository.findById(anyString())).thenReturn(Maybe.just(sharedSecret));
+
+        // two handlers with the same repository act as two gateway nodes
+        router.route().handler(CookieHandler.create());
+        router.route("/node1").handler(new CSRFTokenHandler(sharedSecretRepository, "domain", ROTATION_PERIOD, TIMEOUT)).handler(rc -> rc.response().end());
+        router.route("/node2").handler(new CSRFTokenHandler(sharedSecretRepository, "domain", ROTATION_PERIOD, TIMEOUT)).handler(rc -> rc.response().end());
+    }
+
+    @Test
+    public void shouldAcceptToken_fromAnotherNode() throws Exception {
+        AtomicReference<String> token = new AtomicReference<>();
+        testRequest(HttpMethod.GET, "/node1", null, resp -> token.set(tokenCookie(resp.headers().get("set-cookie"))), 200, "OK", null);
+
+        assertNotNull(token.get());
+        testRequest(HttpMethod.POST, "/node2", req -> {
+            req.putHeader("cookie", "XSRF-TOKEN=" + token.get());
+            req.putHeader("X-XSRF-TOKEN", token.get());
+        }, 200, "OK", null);
+
+        // the node validating the token only reads the secret
+        verify(sharedSecretRepository, times(1)).findOrCreate(any(SharedSecret.class));
+        verify(sharedSecretRepository, times(1)).findById(anyString());
+    }
+
+    @Test
+    public void shouldRejectToken_invalidSignature() throws Exception {
+        AtomicReference<String> token = new AtomicReference<>();
+        testRequest(HttpMethod.GET, "/node1", null, resp -> token.set(tokenCookie(resp.headers().get("set-cookie"))), 200, "OK", null);
+
+        String forgedToken = token.get().substring(0, token.get().lastIndexOf('.') + 1) + "forged";
+        testRequest(HttpMethod.POST, "/node2", req -> {
+            req.putHeader("cookie", "XSRF-TOKEN=" + forgedToken);
+            req.putHeader("X-XSRF-TOKEN", forgedToken);
+        }, 403, "Forbidden", null);
+    }
+
+    @Test
+    public void shouldRejectToken_missingCookie() throws Exception {
+        AtomicReference<String> token = new AtomicReference<>();
+        testRequest(HttpMethod.GET, "/node1", null, resp -> token.set(tokenCookie(resp.headers().get("set-cookie"))), 200, "OK", null);
+
+        testRequest(HttpMethod.POST, "/node2", req -> req.putHeader("X-XSRF-TOKEN", token.get()), 403, "Forbidden", null);
+    }
+
+    @Test
+    public void shouldRejectToken_missingToken() throws Exception {
+        AtomicReference<String> token = new AtomicReference<>();
+        testRequest(HttpMethod.GET, "/node1", null, resp -> token.set(tokenCookie(resp.headers().get("set-cookie"))), 200, "OK", null);
+
+        testRequest(HttpMethod.POST, "/node2", req -> req.putHeader("cookie", "XSRF-TOKEN=" + token.get()), 403, "Forbidden", null);
+    }
+
+    @Test
+    public void shouldRejectToken_future() throws Exception {
+        String futureToken = "salt." + (System.currentTimeMillis() + 10 * ROTATION_PERIOD) + ".signature";
+        testRequest(HttpMethod.POST, "/node2", req -> {
+            req.putHeader("cookie", "XSRF-TOKEN=" + futureToken);
+            req.putHeader("X-XSRF-TOKEN", futureToken);
+        }, 403, "Forbidden", null);
+
+        verify(sharedSecretRepository, never()).findOrCreate(any(SharedSecret.class));
+        verify(sharedSecretRepository, never()).findById(anyString());
+    }
+
+    @Test
+    public void shouldRejectToken_unknownSecret() throws Exception {
+        when(sharedSecretRepository.findById(anyString())).thenReturn(Maybe.empty());
+
+        String token = "salt." + System.currentTimeMillis() + ".signature";
+        testRequest(HttpMethod.POST, "/node2", req -> {
+            req.putHeader("cookie", "XSRF-TOKEN=" + token);
+            req.putHeader("X-XSRF-TOKEN", token);
+        }, 403, "Forbidden", null);
+
+        // validating a token never creates a secret
+        verify(sharedSecretRepository, never()).findOrCreate(any(SharedSecret.class));
+    }
+
+    private static String tokenCookie(String setCookie) {
+        return setCookie.substring("XSRF-TOKEN=".length(), setCookie.indexOf(';'));
+    }
+}
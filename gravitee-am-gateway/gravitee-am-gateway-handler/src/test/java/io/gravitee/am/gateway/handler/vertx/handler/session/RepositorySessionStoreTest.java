@@ -0,0 +1,166 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.vertx.handler.session;
+
+import io.gravitee.am.repository.oauth2.api.SessionRepository;
+import io.gravitee.am.repository.oauth2.model.Session;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Vertx;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RepositorySessionStoreTest {
+
+    private static final long SESSION_TIMEOUT = 60000;
+
+    @Mock
+    private SessionRepository sessionRepository;
+
+    private Vertx vertx;
+
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+        when(sessionRepository.save(any())).thenAnswer(invocation -> Single.just(invocation.getArguments()[0]));
+    }
+
+    @After
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void shouldPutAndGet() throws Exception {
+        RepositorySessionStore sessionStore = new RepositorySessionStore(vertx, sessionRepository, "my-domain", 0);
+        io.vertx.ext.web.Session session = sessionStore.createSession(SESSION_TIMEOUT);
+        session.put("client_id", "my-client");
+
+        Assert.assertTrue(put(sessionStore, session).succeeded());
+
+        ArgumentCaptor<Session> sessionCaptor = ArgumentCaptor.forClass(Session.class);
+        verify(sessionRepository).save(sessionCaptor.capture());
+        Session storedSession = sessionCaptor.getValue();
+        Assert.assertEquals(session.id(), storedSession.getId());
+        Assert.assertEquals("my-domain", storedSession.getDomain());
+        Assert.assertEquals(session.lastAccessed() + SESSION_TIMEOUT, storedSession.getExpireAt().getTime());
+
+        when(sessionRepository.findById(session.id())).thenReturn(Maybe.just(storedSession));
+
+        AsyncResult<io.vertx.ext.web.Session> result = get(sessionStore, session.id());
+        Assert.assertTrue(result.succeeded());
+        Assert.assertEquals(session.id(), result.result().id());
+        Assert.assertEquals("my-client", result.result().get("client_id"));
+    }
+
+    @Test
+    public void shouldNotGet_unknownSession() throws Exception {
+        RepositorySessionStore sessionStore = new RepositorySessionStore(vertx, sessionRepository, "my-domain", 0);
+        when(sessionRepository.findById("unknown")).thenReturn(Maybe.empty());
+
+        AsyncResult<io.vertx.ext.web.Session> result = get(sessionStore, "unknown");
+        Assert.assertTrue(result.succeeded());
+        Assert.assertNull(result.result());
+    }
+
+    @Test
+    public void shouldGet_fromCache() throws Exception {
+        RepositorySessionStore sessionStore = new RepositorySessionStore(vertx, sessionRepository, "my-domain", 60000);
+        io.vertx.ext.web.Session session = sessionStore.createSession(SESSION_TIMEOUT);
+        session.put("client_id", "my-client");
+
+        put(sessionStore, session);
+        AsyncResult<io.vertx.ext.web.Session> result = get(sessionStore, session.id());
+
+        Assert.assertEquals("my-client", result.result().get("client_id"));
+        verify(sessionRepository, never()).findById(any());
+    }
+
+    @Test
+    public void shouldDelete() throws Exception {
+        RepositorySessionStore sessionStore = new RepositorySessionStore(vertx, sessionRepository, "my-domain", 60000);
+        io.vertx.ext.web.Session session = sessionStore.createSession(SESSION_TIMEOUT);
+        when(sessionRepository.delete(session.id())).thenReturn(io.reactivex.Completable.complete());
+        when(sessionRepository.findById(session.id())).thenReturn(Maybe.empty());
+
+        put(sessionStore, session);
+        CompletableFuture<AsyncResult<Void>> future = new CompletableFuture<>();
+        sessionStore.delete(session.id(), future::complete);
+        Assert.assertTrue(future.get(5, TimeUnit.SECONDS).succeeded());
+
+        // the session is no longer cached
+        Assert.assertNull(get(sessionStore, session.id()).result());
+    }
+
+    @Test
+    public void shouldClear() throws Exception {
+        RepositorySessionStore sessionStore = new RepositorySessionStore(vertx, sessionRepository, "my-domain", 60000);
+        io.vertx.ext.web.Session session = sessionStore.createSession(SESSION_TIMEOUT);
+        when(sessionRepository.deleteByDomain("my-domain")).thenReturn(io.reactivex.Completable.complete());
+        when(sessionRepository.findById(session.id())).thenReturn(Maybe.empty());
+
+        put(sessionStore, session);
+        CompletableFuture<AsyncResult<Void>> future = new CompletableFuture<>();
+        sessionStore.clear(future::complete);
+        Assert.assertTrue(future.get(5, TimeUnit.SECONDS).succeeded());
+
+        verify(sessionRepository).deleteByDomain("my-domain");
+        // the session is no longer cached
+        Assert.assertNull(get(sessionStore, session.id()).result());
+    }
+
+    @Test
+    public void shouldGetSize() throws Exception {
+        RepositorySessionStore sessionStore = new RepositorySessionStore(vertx, sessionRepository, "my-domain", 0);
+        when(sessionRepository.countByDomain("my-domain")).thenReturn(Single.just(3L));
+
+        CompletableFuture<AsyncResult<Integer>> future = new CompletableFuture<>();
+        sessionStore.size(future::complete);
+        AsyncResult<Integer> result = future.get(5, TimeUnit.SECONDS);
+
+        Assert.assertTrue(result.succeeded());
+        Assert.assertEquals(Integer.valueOf(3), result.result());
+    }
+
+    private static AsyncResult<Void> put(RepositorySessionStore sessionStore, io.vertx.ext.web.Session session) throws Exception {
+        CompletableFuture<AsyncResult<Void>> future = new CompletableFuture<>();
+        sessionStore.put(session, future::complete);
+        return future.get(5, TimeUnit.SECONDS);
+    }
+
+    private static AsyncResult<io.vertx.ext.web.Session> get(RepositorySessionStore sessionStore, String id) throws Exception {
+        CompletableFuture<AsyncResult<io.vertx.ext.web.Session>> future = new CompletableFuture<>();
+        sessionStore.get(id, future::complete);
+        return future.get(5, TimeUnit.SECONDS);
+    }
+}
@@ -16,6 +16,7 @@
 package io.gravitee.am.gateway.reactor;
 
 import io.gravitee.common.service.Service;
+import io.vertx.reactivex.core.http.HttpServerRequest;
 import io.vertx.reactivex.ext.web.Router;
 
 /**
@@ -26,7 +27,19 @@ public interface Reactor extends Service {
 
     Router route();
 
+    /**
+     * Dispatch a request to the router of the security domain matching the first segment of its path.
+     */
+    void accept(HttpServerRequest request);
+
     Router mountSubRouter(String contextPath, Router child);
 
     Router unMountSubRouter(String contextPath);
+
+    /**
+     * Replace the router mounted on the given context path.
+     * The new router is mounted before the previous one is removed so that requests are always served, and requests
+     * already dispatched to the previous router complete on it.
+     */
+    Router remountSubRouter(String contextPath, Router child);
 }
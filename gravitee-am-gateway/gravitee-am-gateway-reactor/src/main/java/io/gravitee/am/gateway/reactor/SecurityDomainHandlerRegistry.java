@@ -32,6 +32,8 @@ public interface SecurityDomainHandlerRegistry {
 
     void remove(Domain domain);
 
+    void reload(Domain domain);
+
     void clear();
 
     Collection<VertxSecurityDomainHandler> getSecurityDomainHandlers();
@@ -28,12 +28,24 @@ import io.gravitee.common.http.HttpStatusCode;
 import io.gravitee.common.service.AbstractService;
 import io.vertx.reactivex.core.Vertx;
 import io.vertx.reactivex.core.buffer.Buffer;
+import io.vertx.reactivex.core.http.HttpServerRequest;
 import io.vertx.reactivex.core.http.HttpServerResponse;
+import io.vertx.reactivex.ext.web.Route;
 import io.vertx.reactivex.ext.web.Router;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
 
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
@@ -55,6 +67,17 @@ public class DefaultReactor extends AbstractService implements Reactor, EventLis
 
     private Router router;
 
+    /**
+     * Router of each security domain mounted on a single segment context path, looked up with the first segment of the
+     * request path.
+     */
+    private final Map<String, Router> domainRouters = new ConcurrentHashMap<>();
+
+    /**
+     * Routes added to the main router for each context path made of several segments
+     */
+    private final Map<String, List<Route>> mountedRoutes = new ConcurrentHashMap<>();
+
     @Override
     public void doStart() throws Exception {
         super.doStart();
@@ -81,6 +104,9 @@ public class DefaultReactor extends AbstractService implements Reactor, EventLis
             case UNDEPLOY:
                 securityDomainHandlerRegistry.remove(event.content());
                 break;
+            case RELOAD:
+                securityDomainHandlerRegistry.reload(event.content());
+                break;
         }
     }
 
@@ -90,27 +116,158 @@ public class DefaultReactor extends AbstractService implements Reactor, EventLis
     }
 
     @Override
-    public Router mountSubRouter(String contextPath, Router child) {
-        router.mountSubRouter(contextPath, child);
+    public void accept(HttpServerRequest request) {
+        resolve(request.path()).accept(request);
+    }
+
+    /**
+     * @return the router of the security domain mounted on the first segment of the path, the main router otherwise
+     */
+    Router resolve(String path) {
+        // routes are matched against the normalized path, the domain must be looked up the same way
+        final String contextPath = contextPath(normalizePath(path));
+        final Router domainRouter = contextPath == null ? null : domainRouters.get(contextPath);
+        return domainRouter != null ? domainRouter : router;
+    }
+
+    @Override
+    public synchronized Router mountSubRouter(String contextPath, Router child) {
+        if (isSingleSegment(contextPath)) {
+            domainRouters.put(contextPath, domainRouter(contextPath, child));
+        } else {
+            mountedRoutes.put(contextPath, mount(contextPath, child));
+        }
 
         return router;
     }
 
     @Override
-    public Router unMountSubRouter(String contextPath) {
-        router.getRoutes().stream()
-                .filter(route -> route.getPath() != null && route.getPath().startsWith(contextPath))
-                .forEach(route -> route.remove());
+    public synchronized Router unMountSubRouter(String contextPath) {
+        if (domainRouters.remove(contextPath) != null) {
+            return router;
+        }
+
+        List<Route> routes = mountedRoutes.remove(contextPath);
+        if (routes != null) {
+            routes.forEach(Route::remove);
+        } else {
+            router.getRoutes().stream()
+                    .filter(route -> route.getPath() != null && route.getPath().startsWith(contextPath))
+                    .forEach(route -> route.remove());
+        }
 
         return router;
     }
 
+    @Override
+    public synchronized Router remountSubRouter(String contextPath, Router child) {
+        if (isSingleSegment(contextPath)) {
+            // requests already dispatched to the previous router complete on it
+            domainRouters.put(contextPath, domainRouter(contextPath, child));
+            return router;
+        }
+
+        // new routes are added after the previous ones, which keep serving requests until they are removed
+        List<Route> previousRoutes = mountedRoutes.put(contextPath, mount(contextPath, child));
+        if (previousRoutes != null) {
+            previousRoutes.forEach(Route::remove);
+        }
+
+        return router;
+    }
+
+    private Router domainRouter(String contextPath, Router child) {
+        Router domainRouter = Router.router(vertx);
+        domainRouter.mountSubRouter(contextPath, child);
+        domainRouter.route().last().handler(context -> sendNotFound(context.response()));
+
+        return domainRouter;
+    }
+
+    private List<Route> mount(String contextPath, Router child) {
+        Set<Object> existingRoutes = Collections.newSetFromMap(new IdentityHashMap<>());
+        router.getRoutes().forEach(route -> existingRoutes.add(route.getDelegate()));
+
+        router.mountSubRouter(contextPath, child);
+
+        return router.getRoutes().stream()
+                .filter(route -> !existingRoutes.contains(route.getDelegate()))
+                .collect(Collectors.toList());
+    }
+
     @Override
     public void afterPropertiesSet() {
         router = Router.router(vertx);
         router.route().last().handler(context -> sendNotFound(context.response()));
     }
 
+    /**
+     * @return the first segment of the request path, including its leading slash
+     */
+    private static String contextPath(String path) {
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+
+        int end = path.indexOf('/', 1);
+        return end == -1 ? path : path.substring(0, end);
+    }
+
+    /**
+     * Normalize the path as the routers do: percent-encoded unreserved characters are decoded and dot segments are
+     * removed (RFC 3986 section 6.2.2).
+     *
+     * @return the normalized path or null if the path is not absolute
+     */
+    static String normalizePath(String path) {
+        if (path == null || path.isEmpty() || path.charAt(0) != '/') {
+            return null;
+        }
+
+        StringBuilder decoded = new StringBuilder(path.length());
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '%' && i + 2 < path.length()) {
+                int high = Character.digit(path.charAt(i + 1), 16);
+                int low = Character.digit(path.charAt(i + 2), 16);
+                if (high != -1 && low != -1 && isUnreserved((char) (high << 4 | low))) {
+                    decoded.append((char) (high << 4 | low));
+                    i += 2;
+                    continue;
+                }
+            }
+            decoded.append(c);
+        }
+
+        Deque<String> segments = new ArrayDeque<>();
+        String[] parts = decoded.toString().split("/", -1);
+        for (int i = 1; i < parts.length; i++) {
+            String segment = parts[i];
+            boolean last = i == parts.length - 1;
+            if (".".equals(segment) || "..".equals(segment)) {
+                if ("..".equals(segment)) {
+                    segments.pollLast();
+                }
+                // a trailing dot segment denotes a directory
+                if (last) {
+                    segments.addLast("");
+                }
+            } else {
+                segments.addLast(segment);
+            }
+        }
+        return "/" + String.join("/", segments);
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+
+    private static boolean isSingleSegment(String contextPath) {
+        return contextPath.startsWith("/") && contextPath.length() > 1 && contextPath.indexOf('/', 1) == -1;
+    }
+
     private void sendNotFound(HttpServerResponse serverResponse) {
         // Send a NOT_FOUND HTTP status code (404)
         serverResponse.setStatusCode(HttpStatusCode.NOT_FOUND_404);
@@ -15,6 +15,7 @@
  */
 package io.gravitee.am.gateway.reactor.impl;
 
+import io.gravitee.am.gateway.core.deployment.DomainDeploymentTracker;
 import io.gravitee.am.gateway.handler.SecurityDomainRouterFactory;
 import io.gravitee.am.gateway.handler.vertx.VertxSecurityDomainHandler;
 import io.gravitee.am.gateway.reactor.Reactor;
@@ -44,20 +45,31 @@ public class DefaultSecurityDomainHandlerRegistry implements SecurityDomainHandl
     @Autowired
     private Reactor reactor;
 
+    @Autowired
+    private DomainDeploymentTracker domainDeploymentTracker;
+
     @Override
     public void create(Domain domain) {
         logger.info("Register a new domain for {} on path {}", domain.getId(), domain.getPath());
 
-        VertxSecurityDomainHandler handler = create0(domain);
-        if (handler != null) {
-            try {
-                //handler.start();
-                handlers.putIfAbsent(handler.contextPath(), handler);
-                contextPaths.putIfAbsent(domain, handler.contextPath());
-                reactor.mountSubRouter(handler.contextPath(), handler.create());
-            } catch (Exception ex) {
-                logger.error("Unable to register handler", ex);
+        long startTime = System.currentTimeMillis();
+        try {
+            VertxSecurityDomainHandler handler = create0(domain);
+            if (handler != null) {
+                try {
+                    //handler.start();
+                    handlers.putIfAbsent(handler.contextPath(), handler);
+                    contextPaths.putIfAbsent(domain, handler.contextPath());
+                    long routerStartTime = System.currentTimeMillis();
+                    reactor.mountSubRouter(handler.contextPath(), handler.create());
+                    logger.debug("Router of domain {} mounted in {} ms", domain.getId(), System.currentTimeMillis() - routerStartTime);
+                    logger.info("Domain {} deployed on path {} in {} ms", domain.getId(), domain.getPath(), System.currentTimeMillis() - startTime);
+                } catch (Exception ex) {
+                    logger.error("Unable to register handler", ex);
+                }
             }
+        } finally {
+            domainDeploymentTracker.deployed(domain.getId());
         }
     }
 
@@ -67,8 +79,12 @@ public class DefaultSecurityDomainHandlerRegistry implements SecurityDomainHandl
         if (contextPath != null) {
             VertxSecurityDomainHandler handler = handlers.get(contextPath);
             if (handler != null) {
-                remove(domain);
-                create(domain);
+                if (domain.isEnabled() && contextPath.equals('/' + domain.getPath())) {
+                    reconfigure(domain);
+                } else {
+                    remove(domain);
+                    create(domain);
+                }
             }
         } else {
             create(domain);
@@ -86,6 +102,7 @@ public class DefaultSecurityDomainHandlerRegistry implements SecurityDomainHandl
                     //handler.stop();
                     handlers.remove(handler.contextPath());
                     reactor.unMountSubRouter(handler.contextPath());
+                    securityDomainRouterFactory.destroy(domain);
                     logger.info("Security Domain has been unregistered");
                 } catch (Exception e) {
                     logger.error("Unable to un-register handler", e);
@@ -94,6 +111,13 @@ public class DefaultSecurityDomainHandlerRegistry implements SecurityDomainHandl
         }
     }
 
+    @Override
+    public void reload(Domain domain) {
+        logger.info("Reload domain {} on path {}", domain.getId(), domain.getPath());
+        remove(domain);
+        create(domain);
+    }
+
     @Override
     public void clear() {
         handlers.forEach((s, handler) -> {
@@ -116,4 +140,21 @@ public class DefaultSecurityDomainHandlerRegistry implements SecurityDomainHandl
         return securityDomainRouterFactory.create(domain);
     }
 
+    private void reconfigure(Domain domain) {
+        logger.info("Reconfigure domain {} on path {}", domain.getId(), domain.getPath());
+
+        try {
+            VertxSecurityDomainHandler handler = securityDomainRouterFactory.update(domain);
+            if (handler != null) {
+                // routes depend on the domain settings, swap the router of the domain for a new one
+                reactor.remountSubRouter(handler.contextPath(), handler.create());
+                logger.info("Security Domain has been reconfigured");
+            }
+        } catch (Exception ex) {
+            logger.error("Unable to reconfigure domain {}, redeploy it", domain.getId(), ex);
+            remove(domain);
+            create(domain);
+        }
+    }
+
 }
@@ -15,7 +15,17 @@
  */
 package io.gravitee.am.gateway.reactor.spring;
 
+import io.gravitee.am.gateway.core.deployment.DomainDeploymentTracker;
 import io.gravitee.am.gateway.handler.SecurityDomainRouterFactory;
+import io.gravitee.am.gateway.handler.auth.PasswordHashingService;
+import io.gravitee.am.gateway.handler.auth.impl.DefaultPasswordHashingService;
+import io.gravitee.am.gateway.handler.jwt.CryptoExecutor;
+import io.gravitee.am.gateway.handler.jwt.impl.DefaultCryptoExecutor;
+import io.gravitee.am.gateway.handler.oauth2.client.ClientLookupService;
+import io.gravitee.am.gateway.handler.oauth2.client.impl.DefaultClientLookupService;
+import io.gravitee.am.gateway.handler.oauth2.revocation.RevokedTokenRegistry;
+import io.gravitee.am.gateway.handler.oauth2.revocation.impl.DefaultRevokedTokenRegistry;
+import io.gravitee.am.gateway.handler.oauth2.token.TokenValidationMetrics;
 import io.gravitee.am.gateway.reactor.Reactor;
 import io.gravitee.am.gateway.reactor.SecurityDomainHandlerRegistry;
 import io.gravitee.am.gateway.reactor.impl.DefaultReactor;
@@ -44,4 +54,34 @@ public class ReactorConfiguration {
     public SecurityDomainRouterFactory securityDomainRouterFactory() {
         return new SecurityDomainRouterFactory();
     }
+
+    @Bean
+    public DomainDeploymentTracker domainDeploymentTracker() {
+        return new DomainDeploymentTracker();
+    }
+
+    @Bean
+    public RevokedTokenRegistry revokedTokenRegistry() {
+        return new DefaultRevokedTokenRegistry();
+    }
+
+    @Bean
+    public ClientLookupService clientLookupService() {
+        return new DefaultClientLookupService();
+    }
+
+    @Bean
+    public CryptoExecutor cryptoExecutor() {
+        return new DefaultCryptoExecutor();
+    }
+
+    @Bean
+    public PasswordHashingService passwordHashingService() {
+        return new DefaultPasswordHashingService();
+    }
+
+    @Bean
+    public TokenValidationMetrics tokenValidationMetrics() {
+        return new TokenValidationMetrics();
+    }
 }
@@ -0,0 +1,103 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.reactor.impl;
+
+import io.vertx.reactivex.core.Vertx;
+import io.vertx.reactivex.ext.web.Router;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.internal.util.reflection.Whitebox;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class DefaultReactorTest {
+
+    private Vertx vertx;
+
+    private DefaultReactor reactor;
+
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+        reactor = new DefaultReactor();
+        Whitebox.setInternalState(reactor, "vertx", vertx);
+        reactor.afterPropertiesSet();
+    }
+
+    @After
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void shouldResolve_singleSegment() {
+        reactor.mountSubRouter("/test", Router.router(vertx));
+        Router domainRouter = reactor.resolve("/test/oauth/authorize");
+
+        Assert.assertNotSame(reactor.route(), domainRouter);
+        Assert.assertSame(domainRouter, reactor.resolve("/test"));
+        Assert.assertSame(domainRouter, reactor.resolve("/test/"));
+    }
+
+    @Test
+    public void shouldResolve_normalizedPath() {
+        reactor.mountSubRouter("/test", Router.router(vertx));
+        Router domainRouter = reactor.resolve("/test/login");
+
+        Assert.assertSame(domainRouter, reactor.resolve("/./test/login"));
+        Assert.assertSame(domainRouter, reactor.resolve("/other/../test/login"));
+        Assert.assertSame(domainRouter, reactor.resolve("/%74est/login"));
+    }
+
+    @Test
+    public void shouldResolve_multiSegment() {
+        reactor.mountSubRouter("/my/domain", Router.router(vertx));
+
+        // context paths made of several segments are served by the main router
+        Assert.assertSame(reactor.route(), reactor.resolve("/my/domain/oauth/authorize"));
+        Assert.assertSame(reactor.route(), reactor.resolve("/my/./domain/oauth/authorize"));
+        Assert.assertSame(reactor.route(), reactor.resolve("/my"));
+    }
+
+    @Test
+    public void shouldResolve_root() {
+        reactor.mountSubRouter("/test", Router.router(vertx));
+
+        Assert.assertSame(reactor.route(), reactor.resolve("/"));
+        Assert.assertSame(reactor.route(), reactor.resolve(""));
+        Assert.assertSame(reactor.route(), reactor.resolve(null));
+    }
+
+    @Test
+    public void shouldResolve_unknownPath() {
+        reactor.mountSubRouter("/test", Router.router(vertx));
+
+        Assert.assertSame(reactor.route(), reactor.resolve("/unknown/login"));
+        Assert.assertSame(reactor.route(), reactor.resolve("/testing/login"));
+        Assert.assertSame(reactor.route(), reactor.resolve("/test/../unknown"));
+    }
+
+    @Test
+    public void shouldNotResolve_unmountedDomain() {
+        reactor.mountSubRouter("/test", Router.router(vertx));
+        reactor.unMountSubRouter("/test");
+
+        Assert.assertSame(reactor.route(), reactor.resolve("/test/login"));
+    }
+}
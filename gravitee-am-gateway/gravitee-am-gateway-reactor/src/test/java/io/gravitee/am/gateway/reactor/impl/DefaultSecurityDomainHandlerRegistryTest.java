@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.reactor.impl;
+
+import io.gravitee.am.gateway.core.deployment.DomainDeploymentTracker;
+import io.gravitee.am.gateway.handler.SecurityDomainRouterFactory;
+import io.gravitee.am.gateway.handler.vertx.VertxSecurityDomainHandler;
+import io.gravitee.am.gateway.reactor.Reactor;
+import io.gravitee.am.model.Domain;
+import io.vertx.reactivex.ext.web.Router;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DefaultSecurityDomainHandlerRegistryTest {
+
+    @InjectMocks
+    private DefaultSecurityDomainHandlerRegistry registry = new DefaultSecurityDomainHandlerRegistry();
+
+    @Mock
+    private SecurityDomainRouterFactory securityDomainRouterFactory;
+
+    @Mock
+    private Reactor reactor;
+
+    @Mock
+    private DomainDeploymentTracker domainDeploymentTracker;
+
+    @Mock
+    private VertxSecurityDomainHandler handler;
+
+    @Mock
+    private Router router;
+
+    @Before
+    public void setUp() {
+        when(handler.contextPath()).thenReturn("/test");
+        when(handler.create()).thenReturn(router);
+        when(securityDomainRouterFactory.create(any(Domain.class))).thenReturn(handler);
+        when(securityDomainRouterFactory.update(any(Domain.class))).thenReturn(handler);
+
+        registry.create(domain("test"));
+    }
+
+    @Test
+    public void shouldUpdate_inPlace() {
+        Domain domain = domain("test");
+        registry.update(domain);
+
+        verify(securityDomainRouterFactory, times(1)).update(domain);
+        verify(reactor, times(1)).remountSubRouter("/test", router);
+        verify(securityDomainRouterFactory, never()).destroy(any(Domain.class));
+        verify(securityDomainRouterFactory, times(1)).create(any(Domain.class));
+    }
+
+    @Test
+    public void shouldUpdate_redeployOnPathChange() {
+        registry.update(domain("other"));
+
+        verify(securityDomainRouterFactory, never()).update(any(Domain.class));
+        verify(reactor, times(1)).unMountSubRouter("/test");
+        verify(securityDomainRouterFactory, times(1)).destroy(any(Domain.class));
+        verify(securityDomainRouterFactory, times(2)).create(any(Domain.class));
+    }
+
+    @Test
+    public void shouldReload_redeploy() {
+        Domain domain = domain("test");
+        registry.reload(domain);
+
+        verify(securityDomainRouterFactory, never()).update(any(Domain.class));
+        verify(reactor, times(1)).unMountSubRouter("/test");
+        verify(securityDomainRouterFactory, times(1)).destroy(domain);
+        verify(securityDomainRouterFactory, times(2)).create(any(Domain.class));
+        verify(reactor, times(2)).mountSubRouter("/test", router);
+    }
+
+    private Domain domain(String path) {
+        Domain domain = new Domain();
+        domain.setId("domain-id");
+        domain.setPath(path);
+        domain.setEnabled(true);
+        return domain;
+    }
+}
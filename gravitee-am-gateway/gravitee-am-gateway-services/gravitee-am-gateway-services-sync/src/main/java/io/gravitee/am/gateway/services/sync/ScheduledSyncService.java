@@ -15,7 +15,11 @@
  */
 package io.gravitee.am.gateway.services.sync;
 
+import io.gravitee.am.model.common.event.Event;
+import io.gravitee.am.repository.management.api.EventRepository;
 import io.gravitee.common.service.AbstractService;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +28,8 @@ import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.support.CronTrigger;
 
 import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -37,6 +43,8 @@ public class ScheduledSyncService extends AbstractService implements Runnable {
      */
     private final Logger logger = LoggerFactory.getLogger(ScheduledSyncService.class);
 
+    private static final String PUSH_MODE = "push";
+
     @Autowired
     private TaskScheduler scheduler;
 
@@ -46,14 +54,38 @@ public class ScheduledSyncService extends AbstractService implements Runnable {
     @Value("${services.sync.enabled:true}")
     private boolean enabled;
 
+    @Value("${services.sync.mode:push}")
+    private String mode;
+
     @Autowired
     private SyncManager syncStateManager;
 
+    @Autowired
+    private EventRepository eventRepository;
+
+    private Disposable eventsSubscription;
+
+    private ExecutorService syncExecutor;
+
     private final AtomicLong counter = new AtomicLong(0);
 
     @Override
     protected void doStart() throws Exception {
-        if (enabled) {
+        if (enabled && PUSH_MODE.equalsIgnoreCase(mode)) {
+            super.doStart();
+            logger.info("Sync service has been initialized in push mode");
+            // the pushed events and the synchronization update the same state, they are all handled by the sync thread
+            syncExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "gio-am-sync"));
+            // watch the events before the initial synchronization so that no change made in between is lost
+            eventsSubscription = eventRepository.watch(null)
+                    .observeOn(Schedulers.from(syncExecutor))
+                    .subscribe(
+                            this::handle,
+                            error -> logger.error("Events synchronization has been interrupted", error),
+                            () -> logger.debug("Events synchronization ended"));
+            // the node starts once the initial synchronization is done
+            syncExecutor.submit(this::doSync).get();
+        } else if (enabled) {
             super.doStart();
             logger.info("Sync service has been initialized with cron [{}]", cronTrigger);
             // Sync must start only when doStart() is invoked, that's the reason why we are not
@@ -64,11 +96,32 @@ public class ScheduledSyncService extends AbstractService implements Runnable {
         }
     }
 
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        if (eventsSubscription != null) {
+            eventsSubscription.dispose();
+        }
+        if (syncExecutor != null) {
+            syncExecutor.shutdown();
+        }
+    }
+
     @Override
     public void run() {
         doSync();
     }
 
+    private void handle(Event event) {
+        try {
+            // wait for the event to be applied before handling the next one or a synchronization
+            syncStateManager.handle(event).blockingAwait();
+        } catch (Exception ex) {
+            logger.error("Unable to synchronize event {} for {}", event.getType(), event.getPayload(), ex);
+        }
+    }
+
     /**
      * Synchronization done when Gravitee node is starting.
      * This sync phase must be done by all node before starting.
@@ -15,17 +15,23 @@
  */
 package io.gravitee.am.gateway.services.sync;
 
+import io.gravitee.am.gateway.core.deployment.DomainDeploymentTracker;
 import io.gravitee.am.gateway.core.event.DomainEvent;
 import io.gravitee.am.model.Domain;
 import io.gravitee.am.model.common.event.Event;
 import io.gravitee.am.model.common.event.Type;
 import io.gravitee.am.repository.management.api.DomainRepository;
+import io.gravitee.am.repository.management.api.EventRepository;
 import io.gravitee.common.event.EventManager;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -39,15 +45,32 @@ public class SyncManager {
     @Autowired
     private DomainRepository domainRepository;
 
+    @Autowired
+    private EventRepository eventRepository;
+
     @Autowired
     private EventManager eventManager;
 
-    private Map<String, Domain> deployedDomains = new HashMap<>();
+    @Autowired
+    private DomainDeploymentTracker domainDeploymentTracker;
+
+    @Value("${services.sync.replay.batchSize:100}")
+    private int replayBatchSize;
+
+    @Value("${services.sync.concurrency:16}")
+    private int concurrency;
+
+    private Map<String, Domain> deployedDomains = new ConcurrentHashMap<>();
+
+    // sequence of the last event applied for each deployed domain
+    private Map<String, Long> lastSequences = new ConcurrentHashMap<>();
 
     public void refresh() {
         logger.debug("Refreshing sync state...");
+        final boolean initialSync = !domainDeploymentTracker.isInitialized();
 
         // Registered domains
+        long startTime = System.currentTimeMillis();
         Set<Domain> domains = domainRepository.findAll()
                 // remove master domains
                 .map(registeredDomains -> {
@@ -60,6 +83,7 @@ public class SyncManager {
                     return Collections.<Domain>emptySet();
                 })
                 .blockingGet();
+        logSyncPhase(initialSync, "Read {} domain(s) in {} ms", domains.size(), startTime);
 
         // Look for deleted domains
         if (deployedDomains.size() > domains.size()) {
@@ -67,11 +91,7 @@ public class SyncManager {
             Set<String> deployedDomainIds = new HashSet<>(deployedDomains.keySet());
             deployedDomainIds.forEach(domainId -> {
                 if (!domainIds.contains(domainId)) {
-                    Domain deployedDomain = deployedDomains.get(domainId);
-                    if (deployedDomain != null) {
-                        deployedDomains.remove(domainId);
-                        eventManager.publishEvent(DomainEvent.UNDEPLOY, deployedDomain);
-                    }
+                    undeploy(domainId);
                 }
             });
         }
@@ -79,28 +99,46 @@ public class SyncManager {
         // Look for disabled domains
         domains.stream()
                 .filter(domain -> !domain.isEnabled())
-                .forEach(domain -> {
-                    Domain deployedDomain = deployedDomains.get(domain.getId());
-                    if (deployedDomain != null) {
-                        deployedDomains.remove(domain.getId());
-                        eventManager.publishEvent(DomainEvent.UNDEPLOY, deployedDomain);
-                    }
-                });
+                .forEach(domain -> undeploy(domain.getId()));
 
-        // Deploy domains
+        // Start tracking the event log of the new domains before they are loaded
+        startTime = System.currentTimeMillis();
+        List<Domain> newDomains = domains.stream()
+                .filter(domain -> domain.isEnabled() && !deployedDomains.containsKey(domain.getId()))
+                .collect(Collectors.toList());
+        Flowable.fromIterable(newDomains)
+                .flatMapMaybe(domain -> eventRepository.findLastByDomain(domain.getId())
+                        .map(lastEvent -> new AbstractMap.SimpleEntry<>(domain.getId(), lastEvent.getSequence())), false, concurrency)
+                .blockingForEach(lastSequence -> lastSequences.put(lastSequence.getKey(), lastSequence.getValue()));
+        logSyncPhase(initialSync, "Read event log position of {} new domain(s) in {} ms", newDomains.size(), startTime);
+
+        // Deploy domains, each domain is deployed asynchronously by the reactor
         domains.stream()
                 .filter(domain -> domain.isEnabled())
                 .forEach(domain -> {
                     Domain deployedDomain = deployedDomains.get(domain.getId());
                     if (deployedDomain == null) {
+                        if (initialSync) {
+                            domainDeploymentTracker.deploying(domain.getId());
+                        }
                         eventManager.publishEvent(DomainEvent.DEPLOY, domain);
                         deployedDomains.put(domain.getId(), domain);
                     } else {
                         // Check last update date
-                        if (domain.getUpdatedAt().after(deployedDomain.getUpdatedAt())) {
+                        if (domain.getUpdatedAt().after(deployedDomain.getUpdatedAt()) && lastSequences.containsKey(domain.getId())) {
+                            // apply every event since the last synchronization
+                            replay(domain.getId()).blockingAwait();
+
+                            // update local domains map
+                            deployedDomains.computeIfPresent(domain.getId(), (id, domain1) -> domain);
+                        } else if (domain.getUpdatedAt().after(deployedDomain.getUpdatedAt())) {
                             // get event type and publish corresponding event
                             Event lastEvent = domain.getLastEvent();
                             Enum eventType = io.gravitee.am.gateway.core.event.Event.valueOf(lastEvent);
+                            if (eventType == DomainEvent.UPDATE) {
+                                // the previous events of the domain are unknown, redeploy the whole domain
+                                eventType = DomainEvent.RELOAD;
+                            }
                             Object content = Type.DOMAIN.equals(lastEvent.getType()) ? domain : lastEvent.getPayload();
                             eventManager.publishEvent(eventType, content);
 
@@ -109,5 +147,147 @@ public class SyncManager {
                         }
                     }
                 });
+
+        if (initialSync) {
+            logger.info("{} domain(s) submitted for deployment", newDomains.size());
+            domainDeploymentTracker.initialized();
+        }
+    }
+
+    /**
+     * Apply a single configuration change pushed by the management repository.
+     * Events are applied in sequence order for each domain: if some events have been missed, they are replayed first.
+     * The returned completable must complete before the next event is handled or the next {@link #refresh()} runs.
+     */
+    public Completable handle(Event event) {
+        final String domainId = event.getPayload().getDomain();
+        final Long lastSequence = domainId == null ? null : lastSequences.get(domainId);
+
+        if (lastSequence == null || event.getSequence() <= 0 || event.getSequence() == lastSequence + 1) {
+            return apply(event);
+        }
+
+        if (event.getSequence() <= lastSequence) {
+            logger.debug("Event #{} of domain {} has already been applied", event.getSequence(), domainId);
+            return Completable.complete();
+        }
+
+        logger.info("Events #{} to #{} of domain {} have been missed, replaying them", lastSequence + 1, event.getSequence() - 1, domainId);
+        return replay(domainId);
+    }
+
+    /**
+     * Replay, one batch at a time, the events of a domain appended after the last applied one.
+     * When some events are no longer available in the event log, the whole domain is reloaded.
+     */
+    private Completable replay(String domainId) {
+        return Completable.defer(() -> {
+            final Long lastSequence = lastSequences.get(domainId);
+            if (lastSequence == null) {
+                return Completable.complete();
+            }
+
+            return eventRepository.findByDomainAndSequenceAfter(domainId, lastSequence, replayBatchSize)
+                    .flatMapCompletable(events -> {
+                        if (events.isEmpty()) {
+                            return Completable.complete();
+                        }
+
+                        final long firstSequence = events.get(0).getSequence();
+                        if (firstSequence != lastSequence + 1) {
+                            logger.warn("Events #{} to #{} of domain {} are no longer available, reloading the domain", lastSequence + 1, firstSequence - 1, domainId);
+                            return redeploy(domainId)
+                                    .doOnComplete(() -> track(domainId, firstSequence - 1))
+                                    .andThen(replay(domainId));
+                        }
+
+                        List<Completable> applies = new ArrayList<>();
+                        long expectedSequence = firstSequence;
+                        for (Event event : events) {
+                            if (event.getSequence() != expectedSequence++) {
+                                break;
+                            }
+                            applies.add(apply(event));
+                        }
+
+                        // continue with the next batch or with the missing events
+                        boolean remaining = applies.size() < events.size() || events.size() == replayBatchSize;
+                        return remaining ? Completable.concat(applies).andThen(replay(domainId)) : Completable.concat(applies);
+                    });
+        });
+    }
+
+    /**
+     * Only the domain targeted by a domain event is read, other events are published as is to the deployed domains.
+     */
+    private Completable apply(Event event) {
+        logger.debug("Handling {} event #{} for {}", event.getType(), event.getSequence(), event.getPayload());
+
+        final Completable completable;
+        if (Type.DOMAIN.equals(event.getType())) {
+            completable = reload(event.getPayload().getId());
+        } else {
+            if (deployedDomains.containsKey(event.getPayload().getDomain())) {
+                eventManager.publishEvent(io.gravitee.am.gateway.core.event.Event.valueOf(event), event.getPayload());
+            }
+            completable = Completable.complete();
+        }
+
+        return completable.doOnComplete(() -> track(event.getPayload().getDomain(), event.getSequence()));
+    }
+
+    private Completable reload(String domainId) {
+        return domainRepository.findById(domainId)
+                .doOnSuccess(domain -> deploy(domain, false))
+                .doOnComplete(() -> undeploy(domainId))
+                .ignoreElement();
+    }
+
+    /**
+     * Unlike {@link #reload(String)}, a deployed domain is entirely redeployed so that the changes of the missed events
+     * are taken into account.
+     */
+    private Completable redeploy(String domainId) {
+        return domainRepository.findById(domainId)
+                .doOnSuccess(domain -> deploy(domain, true))
+                .doOnComplete(() -> undeploy(domainId))
+                .ignoreElement();
+    }
+
+    private void logSyncPhase(boolean initialSync, String message, int count, long startTime) {
+        if (initialSync) {
+            logger.info(message, count, System.currentTimeMillis() - startTime);
+        } else {
+            logger.debug(message, count, System.currentTimeMillis() - startTime);
+        }
+    }
+
+    private void track(String domainId, long sequence) {
+        // sequences are only tracked for the deployed domains
+        if (domainId != null && sequence > 0 && deployedDomains.containsKey(domainId)) {
+            lastSequences.merge(domainId, sequence, Math::max);
+        }
+    }
+
+    private void deploy(Domain domain, boolean redeploy) {
+        if (domain.isMaster() || !domain.isEnabled()) {
+            undeploy(domain.getId());
+            return;
+        }
+
+        Domain deployedDomain = deployedDomains.put(domain.getId(), domain);
+        if (deployedDomain == null) {
+            eventManager.publishEvent(DomainEvent.DEPLOY, domain);
+        } else {
+            eventManager.publishEvent(redeploy ? DomainEvent.RELOAD : DomainEvent.UPDATE, domain);
+        }
+    }
+
+    private void undeploy(String domainId) {
+        lastSequences.remove(domainId);
+        Domain deployedDomain = deployedDomains.remove(domainId);
+        if (deployedDomain != null) {
+            eventManager.publishEvent(DomainEvent.UNDEPLOY, deployedDomain);
+        }
     }
 }
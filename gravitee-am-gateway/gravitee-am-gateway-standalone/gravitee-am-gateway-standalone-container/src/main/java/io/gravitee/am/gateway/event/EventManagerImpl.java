@@ -15,27 +15,70 @@
  */
 package io.gravitee.am.gateway.event;
 
-import com.google.common.collect.Lists;
+import io.gravitee.am.gateway.core.event.DomainEvent;
+import io.gravitee.am.gateway.core.event.DomainEventManager;
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.common.event.Payload;
 import io.gravitee.common.event.Event;
 import io.gravitee.common.event.EventListener;
-import io.gravitee.common.event.EventManager;
 import io.gravitee.common.event.impl.SimpleEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Override default event manager to enable concurrent access
+ * Domain partitioned event manager.
+ *
+ * Listeners are registered either for a security domain or globally (for every domain). An event is routed using the
+ * domain it belongs to, so a domain related event is only delivered to the listeners of this domain and to the global
+ * listeners, instead of being broadcast to every deployed domain.
+ *
+ * Events are dispatched asynchronously : each domain owns a serial executor backed by a shared worker pool, so the
+ * events of a domain are processed in order while different domains are processed concurrently. The executor of a
+ * domain is released once its undeployment event has been dispatched.
  *
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class EventManagerImpl implements EventManager {
+public class EventManagerImpl implements DomainEventManager, InitializingBean, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventManagerImpl.class);
+    // routing key of the events which do not belong to a security domain
+    private static final String NO_DOMAIN = "";
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(io.gravitee.common.event.impl.EventManagerImpl.class);
+    private final ConcurrentMap<Class<? extends Enum>, List<EventListenerWrapper>> globalListeners = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<Class<? extends Enum>, List<EventListenerWrapper>>> domainListeners = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, SerialExecutor> domainExecutors = new ConcurrentHashMap<>();
+    private ExecutorService executorService;
 
-    private Map<ComparableEventType, List<EventListenerWrapper>> listenersMap = new TreeMap<>();
+    @Value("${events.workers:0}")
+    private int workers;
+
+    @Override
+    public void afterPropertiesSet() {
+        int poolSize = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        executorService = Executors.newFixedThreadPool(poolSize, r -> {
+            Thread thread = new Thread(r, "gio-am-events-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        LOGGER.info("Event manager initialized with {} worker(s)", poolSize);
+    }
+
+    @Override
+    public void destroy() {
+        if (executorService != null) {
+            executorService.shutdown();
+        }
+    }
 
     public void publishEvent(Enum type, Object content) {
         this.publishEvent(new SimpleEvent(type, content));
@@ -44,43 +87,109 @@ public class EventManagerImpl implements EventManager {
     public void publishEvent(Event event) {
         LOGGER.debug("Publish event {} - {}", event.type(), event.content());
 
-        List<EventListenerWrapper> listeners = getEventListeners(event.type().getClass());
-        List<EventListenerWrapper> safeConcurrentListeners = Lists.newArrayList(listeners.iterator());
+        final String domain = domainOf(event.content());
+        final Class<? extends Enum> eventType = event.type().getClass();
+
+        // resolve the listeners at publication time, later subscriptions do not receive the event
+        List<EventListenerWrapper> listeners = new ArrayList<>(getEventListeners(globalListeners, eventType));
+        if (domain != null) {
+            ConcurrentMap<Class<? extends Enum>, List<EventListenerWrapper>> listenersOfDomain = domainListeners.get(domain);
+            if (listenersOfDomain != null) {
+                listeners.addAll(getEventListeners(listenersOfDomain, eventType));
+            }
+        }
+        listeners.removeIf(listener -> !listener.events().contains(event.type()));
 
-        for(EventListenerWrapper listener : safeConcurrentListeners) {
-            listener.eventListener().onEvent(event);
+        final String key = domain == null ? NO_DOMAIN : domain;
+        final boolean undeploy = domain != null && event.type() == DomainEvent.UNDEPLOY;
+        if (listeners.isEmpty() && !undeploy) {
+            return;
+        }
+
+        try {
+            execute(key, () -> {
+                dispatch(event, listeners);
+                if (undeploy) {
+                    release(key);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            LOGGER.error("Unable to dispatch event {} - {}, event manager is stopped", event.type(), event.content());
         }
     }
 
     public <T extends Enum> void subscribeForEvents(EventListener<T, ?> eventListener, T... events) {
-        for( T event : events) {
-            addEventListener(eventListener, (Class<T>) event.getClass(), Arrays.asList(events));
+        for (T event : events) {
+            addEventListener(globalListeners, eventListener, (Class<T>) event.getClass(), Arrays.asList(events));
         }
     }
 
     public <T extends Enum> void subscribeForEvents(EventListener<T, ?> eventListener, Class<T> events) {
-        addEventListener(eventListener, events, EnumSet.allOf(events));
+        addEventListener(globalListeners, eventListener, events, EnumSet.allOf(events));
     }
 
-    private <T extends Enum> void addEventListener(EventListener<T, ?> eventListener, Class<T> enumClass, Collection<T> events) {
-        LOGGER.info("Register new listener {} for event type {}", eventListener.getClass().getSimpleName(), enumClass);
+    @Override
+    public <T extends Enum> void subscribeForEvents(EventListener<T, ?> eventListener, Class<T> events, String domain) {
+        addEventListener(domainListeners.computeIfAbsent(domain, k -> new ConcurrentHashMap<>()), eventListener, events, EnumSet.allOf(events));
+    }
 
-        List<EventListenerWrapper> listeners = getEventListeners(enumClass);
-        listeners.add(new EventListenerWrapper(eventListener, events));
+    @Override
+    public <T extends Enum> void unsubscribeForEvents(EventListener<T, ?> eventListener, Class<T> events, String domain) {
+        ConcurrentMap<Class<? extends Enum>, List<EventListenerWrapper>> listenersOfDomain = domainListeners.get(domain);
+        if (listenersOfDomain != null) {
+            LOGGER.info("Unregister listener {} for event type {} and domain {}", eventListener.getClass().getSimpleName(), events, domain);
+            getEventListeners(listenersOfDomain, events).removeIf(listener -> listener.eventListener() == eventListener);
+        }
     }
 
-    private <T extends Enum> List<EventListenerWrapper> getEventListeners(Class<T> eventType) {
-        List<EventListenerWrapper> listeners = this.listenersMap.get(new ComparableEventType(eventType));
+    private void dispatch(Event event, List<EventListenerWrapper> listeners) {
+        for (EventListenerWrapper listener : listeners) {
+            try {
+                listener.eventListener().onEvent(event);
+            } catch (Exception ex) {
+                LOGGER.error("An error occurs while dispatching event {} to listener {}", event.type(), listener.eventListener().getClass().getSimpleName(), ex);
+            }
+        }
+    }
+
+    private void execute(String key, Runnable task) {
+        // queue the task while holding the executor entry so that it can not be released concurrently
+        SerialExecutor executor = domainExecutors.compute(key, (k, serialExecutor) -> {
+            SerialExecutor domainExecutor = serialExecutor != null ? serialExecutor : new SerialExecutor(executorService);
+            domainExecutor.offer(task);
+            return domainExecutor;
+        });
+        executor.schedule();
+    }
+
+    private void release(String key) {
+        // events published since the undeployment (domain redeployed) keep the executor alive
+        domainExecutors.computeIfPresent(key, (k, serialExecutor) -> serialExecutor.isIdle() ? null : serialExecutor);
+    }
 
-        if (listeners == null) {
-            listeners = new ArrayList<>();
-            this.listenersMap.put(new ComparableEventType(eventType), listeners);
+    private static String domainOf(Object content) {
+        if (content instanceof Payload) {
+            return ((Payload) content).getDomain();
         }
+        if (content instanceof Domain) {
+            return ((Domain) content).getId();
+        }
+        return null;
+    }
+
+    private <T extends Enum> void addEventListener(ConcurrentMap<Class<? extends Enum>, List<EventListenerWrapper>> listenersMap,
+                                                   EventListener<T, ?> eventListener, Class<T> enumClass, Collection<T> events) {
+        LOGGER.info("Register new listener {} for event type {}", eventListener.getClass().getSimpleName(), enumClass);
 
-        return listeners;
+        getEventListeners(listenersMap, enumClass).add(new EventListenerWrapper(eventListener, events));
     }
 
-    private class EventListenerWrapper<T extends Enum> {
+    private static List<EventListenerWrapper> getEventListeners(ConcurrentMap<Class<? extends Enum>, List<EventListenerWrapper>> listenersMap,
+                                                                Class<? extends Enum> eventType) {
+        return listenersMap.computeIfAbsent(eventType, k -> new CopyOnWriteArrayList<>());
+    }
+
+    private static class EventListenerWrapper<T extends Enum> {
 
         private final EventListener<T, ?> eventListener;
         private final Set<T> events;
@@ -99,32 +208,57 @@ public class EventManagerImpl implements EventManager {
         }
     }
 
-    private class ComparableEventType<T> implements Comparable<ComparableEventType<T>> {
+    /**
+     * Run the submitted tasks one at a time, in submission order, on the shared worker pool.
+     */
+    private static class SerialExecutor implements Executor {
 
-        private static final int HASH = 7 * 89;
-        private final Class<? extends T> wrappedClass;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean running = new AtomicBoolean();
+        private final Executor executor;
 
-        public ComparableEventType(Class<? extends T> wrappedClass) {
-            this.wrappedClass = wrappedClass;
+        SerialExecutor(Executor executor) {
+            this.executor = executor;
         }
 
         @Override
-        public int compareTo(ComparableEventType<T> o) {
-            return wrappedClass.getCanonicalName().compareTo(o.wrappedClass.getCanonicalName());
+        public void execute(Runnable task) {
+            offer(task);
+            schedule();
         }
 
-        @Override
-        public int hashCode() {
-            return HASH + (this.wrappedClass != null ? this.wrappedClass.hashCode() : 0);
+        void offer(Runnable task) {
+            tasks.offer(task);
         }
 
-        @Override
-        public boolean equals(Object o) {
-            if (!(o instanceof ComparableEventType)) {
-                return false;
+        boolean isIdle() {
+            return tasks.isEmpty();
+        }
+
+        void schedule() {
+            if (running.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException ex) {
+                    running.set(false);
+                    throw ex;
+                }
             }
+        }
 
-            return compareTo((ComparableEventType<T>) o) == 0;
+        private void drain() {
+            try {
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    task.run();
+                }
+            } finally {
+                running.set(false);
+                // a task may have been queued after the last poll but before the flag was released
+                if (!tasks.isEmpty()) {
+                    schedule();
+                }
+            }
         }
     }
 }
@@ -0,0 +1,51 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.healthcheck;
+
+import io.gravitee.am.gateway.core.deployment.DomainDeploymentTracker;
+import io.gravitee.node.api.healthcheck.Probe;
+import io.gravitee.node.api.healthcheck.Result;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Probe used to check that the security domains have been deployed after the gateway has started.
+ *
+ * @author GraviteeSource Team
+ */
+public class SecurityDomainsProbe implements Probe {
+
+    @Autowired
+    private DomainDeploymentTracker domainDeploymentTracker;
+
+    @Override
+    public String id() {
+        return "security-domains";
+    }
+
+    @Override
+    public CompletableFuture<Result> check() {
+        if (domainDeploymentTracker.isReady()) {
+            return CompletableFuture.completedFuture(Result.healthy());
+        }
+
+        String message = domainDeploymentTracker.isInitialized() ?
+                domainDeploymentTracker.getPendingDeployments() + " security domain(s) still being deployed" :
+                "Security domains are not synchronized yet";
+        return CompletableFuture.completedFuture(Result.unhealthy(new IllegalStateException(message)));
+    }
+}
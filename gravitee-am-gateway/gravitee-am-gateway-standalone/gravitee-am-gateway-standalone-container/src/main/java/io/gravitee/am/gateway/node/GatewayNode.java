@@ -15,6 +15,10 @@
  */
 package io.gravitee.am.gateway.node;
 
+import io.gravitee.am.gateway.handler.auth.PasswordHashingService;
+import io.gravitee.am.gateway.handler.jwt.CryptoExecutor;
+import io.gravitee.am.gateway.handler.oauth2.client.ClientLookupService;
+import io.gravitee.am.gateway.handler.oauth2.revocation.RevokedTokenRegistry;
 import io.gravitee.am.gateway.reactor.Reactor;
 import io.gravitee.am.gateway.vertx.VertxEmbeddedContainer;
 import io.gravitee.common.component.LifecycleComponent;
@@ -43,6 +47,10 @@ public class GatewayNode extends AbstractNode {
     public List<Class<? extends LifecycleComponent>> components() {
         List<Class<? extends LifecycleComponent>> components = super.components();
 
+        components.add(CryptoExecutor.class);
+        components.add(PasswordHashingService.class);
+        components.add(RevokedTokenRegistry.class);
+        components.add(ClientLookupService.class);
         components.add(Reactor.class);
         components.add(VertxEmbeddedContainer.class);
 
@@ -0,0 +1,139 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.event;
+
+import io.gravitee.am.gateway.core.event.DomainEvent;
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.common.event.Action;
+import io.gravitee.am.model.common.event.Payload;
+import io.gravitee.common.event.EventListener;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class EventManagerImplTest {
+
+    private EventManagerImpl eventManager;
+
+    @Before
+    public void setUp() {
+        eventManager = new EventManagerImpl();
+        ReflectionTestUtils.setField(eventManager, "workers", 2);
+        eventManager.afterPropertiesSet();
+    }
+
+    @After
+    public void tearDown() {
+        eventManager.destroy();
+    }
+
+    @Test
+    public void shouldDispatch_inOrder() throws InterruptedException {
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(100);
+        eventManager.subscribeForEvents((EventListener<TestEvent, Payload>) event -> {
+            received.add(event.content().getId());
+            latch.countDown();
+        }, TestEvent.class, "domain-1");
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add("id-" + i);
+            eventManager.publishEvent(TestEvent.UPDATE, new Payload("id-" + i, "domain-1", Action.UPDATE));
+        }
+
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(expected, received);
+    }
+
+    @Test
+    public void shouldDispatch_domainIsolation() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch otherDomain = new CountDownLatch(1);
+        List<String> domains = Collections.synchronizedList(new ArrayList<>());
+        eventManager.subscribeForEvents((EventListener<TestEvent, Payload>) event -> {
+            domains.add(event.content().getDomain());
+            try {
+                blocked.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, TestEvent.class, "domain-1");
+        eventManager.subscribeForEvents((EventListener<TestEvent, Payload>) event -> {
+            domains.add(event.content().getDomain());
+            otherDomain.countDown();
+        }, TestEvent.class, "domain-2");
+
+        eventManager.publishEvent(TestEvent.UPDATE, new Payload("id-1", "domain-1", Action.UPDATE));
+        eventManager.publishEvent(TestEvent.UPDATE, new Payload("id-2", "domain-2", Action.UPDATE));
+
+        // the events of domain-2 are not delayed by the events of domain-1 and never delivered to its listeners
+        Assert.assertTrue(otherDomain.await(5, TimeUnit.SECONDS));
+        blocked.countDown();
+        Assert.assertEquals(1, Collections.frequency(domains, "domain-2"));
+        Assert.assertEquals(1, Collections.frequency(domains, "domain-1"));
+    }
+
+    @Test
+    public void shouldDispatch_listenerError() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(2);
+        eventManager.subscribeForEvents((EventListener<TestEvent, Payload>) event -> {
+            throw new IllegalStateException("listener error");
+        }, TestEvent.class, "domain-1");
+        eventManager.subscribeForEvents((EventListener<TestEvent, Payload>) event -> latch.countDown(), TestEvent.class, "domain-1");
+
+        eventManager.publishEvent(TestEvent.UPDATE, new Payload("id-1", "domain-1", Action.UPDATE));
+        eventManager.publishEvent(TestEvent.UPDATE, new Payload("id-2", "domain-1", Action.UPDATE));
+
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldReleaseExecutor_undeploy() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(2);
+        eventManager.subscribeForEvents((EventListener<TestEvent, Payload>) event -> latch.countDown(), TestEvent.class, "domain-1");
+        eventManager.subscribeForEvents((EventListener<DomainEvent, Domain>) event -> latch.countDown(), DomainEvent.class, "domain-1");
+
+        Domain domain = new Domain();
+        domain.setId("domain-1");
+        eventManager.publishEvent(TestEvent.UPDATE, new Payload("id-1", "domain-1", Action.UPDATE));
+        eventManager.publishEvent(DomainEvent.UNDEPLOY, domain);
+
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Map<String, ?> domainExecutors = (Map<String, ?>) ReflectionTestUtils.getField(eventManager, "domainExecutors");
+        // the executor is released right after the undeployment event has been dispatched
+        for (int i = 0; i < 50 && !domainExecutors.isEmpty(); i++) {
+            Thread.sleep(100);
+        }
+        Assert.assertTrue(domainExecutors.isEmpty());
+    }
+
+    private enum TestEvent {
+        UPDATE
+    }
+}
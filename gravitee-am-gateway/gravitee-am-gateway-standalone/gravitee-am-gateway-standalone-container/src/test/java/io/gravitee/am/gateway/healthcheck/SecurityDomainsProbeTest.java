@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.healthcheck;
+
+import io.gravitee.am.gateway.core.deployment.DomainDeploymentTracker;
+import io.gravitee.node.api.healthcheck.Result;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SecurityDomainsProbeTest {
+
+    @InjectMocks
+    private SecurityDomainsProbe securityDomainsProbe = new SecurityDomainsProbe();
+
+    @Mock
+    private DomainDeploymentTracker domainDeploymentTracker;
+
+    @Test
+    public void shouldBeHealthy_domainsDeployed() throws Exception {
+        when(domainDeploymentTracker.isReady()).thenReturn(true);
+
+        Result result = securityDomainsProbe.check().get();
+
+        Assert.assertTrue(result.isHealthy());
+    }
+
+    @Test
+    public void shouldBeUnhealthy_notSynchronized() throws Exception {
+        when(domainDeploymentTracker.isReady()).thenReturn(false);
+        when(domainDeploymentTracker.isInitialized()).thenReturn(false);
+
+        Result result = securityDomainsProbe.check().get();
+
+        Assert.assertFalse(result.isHealthy());
+        Assert.assertEquals("Security domains are not synchronized yet", result.getMessage());
+    }
+
+    @Test
+    public void shouldBeUnhealthy_pendingDomains() throws Exception {
+        when(domainDeploymentTracker.isReady()).thenReturn(false);
+        when(domainDeploymentTracker.isInitialized()).thenReturn(true);
+        when(domainDeploymentTracker.getPendingDeployments()).thenReturn(2);
+
+        Result result = securityDomainsProbe.check().get();
+
+        Assert.assertFalse(result.isHealthy());
+        Assert.assertEquals("2 security domain(s) still being deployed", result.getMessage());
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.identityprovider.api;
+
+import io.reactivex.Single;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Bounded worker pool provided by the host node to run password hashing operations (BCrypt, ...)
+ * outside of the I/O threads.
+ *
+ * The executor is registered into the identity provider context when the node provides one, identity providers must
+ * therefore inject it as an optional dependency.
+ *
+ * @author GraviteeSource Team
+ */
+public interface PasswordHashingExecutor {
+
+    /**
+     * Run the password hashing or verification task on a worker.
+     * The returned single fails if all the workers are busy and the queue is full.
+     *
+     * @param task the password operation
+     * @param <T> result type
+     * @return the result of the task
+     */
+    <T> Single<T> execute(Callable<T> task);
+
+    /**
+     * @return the BCrypt cost stored hashes should be upgraded to on successful login, -1 if rehash-on-login is disabled
+     */
+    int getTargetStrength();
+}
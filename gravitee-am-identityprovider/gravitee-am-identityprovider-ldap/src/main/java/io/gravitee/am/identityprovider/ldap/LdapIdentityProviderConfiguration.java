@@ -47,6 +47,18 @@ public class LdapIdentityProviderConfiguration implements IdentityProviderConfig
 
     private Long responseTimeout = 5000l;
 
+    private Integer minPoolSize = 5;
+
+    private Integer maxPoolSize = 15;
+
+    private Long poolBlockWaitTime = 5000l;
+
+    private Long poolIdleTimeout = 300000l;
+
+    private Long poolValidatePeriod = 300000l;
+
+    private boolean poolValidateOnCheckOut;
+
     private String passwordEncoding;
 
     private boolean hashEncodedByThirdParty;
@@ -139,6 +151,54 @@ public class LdapIdentityProviderConfiguration implements IdentityProviderConfig
         this.responseTimeout = responseTimeout;
     }
 
+    public Integer getMinPoolSize() {
+        return minPoolSize;
+    }
+
+    public void setMinPoolSize(Integer minPoolSize) {
+        this.minPoolSize = minPoolSize;
+    }
+
+    public Integer getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public void setMaxPoolSize(Integer maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public Long getPoolBlockWaitTime() {
+        return poolBlockWaitTime;
+    }
+
+    public void setPoolBlockWaitTime(Long poolBlockWaitTime) {
+        this.poolBlockWaitTime = poolBlockWaitTime;
+    }
+
+    public Long getPoolIdleTimeout() {
+        return poolIdleTimeout;
+    }
+
+    public void setPoolIdleTimeout(Long poolIdleTimeout) {
+        this.poolIdleTimeout = poolIdleTimeout;
+    }
+
+    public Long getPoolValidatePeriod() {
+        return poolValidatePeriod;
+    }
+
+    public void setPoolValidatePeriod(Long poolValidatePeriod) {
+        this.poolValidatePeriod = poolValidatePeriod;
+    }
+
+    public boolean isPoolValidateOnCheckOut() {
+        return poolValidateOnCheckOut;
+    }
+
+    public void setPoolValidateOnCheckOut(boolean poolValidateOnCheckOut) {
+        this.poolValidateOnCheckOut = poolValidateOnCheckOut;
+    }
+
     public String getPasswordAlgorithm() {
         return passwordAlgorithm;
     }
@@ -22,6 +22,7 @@ import org.ldaptive.*;
 import org.ldaptive.auth.AbstractCompareAuthenticationHandler;
 import org.ldaptive.auth.AuthenticationCriteria;
 import org.ldaptive.auth.AuthenticationHandlerResponse;
+import org.ldaptive.pool.PooledConnectionFactory;
 
 import java.util.Arrays;
 
@@ -89,7 +90,10 @@ public class CompareAuthenticationHandler extends AbstractCompareAuthenticationH
     @Override
     protected Connection getConnection() throws LdapException {
         final Connection conn = factory.getConnection();
-        conn.open();
+        // pooled connections are already opened
+        if (!(factory instanceof PooledConnectionFactory)) {
+            conn.open();
+        }
         return conn;
     }
 
@@ -32,15 +32,23 @@ import org.ldaptive.*;
 import org.ldaptive.auth.AuthenticationRequest;
 import org.ldaptive.auth.AuthenticationResponse;
 import org.ldaptive.auth.Authenticator;
-import org.ldaptive.auth.SearchDnResolver;
+import org.ldaptive.pool.ConnectionPool;
+import org.ldaptive.pool.PooledConnectionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Import;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -49,11 +57,12 @@ import java.util.stream.Collectors;
  * @author GraviteeSource Team
  */
 @Import(LdapAuthenticationProviderConfiguration.class)
-public class LdapAuthenticationProvider implements AuthenticationProvider, InitializingBean {
+public class LdapAuthenticationProvider implements AuthenticationProvider, InitializingBean, DisposableBean {
 
     private final Logger LOGGER = LoggerFactory.getLogger(LdapAuthenticationProvider.class);
 
     private static final String MEMBEROF_ATTRIBUTE = "memberOf";
+    private static final int MAX_PENDING_REQUESTS = 1000;
 
     @Autowired
     private LdapIdentityProviderMapper mapper;
@@ -70,7 +79,12 @@ public class LdapAuthenticationProvider implements AuthenticationProvider, Initi
     private Authenticator authenticator;
 
     @Autowired
-    private ConnectionFactory connectionFactory;
+    @Qualifier("searchConnectionFactory")
+    private PooledConnectionFactory searchConnectionFactory;
+
+    @Autowired
+    @Qualifier("bindConnectionFactory")
+    private PooledConnectionFactory bindConnectionFactory;
 
     @Autowired
     @Qualifier("groupSearchExecutor")
@@ -80,8 +94,20 @@ public class LdapAuthenticationProvider implements AuthenticationProvider, Initi
     @Qualifier("userSearchExecutor")
     private SearchExecutor userSearchExecutor;
 
+    private ThreadPoolExecutor executor;
+
     @Override
     public void afterPropertiesSet() {
+        // LDAP calls are blocking, the number of threads matches the size of the connection pools
+        int poolSize = configuration.getMaxPoolSize();
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(MAX_PENDING_REQUESTS), r -> {
+            Thread thread = new Thread(r, "gio-am-ldap-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+
         String searchFilter = configuration.getUserSearchFilter();
         LOGGER.debug("Looking for a LDAP user's identifier using search filter [{}]", searchFilter);
 
@@ -97,15 +123,22 @@ public class LdapAuthenticationProvider implements AuthenticationProvider, Initi
         LOGGER.info("User identifier is based on the [{}] attribute", identifierAttribute);
     }
 
+    @Override
+    public void destroy() {
+        LOGGER.debug("Closing LDAP connection pools");
+        executor.shutdown();
+        searchConnectionFactory.getConnectionPool().close();
+        bindConnectionFactory.getConnectionPool().close();
+    }
+
     @Override
     public Maybe<User> loadUserByUsername(Authentication authentication) {
-        Maybe<User> userSource = Maybe.create(emitter -> {
+        return submit(() -> {
             try {
                 String username = (String) authentication.getPrincipal();
                 String password = (String) authentication.getCredentials();
                 // authenticate user
-                // unable *={0} authentication filter (ldaptive use *={user})
-                ((SearchDnResolver) authenticator.getDnResolver()).setUserFilterParameters(Collections.singleton(username).toArray());
+                // the user filter parameter is resolved by ldaptive from the authentication request (see LdapAuthenticationProviderConfiguration)
                 AuthenticationResponse response = authenticator.authenticate(
                         new AuthenticationRequest(username, new Credential(password), ReturnAttributes.ALL_USER.value()));
                 if (response.getResult()) { // authentication succeeded
@@ -113,49 +146,75 @@ public class LdapAuthenticationProvider implements AuthenticationProvider, Initi
                     // fetch user groups
                     fetchUserGroups(userEntry);
                     // return user
-                    emitter.onSuccess(createUser(userEntry));
+                    return createUser(userEntry);
                 } else { // authentication failed
                     LOGGER.debug("Failed to authenticate user", response.getMessage());
-                    emitter.onError(new BadCredentialsException(response.getMessage()));
+                    throw new BadCredentialsException(response.getMessage());
                 }
             } catch (LdapException e) {
                 LOGGER.error("An error occurs during LDAP authentication", e);
-                emitter.onError(new InternalAuthenticationServiceException(e.getMessage(), e));
+                throw new InternalAuthenticationServiceException(e.getMessage(), e);
+            } finally {
+                logPoolStatistics();
             }
         });
-
-        return userSource;
     }
 
     @Override
     public Maybe<User> loadUserByUsername(String username) {
-        Maybe<User> userSource = Maybe.create(emitter -> {
+        return submit(() -> {
             try {
                 // find user
-                userSearchExecutor.getSearchFilter().setParameter(0, username);
-                SearchResult userSearchResult = userSearchExecutor.search(connectionFactory).getResult();
+                SearchResult userSearchResult = userSearchExecutor.search(searchConnectionFactory, searchFilter(userSearchExecutor, username)).getResult();
                 LdapEntry userEntry = userSearchResult.getEntry();
                 if (userEntry != null) {
                     // fetch user groups
                     fetchUserGroups(userEntry);
                     // return user
-                    emitter.onSuccess(createUser(userEntry));
+                    return createUser(userEntry);
                 } else { // failed to find user
-                    emitter.onError(new UsernameNotFoundException(username));
+                    throw new UsernameNotFoundException(username);
                 }
             } catch (LdapException e) {
                 LOGGER.error("An error occurs while searching for a LDAP user", e);
-                emitter.onError(new InternalAuthenticationServiceException(e.getMessage(), e));
+                throw new InternalAuthenticationServiceException(e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Run the blocking LDAP calls on the LDAP executor to keep them off the caller (Vert.x event loop) thread.
+     */
+    private Maybe<User> submit(Callable<User> task) {
+        return Maybe.create(emitter -> {
+            try {
+                executor.execute(() -> {
+                    try {
+                        emitter.onSuccess(task.call());
+                    } catch (Exception e) {
+                        emitter.onError(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                LOGGER.error("Too many pending LDAP requests, request rejected");
+                emitter.onError(new InternalAuthenticationServiceException("Too many pending LDAP requests", e));
             }
         });
+    }
 
-        return userSource;
+    /**
+     * The search executors are shared by the concurrent requests, their filter is a template which must not be changed.
+     */
+    private static SearchFilter searchFilter(SearchExecutor searchExecutor, String value) {
+        SearchFilter searchFilter = new SearchFilter(searchExecutor.getSearchFilter().getFilter());
+        searchFilter.setParameter(0, value);
+        searchFilter.setParameter("user", value);
+        return searchFilter;
     }
 
     private void fetchUserGroups(LdapEntry userEntry) {
         try {
-            groupSearchExecutor.getSearchFilter().setParameter(0, userEntry.getDn());
-            SearchResult searchResult = groupSearchExecutor.search(connectionFactory).getResult();
+            SearchResult searchResult = groupSearchExecutor.search(searchConnectionFactory, searchFilter(groupSearchExecutor, userEntry.getDn())).getResult();
             Collection<LdapEntry> groupEntries = searchResult.getEntries();
             String[] groups = groupEntries.stream()
                     .map(groupEntry -> groupEntry.getAttributes()
@@ -170,6 +229,15 @@ public class LdapAuthenticationProvider implements AuthenticationProvider, Initi
         }
     }
 
+    private void logPoolStatistics() {
+        if (LOGGER.isDebugEnabled()) {
+            ConnectionPool searchPool = searchConnectionFactory.getConnectionPool();
+            ConnectionPool bindPool = bindConnectionFactory.getConnectionPool();
+            LOGGER.debug("LDAP connection pools: search [active={}, available={}], bind [active={}, available={}]",
+                    searchPool.activeCount(), searchPool.availableCount(), bindPool.activeCount(), bindPool.availableCount());
+        }
+    }
+
     private User createUser(LdapEntry ldapEntry) {
         DefaultUser user = new DefaultUser(ldapEntry.getAttribute(identifierAttribute).getStringValue());
         user.setId(user.getUsername());
@@ -21,10 +21,15 @@ import io.gravitee.am.identityprovider.ldap.authentication.encoding.*;
 import org.ldaptive.*;
 import org.ldaptive.auth.AbstractAuthenticationHandler;
 import org.ldaptive.auth.Authenticator;
-import org.ldaptive.auth.BindAuthenticationHandler;
-import org.ldaptive.auth.SearchDnResolver;
+import org.ldaptive.auth.PooledBindAuthenticationHandler;
+import org.ldaptive.auth.PooledSearchDnResolver;
 import org.ldaptive.auth.ext.PasswordPolicyAuthenticationResponseHandler;
 import org.ldaptive.control.PasswordPolicyControl;
+import org.ldaptive.pool.BlockingConnectionPool;
+import org.ldaptive.pool.IdlePruneStrategy;
+import org.ldaptive.pool.PoolConfig;
+import org.ldaptive.pool.PooledConnectionFactory;
+import org.ldaptive.pool.SearchValidator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -45,17 +50,26 @@ public class LdapAuthenticationProviderConfiguration {
     @Autowired
     private LdapIdentityProviderConfiguration configuration;
 
-    @Bean
-    public ConnectionFactory connectionFactory() {
-        return new DefaultConnectionFactory(connectionConfig());
+    /**
+     * Pool of connections bound with the context source credentials, used to search users and groups.
+     */
+    @Bean("searchConnectionFactory")
+    public PooledConnectionFactory searchConnectionFactory() {
+        return new PooledConnectionFactory(connectionPool("search-pool", connectionConfig()));
+    }
+
+    /**
+     * Pool of connections used to bind users during authentication, kept apart from the search pool because
+     * its connections are bound with the identity of the last authenticated user.
+     */
+    @Bean("bindConnectionFactory")
+    public PooledConnectionFactory bindConnectionFactory() {
+        return new PooledConnectionFactory(connectionPool("bind-pool", bindConnectionConfig()));
     }
 
     @Bean
     public ConnectionConfig connectionConfig() {
-        ConnectionConfig connectionConfig = new ConnectionConfig();
-        connectionConfig.setConnectTimeout(Duration.ofMillis(configuration.getConnectTimeout()));
-        connectionConfig.setResponseTimeout(Duration.ofMillis(configuration.getResponseTimeout()));
-        connectionConfig.setLdapUrl(configuration.getContextSourceUrl());
+        ConnectionConfig connectionConfig = bindConnectionConfig();
         BindConnectionInitializer connectionInitializer =
                 new BindConnectionInitializer(configuration.getContextSourceUsername(), new Credential(configuration.getContextSourcePassword()));
         connectionConfig.setConnectionInitializer(connectionInitializer);
@@ -90,15 +104,17 @@ public class LdapAuthenticationProviderConfiguration {
 
     @Bean
     public Authenticator authenticator() {
-        SearchDnResolver dnResolver = new SearchDnResolver(connectionFactory());
+        PooledSearchDnResolver dnResolver = new PooledSearchDnResolver(searchConnectionFactory());
         dnResolver.setBaseDn(configuration.getContextSourceBase());
-        dnResolver.setUserFilter(configuration.getUserSearchFilter());
+        // resolve the user from the authentication request instead of per-request filter parameters (ldaptive uses *={user})
+        String userSearchFilter = configuration.getUserSearchFilter();
+        dnResolver.setUserFilter(userSearchFilter == null ? null : userSearchFilter.replace("{0}", "{user}"));
         dnResolver.setSubtreeSearch(true);
 
         AbstractAuthenticationHandler authHandler =
                 (configuration.getPasswordAlgorithm() == null)
-                        ? new BindAuthenticationHandler(connectionFactory())
-                        : new CompareAuthenticationHandler(connectionFactory(), passwordEncoder(configuration.getPasswordAlgorithm()), binaryToTextEncoder(), configuration);
+                        ? new PooledBindAuthenticationHandler(bindConnectionFactory())
+                        : new CompareAuthenticationHandler(searchConnectionFactory(), passwordEncoder(configuration.getPasswordAlgorithm()), binaryToTextEncoder(), configuration);
 
         authHandler.setAuthenticationControls(new PasswordPolicyControl());
         Authenticator auth = new Authenticator(dnResolver, authHandler);
@@ -119,6 +135,35 @@ public class LdapAuthenticationProviderConfiguration {
         return new NoneEncoder();
     }
 
+    private ConnectionConfig bindConnectionConfig() {
+        ConnectionConfig connectionConfig = new ConnectionConfig();
+        connectionConfig.setConnectTimeout(Duration.ofMillis(configuration.getConnectTimeout()));
+        connectionConfig.setResponseTimeout(Duration.ofMillis(configuration.getResponseTimeout()));
+        connectionConfig.setLdapUrl(configuration.getContextSourceUrl());
+        return connectionConfig;
+    }
+
+    private BlockingConnectionPool connectionPool(String name, ConnectionConfig connectionConfig) {
+        PoolConfig poolConfig = new PoolConfig();
+        poolConfig.setMinPoolSize(configuration.getMinPoolSize());
+        poolConfig.setMaxPoolSize(configuration.getMaxPoolSize());
+        poolConfig.setValidateOnCheckOut(configuration.isPoolValidateOnCheckOut());
+        poolConfig.setValidatePeriodically(true);
+        poolConfig.setValidatePeriod(Duration.ofMillis(configuration.getPoolValidatePeriod()));
+
+        BlockingConnectionPool connectionPool = new BlockingConnectionPool(poolConfig, new DefaultConnectionFactory(connectionConfig));
+        connectionPool.setName(name);
+        connectionPool.setBlockWaitTime(Duration.ofMillis(configuration.getPoolBlockWaitTime()));
+        connectionPool.setValidator(new SearchValidator());
+        Duration idleTimeout = Duration.ofMillis(configuration.getPoolIdleTimeout());
+        connectionPool.setPruneStrategy(new IdlePruneStrategy(idleTimeout, idleTimeout));
+        // do not prevent the identity provider from loading while the LDAP server is unavailable,
+        // missing connections are opened on demand
+        connectionPool.setFailFastInitialize(false);
+        connectionPool.initialize();
+        return connectionPool;
+    }
+
     private PasswordEncoder passwordEncoder(String passwordAlgorithm) {
         if ("MD5".equals(passwordAlgorithm)) {
             return new MD5PasswordEncoder();
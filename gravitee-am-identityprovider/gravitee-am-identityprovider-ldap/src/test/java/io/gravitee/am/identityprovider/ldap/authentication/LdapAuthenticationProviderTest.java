@@ -29,6 +29,9 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.zapodot.junit.ldap.EmbeddedLdapRule;
 import org.zapodot.junit.ldap.EmbeddedLdapRuleBuilder;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -71,6 +74,7 @@ public abstract class LdapAuthenticationProviderTest {
             }
         }).test();
 
+        testObserver.awaitTerminalEvent();
         testObserver.assertError(BadCredentialsException.class);
     }
 
@@ -94,6 +98,26 @@ public abstract class LdapAuthenticationProviderTest {
             }
         }).test();
 
+        testObserver.awaitTerminalEvent();
         testObserver.assertError(BadCredentialsException.class);
     }
+
+    @Test
+    public void shouldLoadUserByUsername_concurrently() throws Exception {
+        embeddedLdapRule.ldapConnection();
+        List<String> usernames = Arrays.asList("bob", "john", "jerry", "ben");
+
+        List<TestObserver<User>> testObservers = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            testObservers.add(authenticationProvider.loadUserByUsername(usernames.get(i % usernames.size())).test());
+        }
+
+        for (int i = 0; i < testObservers.size(); i++) {
+            String username = usernames.get(i % usernames.size());
+            TestObserver<User> testObserver = testObservers.get(i);
+            testObserver.awaitTerminalEvent();
+            testObserver.assertComplete();
+            testObserver.assertValue(u -> username.equals(u.getUsername()));
+        }
+    }
 }
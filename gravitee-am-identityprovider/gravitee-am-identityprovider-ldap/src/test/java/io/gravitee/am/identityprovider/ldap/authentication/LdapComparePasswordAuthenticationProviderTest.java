@@ -80,6 +80,8 @@ public class LdapComparePasswordAuthenticationProviderTest extends LdapAuthentic
             configuration.setContextSourcePassword("bobspassword");
             configuration.setContextSourceBase("dc=example,dc=org");
             configuration.setContextSourceUrl("ldap://localhost:61000");
+            // the embedded server is restarted for each test
+            configuration.setPoolValidateOnCheckOut(true);
 
             configuration.setUserSearchBase("ou=people");
             configuration.setUserSearchFilter("uid={user}");
@@ -21,25 +21,32 @@ import io.gravitee.am.common.oidc.StandardClaims;
 import io.gravitee.am.identityprovider.api.Authentication;
 import io.gravitee.am.identityprovider.api.AuthenticationProvider;
 import io.gravitee.am.identityprovider.api.DefaultUser;
+import io.gravitee.am.identityprovider.api.PasswordHashingExecutor;
 import io.gravitee.am.identityprovider.api.User;
 import io.gravitee.am.identityprovider.mongo.MongoIdentityProviderConfiguration;
 import io.gravitee.am.identityprovider.mongo.MongoIdentityProviderMapper;
 import io.gravitee.am.identityprovider.mongo.MongoIdentityProviderRoleMapper;
 import io.gravitee.am.identityprovider.mongo.authentication.spring.MongoAuthenticationProviderConfiguration;
+import io.gravitee.am.identityprovider.mongo.utils.BsonQueryTemplate;
 import io.gravitee.am.service.authentication.crypto.password.PasswordEncoder;
 import io.gravitee.am.service.exception.authentication.BadCredentialsException;
 import io.gravitee.am.service.exception.authentication.UsernameNotFoundException;
 import io.reactivex.Maybe;
 import io.reactivex.Observable;
-import org.bson.BsonDocument;
+import io.reactivex.Single;
 import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Import;
 
 import java.util.*;
+import java.util.concurrent.Callable;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -47,7 +54,7 @@ import java.util.*;
  * @author GraviteeSource Team
  */
 @Import({MongoAuthenticationProviderConfiguration.class})
-public class MongoAuthenticationProvider implements AuthenticationProvider {
+public class MongoAuthenticationProvider implements AuthenticationProvider, InitializingBean, DisposableBean {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MongoAuthenticationProvider.class);
     private static final String FIELD_ID = "_id";
@@ -70,18 +77,52 @@ public class MongoAuthenticationProvider implements AuthenticationProvider {
     @Autowired
     private MongoClient mongoClient;
 
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired(required = false)
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    private MongoCollection<Document> usersCollection;
+
+    private BsonQueryTemplate findUserByUsernameQuery;
+
+    @Override
+    public void afterPropertiesSet() {
+        usersCollection = this.mongoClient.getDatabase(this.configuration.getDatabase()).getCollection(this.configuration.getUsersCollection());
+        // compile the query once, the username is bound on each login
+        findUserByUsernameQuery = BsonQueryTemplate.compile(this.configuration.getFindUserByUsernameQuery());
+        checkIndexes();
+    }
+
+    @Override
+    public void destroy() {
+        // the shared client is released by the configuration of this identity provider, closing twice has no effect
+        if (applicationContext instanceof ConfigurableApplicationContext) {
+            ((ConfigurableApplicationContext) applicationContext).close();
+        }
+    }
+
     public Maybe<User> loadUserByUsername(Authentication authentication) {
         String username = (String)authentication.getPrincipal();
         return findUserByUsername(username)
                 .switchIfEmpty(Maybe.error(new UsernameNotFoundException(username)))
-                .map(user -> {
+                .flatMap(user -> {
                     String password = user.getString(this.configuration.getPasswordField());
                     String presentedPassword = authentication.getCredentials().toString();
-                    if (!passwordEncoder.matches(presentedPassword, password)) {
-                        LOGGER.debug("Authentication failed: password does not match stored value");
-                        throw new BadCredentialsException("Bad credentials");
-                    }
-                    return createUser(username, user);
+                    // password hashing is CPU intensive, run it on the password worker pool when available
+                    return execute(() -> passwordEncoder.matches(presentedPassword, password))
+                            .flatMapMaybe(matches -> {
+                                if (!matches) {
+                                    LOGGER.debug("Authentication failed: password does not match stored value");
+                                    return Maybe.error(new BadCredentialsException("Bad credentials"));
+                                }
+                                if (passwordHashingExecutor != null && passwordHashingExecutor.getTargetStrength() > 0
+                                        && passwordEncoder.upgradeEncoding(password)) {
+                                    rehash(user.get(FIELD_ID), presentedPassword);
+                                }
+                                return Maybe.just(createUser(username, user));
+                            });
                 });
     }
 
@@ -91,11 +132,46 @@ public class MongoAuthenticationProvider implements AuthenticationProvider {
     }
 
     private Maybe<Document> findUserByUsername(String username) {
-        MongoCollection<Document> usersCol = this.mongoClient.getDatabase(this.configuration.getDatabase()).getCollection(this.configuration.getUsersCollection());
-        String rawQuery = this.configuration.getFindUserByUsernameQuery().replaceAll("\\?", username);
-        String jsonQuery = convertToJsonString(rawQuery);
-        BsonDocument query = BsonDocument.parse(jsonQuery);
-        return Observable.fromPublisher(usersCol.find(query).first()).firstElement();
+        return Observable.fromPublisher(usersCollection.find(findUserByUsernameQuery.render(username)).first()).firstElement();
+    }
+
+    /**
+     * Warn if the lookup query does not start with an indexed field, each login would scan the users collection.
+     */
+    private void checkIndexes() {
+        final Set<String> fields = findUserByUsernameQuery.getFields();
+        Observable.fromPublisher(usersCollection.listIndexes())
+                .any(index -> {
+                    Object keys = index.get("key");
+                    return keys instanceof Document && !((Document) keys).isEmpty()
+                            && fields.contains(((Document) keys).keySet().iterator().next());
+                })
+                .subscribe(
+                        indexed -> {
+                            if (!indexed) {
+                                LOGGER.warn("No index found on {} for the users lookup query {} of collection {}, please create one",
+                                        fields, configuration.getFindUserByUsernameQuery(), configuration.getUsersCollection());
+                            }
+                        },
+                        error -> LOGGER.debug("Unable to check indexes of collection {}", configuration.getUsersCollection(), error));
+    }
+
+    private <T> Single<T> execute(Callable<T> task) {
+        return passwordHashingExecutor != null ? passwordHashingExecutor.execute(task) : Single.fromCallable(task);
+    }
+
+    /**
+     * Upgrade the stored hash to the target cost, the authentication does not wait for the update.
+     */
+    private void rehash(Object id, String rawPassword) {
+        if (id == null) {
+            return;
+        }
+        execute(() -> passwordEncoder.encode(rawPassword))
+                .flatMap(hash -> Single.fromPublisher(usersCollection.updateOne(new Document(FIELD_ID, id), new Document("$set", new Document(this.configuration.getPasswordField(), hash)))))
+                .subscribe(
+                        result -> LOGGER.debug("Password of user {} upgraded to the target cost", id),
+                        error -> LOGGER.warn("Unable to upgrade password of user {}", id, error));
     }
 
     private User createUser(String username, Document document) {
@@ -134,11 +210,6 @@ public class MongoAuthenticationProvider implements AuthenticationProvider {
         return user;
     }
 
-    private String convertToJsonString(String rawString) {
-        rawString = rawString.replaceAll("[^\\{\\}\\[\\],:]+", "\"$0\"").replaceAll("\\s+","");
-        return rawString;
-    }
-
     private List<String> getUserRoles(Document document) {
         Set<String> roles = new HashSet();
         if (roleMapper != null && roleMapper.getRoles() != null) {
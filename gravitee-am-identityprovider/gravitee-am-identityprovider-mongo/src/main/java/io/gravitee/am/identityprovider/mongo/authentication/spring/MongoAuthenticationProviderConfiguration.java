@@ -21,10 +21,13 @@ import com.mongodb.async.client.MongoClientSettings;
 import com.mongodb.connection.ClusterSettings;
 import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoClients;
+import io.gravitee.am.identityprovider.api.PasswordHashingExecutor;
 import io.gravitee.am.identityprovider.mongo.MongoIdentityProviderConfiguration;
+import io.gravitee.am.identityprovider.mongo.utils.MongoClientRegistry;
 import io.gravitee.am.service.authentication.crypto.password.NoOpPasswordEncoder;
 import io.gravitee.am.service.authentication.crypto.password.PasswordEncoder;
 import io.gravitee.am.service.authentication.crypto.password.bcrypt.BCryptPasswordEncoder;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -36,13 +39,41 @@ import static java.util.Arrays.asList;
  * @author GraviteeSource Team
  */
 @Configuration
-public class MongoAuthenticationProviderConfiguration {
+public class MongoAuthenticationProviderConfiguration implements DisposableBean {
 
     @Autowired
     private MongoIdentityProviderConfiguration configuration;
 
-    @Bean
+    @Autowired(required = false)
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    /**
+     * The client is shared by the identity providers pointing to the same cluster,
+     * it is released through the {@link MongoClientRegistry} when this identity provider is destroyed.
+     */
+    @Bean(destroyMethod = "")
     public MongoClient mongoClient() {
+        return MongoClientRegistry.getInstance().acquire(this, clientSettings(), this::createMongoClient);
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        if (configuration.getPasswordEncoder() != null && io.gravitee.am.identityprovider.mongo.utils.PasswordEncoder.BCRYPT.getValue().equals(configuration.getPasswordEncoder())) {
+            // new hashes use the cost computed by the gateway when rehash-on-login is enabled
+            if (passwordHashingExecutor != null && passwordHashingExecutor.getTargetStrength() > 0) {
+                return new BCryptPasswordEncoder(passwordHashingExecutor.getTargetStrength());
+            }
+            return new BCryptPasswordEncoder();
+        }
+        return NoOpPasswordEncoder.getInstance();
+    }
+
+    @Override
+    public void destroy() {
+        MongoClientRegistry.getInstance().release(this);
+    }
+
+    private MongoClient createMongoClient() {
         MongoClient mongoClient;
         if ((this.configuration.getUri() != null) && (!this.configuration.getUri().isEmpty())) {
             mongoClient = MongoClients.create(this.configuration.getUri());
@@ -62,11 +93,15 @@ public class MongoAuthenticationProviderConfiguration {
         return mongoClient;
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        if (configuration.getPasswordEncoder() != null && io.gravitee.am.identityprovider.mongo.utils.PasswordEncoder.BCRYPT.getValue().equals(configuration.getPasswordEncoder())) {
-            return new BCryptPasswordEncoder();
+    private String clientSettings() {
+        if ((this.configuration.getUri() != null) && (!this.configuration.getUri().isEmpty())) {
+            return this.configuration.getUri();
         }
-        return NoOpPasswordEncoder.getInstance();
+        String key = this.configuration.getHost() + ":" + this.configuration.getPort();
+        if (this.configuration.isEnableCredentials()) {
+            key += "/" + this.configuration.getUsernameCredentials() + "@" + this.configuration.getDatabaseCredentials()
+                    + ":" + this.configuration.getPasswordCredentials();
+        }
+        return key;
     }
 }
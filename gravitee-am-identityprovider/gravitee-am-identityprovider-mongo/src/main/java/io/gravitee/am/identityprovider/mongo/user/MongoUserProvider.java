@@ -24,6 +24,7 @@ import io.gravitee.am.identityprovider.api.User;
 import io.gravitee.am.identityprovider.api.UserProvider;
 import io.gravitee.am.identityprovider.mongo.MongoIdentityProviderConfiguration;
 import io.gravitee.am.identityprovider.mongo.authentication.spring.MongoAuthenticationProviderConfiguration;
+import io.gravitee.am.identityprovider.mongo.utils.BsonQueryTemplate;
 import io.gravitee.am.service.authentication.crypto.password.PasswordEncoder;
 import io.gravitee.am.service.exception.UserAlreadyExistsException;
 import io.gravitee.am.service.exception.UserNotFoundException;
@@ -32,10 +33,12 @@ import io.reactivex.Completable;
 import io.reactivex.Maybe;
 import io.reactivex.Observable;
 import io.reactivex.Single;
-import org.bson.BsonDocument;
 import org.bson.Document;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Import;
 
 import java.util.Date;
@@ -49,7 +52,7 @@ import static com.mongodb.client.model.Filters.eq;
  * @author GraviteeSource Team
  */
 @Import({MongoAuthenticationProviderConfiguration.class})
-public class MongoUserProvider implements UserProvider, InitializingBean {
+public class MongoUserProvider implements UserProvider, InitializingBean, DisposableBean {
 
     private static final String FIELD_ID = "_id";
     private static final String FIELD_CREATED_AT = "createdAt";
@@ -61,17 +64,19 @@ public class MongoUserProvider implements UserProvider, InitializingBean {
     @Autowired
     private MongoClient mongoClient;
 
+    @Autowired
+    private ApplicationContext applicationContext;
+
     @Autowired
     private MongoIdentityProviderConfiguration configuration;
 
     private MongoCollection<Document> usersCollection;
 
+    private BsonQueryTemplate findUserByUsernameQuery;
+
     @Override
     public Maybe<User> findByUsername(String username) {
-        String rawQuery = this.configuration.getFindUserByUsernameQuery().replaceAll("\\?", username);
-        String jsonQuery = convertToJsonString(rawQuery);
-        BsonDocument query = BsonDocument.parse(jsonQuery);
-        return Observable.fromPublisher(usersCollection.find(query).first()).firstElement().map(this::convert);
+        return Observable.fromPublisher(usersCollection.find(findUserByUsernameQuery.render(username)).first()).firstElement().map(this::convert);
     }
 
     @Override
@@ -136,10 +141,20 @@ public class MongoUserProvider implements UserProvider, InitializingBean {
     public void afterPropertiesSet() {
         // init users collection
         usersCollection = this.mongoClient.getDatabase(this.configuration.getDatabase()).getCollection(this.configuration.getUsersCollection());
+        // compile the lookup query once
+        findUserByUsernameQuery = BsonQueryTemplate.compile(this.configuration.getFindUserByUsernameQuery());
         // create index on username field
         Observable.fromPublisher(usersCollection.createIndex(new Document(configuration.getUsernameField(), 1))).subscribe();
     }
 
+    @Override
+    public void destroy() {
+        // the shared client is released by the configuration of this identity provider, closing twice has no effect
+        if (applicationContext instanceof ConfigurableApplicationContext) {
+            ((ConfigurableApplicationContext) applicationContext).close();
+        }
+    }
+
     private Maybe<User> findById(String userId) {
         return Observable.fromPublisher(usersCollection.find(eq(FIELD_ID, userId)).first()).firstElement().map(this::convert);
     }
@@ -163,9 +178,4 @@ public class MongoUserProvider implements UserProvider, InitializingBean {
         user.setAdditionalInformation(claims);
         return user;
     }
-
-    private String convertToJsonString(String rawString) {
-        rawString = rawString.replaceAll("[^\\{\\}\\[\\],:]+", "\"$0\"").replaceAll("\\s+","");
-        return rawString;
-    }
 }
@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.identityprovider.mongo.utils;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Query configured with {@code ?} placeholders (e.g. <code>{username: ?}</code>), compiled once into a BSON template.
+ *
+ * Compiling the query resolves the path of every placeholder into a slot. Rendering the query for a user copies the
+ * template and only writes its slots with the raw value as a BSON string: the value is never parsed so it can not change
+ * the structure of the query.
+ *
+ * @author GraviteeSource Team
+ */
+public final class BsonQueryTemplate {
+
+    private static final String PLACEHOLDER = "?";
+
+    private final BsonDocument template;
+    private final Slot[] slots;
+    private final Set<String> fields;
+
+    private BsonQueryTemplate(BsonDocument template) {
+        List<Slot> slots = new ArrayList<>();
+        collectSlots(template, new ArrayList<>(), slots);
+        Set<String> fields = new LinkedHashSet<>();
+        for (Slot slot : slots) {
+            for (int i = slot.path.length - 1; i >= 0; i--) {
+                if (slot.path[i] instanceof String && !((String) slot.path[i]).startsWith("$")) {
+                    fields.add((String) slot.path[i]);
+                }
+            }
+        }
+        this.template = template;
+        this.slots = slots.toArray(new Slot[slots.size()]);
+        this.fields = Collections.unmodifiableSet(fields);
+    }
+
+    public static BsonQueryTemplate compile(String rawQuery) {
+        return new BsonQueryTemplate(BsonDocument.parse(convertToJsonString(rawQuery)));
+    }
+
+    /**
+     * @param value value of the placeholders
+     * @return the query with every placeholder replaced by the value
+     */
+    public BsonDocument render(String value) {
+        BsonDocument query = template.clone();
+        if (slots.length > 0) {
+            BsonString placeholderValue = new BsonString(value);
+            for (Slot slot : slots) {
+                slot.write(query, placeholderValue);
+            }
+        }
+        return query;
+    }
+
+    /**
+     * @return names of the fields compared to a placeholder (operators such as {@code $or} are walked through)
+     */
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    private static void collectSlots(BsonValue node, List<Object> path, List<Slot> slots) {
+        if (node.isDocument()) {
+            for (Map.Entry<String, BsonValue> entry : node.asDocument().entrySet()) {
+                path.add(entry.getKey());
+                collectSlots(entry.getValue(), path, slots);
+                path.remove(path.size() - 1);
+            }
+        } else if (node.isArray()) {
+            BsonArray array = node.asArray();
+            for (int i = 0; i < array.size(); i++) {
+                path.add(i);
+                collectSlots(array.get(i), path, slots);
+                path.remove(path.size() - 1);
+            }
+        } else if (node.isString() && node.asString().getValue().contains(PLACEHOLDER)) {
+            String text = node.asString().getValue();
+            slots.add(new Slot(path.toArray(), PLACEHOLDER.equals(text) ? null : text.split("\\?", -1)));
+        }
+    }
+
+    private static String convertToJsonString(String rawString) {
+        // quote every token, whitespaces around tokens are left to the JSON parser
+        return rawString.replaceAll("[^\\{\\}\\[\\],:\\s]+(\\s+[^\\{\\}\\[\\],:\\s]+)*", "\"$0\"");
+    }
+
+    /**
+     * Position of a placeholder in the template: keys of the documents and indexes of the arrays leading to it.
+     * The placeholder is either the whole string value or embedded in a text (e.g. a regular expression).
+     */
+    private static final class Slot {
+
+        private final Object[] path;
+        private final String[] fragments;
+
+        private Slot(Object[] path, String[] fragments) {
+            this.path = path;
+            this.fragments = fragments;
+        }
+
+        private void write(BsonDocument query, BsonString value) {
+            BsonValue parent = query;
+            for (int i = 0; i < path.length - 1; i++) {
+                parent = get(parent, path[i]);
+            }
+            BsonValue slotValue = fragments == null ? value : new BsonString(join(value.getValue()));
+            Object last = path[path.length - 1];
+            if (last instanceof String) {
+                parent.asDocument().put((String) last, slotValue);
+            } else {
+                parent.asArray().set((Integer) last, slotValue);
+            }
+        }
+
+        private String join(String value) {
+            StringBuilder builder = new StringBuilder(fragments[0]);
+            for (int i = 1; i < fragments.length; i++) {
+                builder.append(value).append(fragments[i]);
+            }
+            return builder.toString();
+        }
+
+        private static BsonValue get(BsonValue node, Object key) {
+            return key instanceof String ? node.asDocument().get(key) : node.asArray().get((Integer) key);
+        }
+    }
+}
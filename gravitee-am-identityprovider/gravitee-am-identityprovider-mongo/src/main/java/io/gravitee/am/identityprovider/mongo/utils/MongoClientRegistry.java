@@ -0,0 +1,156 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.identityprovider.mongo.utils;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Reference counted registry of {@link MongoClient}s, keyed by connection settings.
+ *
+ * Every Mongo identity provider instance lives in its own application context but all of them are loaded by the plugin
+ * class loader, so instances pointing to the same cluster share a single client (connection pool, threads, monitors).
+ * A client is closed once the last identity provider using it has released it.
+ *
+ * Connection settings are only kept as a digest since they may contain credentials.
+ *
+ * @author GraviteeSource Team
+ */
+public final class MongoClientRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MongoClientRegistry.class);
+    private static final MongoClientRegistry INSTANCE = new MongoClientRegistry();
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<Object, Entry> holders = new IdentityHashMap<>();
+    private long acquisitions;
+    private long sharedAcquisitions;
+
+    MongoClientRegistry() { }
+
+    /**
+     * Get the singleton {@link MongoClientRegistry}.
+     */
+    public static MongoClientRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the client registered for the given connection settings, the client is created if none exists yet.
+     * The holder must call {@link #release(Object)} once it does not use the client anymore.
+     *
+     * @param holder identity provider instance using the client
+     * @param settings connection settings (uri or host, port and credentials)
+     * @param factory creates the client if none is registered for the settings
+     * @return the shared client
+     */
+    public synchronized MongoClient acquire(Object holder, String settings, Supplier<MongoClient> factory) {
+        Entry held = holders.get(holder);
+        if (held != null) {
+            return held.client;
+        }
+
+        acquisitions++;
+        final String key = digest(settings);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry(key, factory.get());
+            entries.put(key, entry);
+            LOGGER.debug("New MongoDB client created for identity providers, {} client(s) registered", entries.size());
+        } else {
+            sharedAcquisitions++;
+        }
+        entry.references++;
+        holders.put(holder, entry);
+        return entry.client;
+    }
+
+    /**
+     * Release the client acquired by the holder, the client is closed when it is no longer used.
+     * Releasing twice has no effect.
+     *
+     * @param holder identity provider instance using the client
+     */
+    public synchronized void release(Object holder) {
+        Entry entry = holders.remove(holder);
+        if (entry == null) {
+            return;
+        }
+        if (--entry.references == 0) {
+            entries.remove(entry.key);
+            entry.client.close();
+            LOGGER.debug("MongoDB client closed, {} client(s) registered", entries.size());
+        }
+    }
+
+    /**
+     * @return number of open clients
+     */
+    public synchronized int getClientCount() {
+        return entries.size();
+    }
+
+    /**
+     * @return number of identity provider instances currently holding a client
+     */
+    public synchronized int getReferenceCount() {
+        return holders.size();
+    }
+
+    /**
+     * @return total number of acquisitions since startup
+     */
+    public synchronized long getAcquisitions() {
+        return acquisitions;
+    }
+
+    /**
+     * @return number of acquisitions served by an already open client (i.e. connection pools not created)
+     */
+    public synchronized long getSharedAcquisitions() {
+        return sharedAcquisitions;
+    }
+
+    private static String digest(String settings) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(messageDigest.digest(settings.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static class Entry {
+        private final String key;
+        private final MongoClient client;
+        private int references;
+
+        Entry(String key, MongoClient client) {
+            this.key = key;
+            this.client = client;
+        }
+    }
+}
@@ -15,21 +15,27 @@
  */
 package io.gravitee.am.identityprovider.mongo.authentication;
 
+import io.gravitee.am.gateway.handler.auth.impl.DefaultPasswordHashingService;
 import io.gravitee.am.identityprovider.api.Authentication;
 import io.gravitee.am.identityprovider.api.AuthenticationProvider;
 import io.gravitee.am.identityprovider.api.User;
 import io.gravitee.am.identityprovider.mongo.authentication.spring.MongoAuthenticationProviderConfiguration;
 import io.gravitee.am.service.exception.authentication.BadCredentialsException;
+import io.gravitee.am.service.exception.authentication.InternalAuthenticationServiceException;
 import io.gravitee.am.service.exception.authentication.UsernameNotFoundException;
 import io.reactivex.observers.TestObserver;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.support.AnnotationConfigContextLoader;
 
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
@@ -37,11 +43,18 @@ import java.util.Map;
  */
 @RunWith(SpringJUnit4ClassRunner.class)
 @ContextConfiguration(classes = { MongoAuthenticationProviderTestConfiguration.class, MongoAuthenticationProviderConfiguration.class }, loader = AnnotationConfigContextLoader.class)
+@TestPropertySource(properties = {
+        "authentication.password.workers=1",
+        "authentication.password.queueCapacity=1"
+})
 public class MongoAuthenticationProviderTest {
 
     @Autowired
     private AuthenticationProvider authenticationProvider;
 
+    @Autowired
+    private DefaultPasswordHashingService passwordHashingService;
+
     @Test
     public void shouldLoadUserByUsername_authentication() {
         TestObserver<User> testObserver = authenticationProvider.loadUserByUsername(new Authentication() {
@@ -113,4 +126,42 @@ public class MongoAuthenticationProviderTest {
         testObserver.assertError(UsernameNotFoundException.class);
     }
 
+    @Test
+    public void shouldNotLoadUserByUsername_authentication_passwordWorkersSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(1);
+        // first task occupies the single worker, second one fills the queue
+        TestObserver<Boolean> running = passwordHashingService.execute(() -> {
+            started.countDown();
+            return latch.await(5, TimeUnit.SECONDS);
+        }).test();
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        TestObserver<Boolean> queued = passwordHashingService.execute(() -> true).test();
+
+        try {
+            TestObserver<User> testObserver = authenticationProvider.loadUserByUsername(new Authentication() {
+                @Override
+                public Object getCredentials() {
+                    return "bobspassword";
+                }
+
+                @Override
+                public Object getPrincipal() {
+                    return "bob";
+                }
+
+                @Override
+                public Map<String, Object> getAdditionalInformation() {
+                    return null;
+                }
+            }).test();
+
+            testObserver.awaitTerminalEvent();
+            testObserver.assertError(InternalAuthenticationServiceException.class);
+        } finally {
+            latch.countDown();
+            running.awaitTerminalEvent(5, TimeUnit.SECONDS);
+            queued.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        }
+    }
 }
@@ -17,6 +17,7 @@ package io.gravitee.am.identityprovider.mongo.authentication;
 
 import com.mongodb.reactivestreams.client.MongoCollection;
 import com.mongodb.reactivestreams.client.MongoDatabase;
+import io.gravitee.am.gateway.handler.auth.impl.DefaultPasswordHashingService;
 import io.gravitee.am.identityprovider.api.AuthenticationProvider;
 import io.gravitee.am.identityprovider.mongo.MongoIdentityProviderConfiguration;
 import io.gravitee.am.identityprovider.mongo.MongoIdentityProviderMapper;
@@ -68,6 +69,11 @@ public class MongoAuthenticationProviderTestConfiguration {
         return new MongoAuthenticationProvider();
     }
 
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public DefaultPasswordHashingService passwordHashingService() {
+        return new DefaultPasswordHashingService();
+    }
+
     @Bean
     public MongoIdentityProviderMapper mapper() {
         return new MongoIdentityProviderMapper();
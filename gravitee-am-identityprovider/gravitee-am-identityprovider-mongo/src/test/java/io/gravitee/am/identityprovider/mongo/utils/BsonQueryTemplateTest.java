@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.identityprovider.mongo.utils;
+
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class BsonQueryTemplateTest {
+
+    @Test
+    public void shouldRenderQuery() {
+        BsonQueryTemplate template = BsonQueryTemplate.compile("{username: ?}");
+
+        Assert.assertEquals(BsonDocument.parse("{\"username\": \"bob\"}"), template.render("bob"));
+        Assert.assertEquals(BsonDocument.parse("{\"username\": \"alice\"}"), template.render("alice"));
+    }
+
+    @Test
+    public void shouldRenderQuery_multiplePlaceholders() {
+        BsonQueryTemplate template = BsonQueryTemplate.compile("{$or: [{username: ?}, {email: ?}]}");
+
+        Assert.assertEquals(BsonDocument.parse("{\"$or\": [{\"username\": \"bob\"}, {\"email\": \"bob\"}]}"), template.render("bob"));
+        Assert.assertEquals(new LinkedHashSet<>(Arrays.asList("username", "email")), template.getFields());
+    }
+
+    @Test
+    public void shouldRenderQuery_embeddedPlaceholder() {
+        BsonQueryTemplate template = BsonQueryTemplate.compile("{username: {$regex: ^?$}, enabled: true}");
+
+        Assert.assertEquals(BsonDocument.parse("{\"username\": {\"$regex\": \"^bob$\"}, \"enabled\": \"true\"}"), template.render("bob"));
+        Assert.assertEquals(new LinkedHashSet<>(Arrays.asList("username")), template.getFields());
+    }
+
+    @Test
+    public void shouldRenderQuery_noPlaceholder() {
+        BsonQueryTemplate template = BsonQueryTemplate.compile("{enabled: true}");
+
+        Assert.assertEquals(BsonDocument.parse("{\"enabled\": \"true\"}"), template.render("bob"));
+        Assert.assertTrue(template.getFields().isEmpty());
+    }
+
+    @Test
+    public void shouldNotInjectQuery() {
+        BsonQueryTemplate template = BsonQueryTemplate.compile("{username: ?}");
+
+        BsonDocument query = template.render("bob}, {$where: sleep(1000)");
+        Assert.assertEquals(1, query.size());
+        Assert.assertEquals("bob}, {$where: sleep(1000)", query.getString("username").getValue());
+    }
+
+    @Test
+    public void shouldNotAlterTemplate() {
+        BsonQueryTemplate template = BsonQueryTemplate.compile("{username: ?}");
+        template.render("bob").put("username", new BsonString("alice"));
+
+        Assert.assertEquals(BsonDocument.parse("{\"username\": \"carol\"}"), template.render("carol"));
+    }
+}
@@ -23,6 +23,8 @@ import io.reactivex.Observable;
 import io.reactivex.Single;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
@@ -40,6 +42,11 @@ public class AccessTokenRepositoryProxy extends AbstractProxy<AccessTokenReposit
         return target.create(accessToken);
     }
 
+    @Override
+    public Completable bulkWrite(List<AccessToken> accessTokens) {
+        return target.bulkWrite(accessTokens);
+    }
+
     @Override
     public Completable delete(String token) {
         return target.delete(token);
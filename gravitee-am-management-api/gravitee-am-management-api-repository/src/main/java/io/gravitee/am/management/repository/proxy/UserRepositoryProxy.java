@@ -68,6 +68,11 @@ public class UserRepositoryProxy extends AbstractProxy<UserRepository> implement
         return target.findByIdIn(ids);
     }
 
+    @Override
+    public Single<User> upsertLogin(User user, boolean mergeRoles) {
+        return target.upsertLogin(user, mergeRoles);
+    }
+
     @Override
     public Maybe<User> findById(String id) {
         return target.findById(id);
@@ -25,6 +25,7 @@ import io.reactivex.Maybe;
 import io.reactivex.Single;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -106,7 +107,18 @@ public class IdentityProviderManagerImpl implements IdentityProviderManager {
         UserProvider userProvider = identityProviderPluginManager.create(identityProvider.getType(), identityProvider.getConfiguration());
         if (userProvider != null) {
             logger.info("Initializing user provider : {}", identityProvider.getId());
-            userProviders.put(identityProvider.getId(), userProvider);
+            release(identityProvider.getId(), userProviders.put(identityProvider.getId(), userProvider));
+        }
+    }
+
+    private void release(String identityProviderId, UserProvider userProvider) {
+        // user providers holding resources (database clients, ...) release them once they are replaced
+        if (userProvider instanceof DisposableBean) {
+            try {
+                ((DisposableBean) userProvider).destroy();
+            } catch (Exception e) {
+                logger.error("Unable to release user provider {}", identityProviderId, e);
+            }
         }
     }
 }
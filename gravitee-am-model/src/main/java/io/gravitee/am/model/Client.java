@@ -163,6 +163,22 @@ public class Client {
 
     private Map<String, Integer> scopeApprovals;
 
+    /**
+     * Access tokens issued to this client are validated using only their signature and expiration time
+     */
+    private boolean statelessTokenValidation;
+
+    /**
+     * How the client identity providers are tried during user authentication (sequential if not set)
+     */
+    private IdentityProviderStrategy identityProviderStrategy;
+
+    /**
+     * Identity provider to username pattern (regular expression, e.g. <code>.*@acme\.com</code>) routes,
+     * used by the {@link IdentityProviderStrategy#ROUTING} strategy
+     */
+    private Map<String, String> identityProviderRoutes;
+
     public String getId() {
         return id;
     }
@@ -606,6 +622,30 @@ public class Client {
         this.scopeApprovals = scopeApprovals;
     }
 
+    public boolean isStatelessTokenValidation() {
+        return statelessTokenValidation;
+    }
+
+    public void setStatelessTokenValidation(boolean statelessTokenValidation) {
+        this.statelessTokenValidation = statelessTokenValidation;
+    }
+
+    public IdentityProviderStrategy getIdentityProviderStrategy() {
+        return identityProviderStrategy;
+    }
+
+    public void setIdentityProviderStrategy(IdentityProviderStrategy identityProviderStrategy) {
+        this.identityProviderStrategy = identityProviderStrategy;
+    }
+
+    public Map<String, String> getIdentityProviderRoutes() {
+        return identityProviderRoutes;
+    }
+
+    public void setIdentityProviderRoutes(Map<String, String> identityProviderRoutes) {
+        this.identityProviderRoutes = identityProviderRoutes;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
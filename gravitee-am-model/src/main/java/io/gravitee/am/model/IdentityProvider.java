@@ -40,6 +40,8 @@ public class IdentityProvider {
 
     private boolean external;
 
+    private Long cacheTimeToLive;
+
     private Date createdAt;
 
     private Date updatedAt;
@@ -108,6 +110,14 @@ public class IdentityProvider {
         this.external = external;
     }
 
+    public Long getCacheTimeToLive() {
+        return cacheTimeToLive;
+    }
+
+    public void setCacheTimeToLive(Long cacheTimeToLive) {
+        this.cacheTimeToLive = cacheTimeToLive;
+    }
+
     public Date getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,41 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.model;
+
+/**
+ * How the identity providers of a client are tried to authenticate a user.
+ *
+ * @author GraviteeSource Team
+ */
+public enum IdentityProviderStrategy {
+
+    /**
+     * Identity providers are tried one after the other until one of them authenticates the user.
+     */
+    SEQUENTIAL,
+
+    /**
+     * Identity providers are tried at once, the first successful authentication cancels the pending ones.
+     */
+    PARALLEL,
+
+    /**
+     * The identity provider is selected by matching the username against the client routes
+     * (e.g. an email suffix), identity providers are tried sequentially if no route matches.
+     * The login form does not carry a separate domain hint, the domain is taken from the username.
+     */
+    ROUTING
+}
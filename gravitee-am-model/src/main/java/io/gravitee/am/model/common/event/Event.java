@@ -15,14 +15,24 @@
  */
 package io.gravitee.am.model.common.event;
 
+import java.util.Date;
+
 /**
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
  */
 public class Event {
 
+    private String id;
     private Type type;
     private Payload payload;
+    private Date createdAt;
+    /**
+     * Position of the event in the event log of its security domain
+     */
+    private long sequence;
+
+    public Event() { }
 
     public Event(Type type, Payload payload) {
         this.type = type;
@@ -36,4 +46,28 @@ public class Event {
     public Payload getPayload() {
         return payload;
     }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
 }
@@ -71,6 +71,9 @@ public class IdentityProviderPluginManagerImpl implements IdentityProviderPlugin
     @Autowired
     private Vertx vertx;
 
+    @Autowired(required = false)
+    private PasswordHashingExecutor passwordHashingExecutor;
+
     @Override
     public void register(IdentityProviderDefinition identityProviderPluginDefinition, boolean oauth2Provider) {
         identityProviders.putIfAbsent(identityProviderPluginDefinition.getPlugin().id(),
@@ -204,6 +207,12 @@ public class IdentityProviderPluginManagerImpl implements IdentityProviderPlugin
                     configurableApplicationContext.addBeanFactoryPostProcessor(
                             new VertxBeanFactoryPostProcessor(vertx));
 
+                    // Add password hashing worker pool (only provided by the gateway)
+                    if (passwordHashingExecutor != null) {
+                        configurableApplicationContext.addBeanFactoryPostProcessor(
+                                new PasswordHashingExecutorBeanFactoryPostProcessor(passwordHashingExecutor));
+                    }
+
                     // Add identity provider configuration bean
                     configurableApplicationContext.addBeanFactoryPostProcessor(
                             new IdentityProviderConfigurationBeanFactoryPostProcessor(identityProviderConfiguration));
@@ -258,6 +267,12 @@ public class IdentityProviderPluginManagerImpl implements IdentityProviderPlugin
                     configurableApplicationContext.addBeanFactoryPostProcessor(
                             new VertxBeanFactoryPostProcessor(vertx));
 
+                    // Add password hashing worker pool (only provided by the gateway)
+                    if (passwordHashingExecutor != null) {
+                        configurableApplicationContext.addBeanFactoryPostProcessor(
+                                new PasswordHashingExecutorBeanFactoryPostProcessor(passwordHashingExecutor));
+                    }
+
                     // Add identity provider configuration bean
                     configurableApplicationContext.addBeanFactoryPostProcessor(
                             new IdentityProviderConfigurationBeanFactoryPostProcessor(identityProviderConfiguration));
@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.management.api;
+
+import io.gravitee.am.model.common.event.Event;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+
+import java.util.List;
+
+/**
+ * Append-only log of the configuration changes made on the security domains.
+ * Events of a security domain are numbered with a sequence incremented by one for each new event of the domain.
+ *
+ * @author GraviteeSource Team
+ */
+public interface EventRepository {
+
+    /**
+     * Append an event to the log of its security domain.
+     *
+     * @param event the event to append
+     * @return the appended event with its identifier and its sequence
+     */
+    Single<Event> create(Event event);
+
+    /**
+     * Stream the events appended after the provided one, in append order.
+     * The stream never completes: new events are pushed to the subscriber as soon as they are stored.
+     *
+     * @param lastEventId identifier of the last event already processed (resume token),
+     *                    <code>null</code> to only receive the events appended from now on
+     * @return the stream of events
+     */
+    Flowable<Event> watch(String lastEventId);
+
+    /**
+     * Retrieve the events of a security domain appended after the provided sequence, ordered by sequence.
+     * Used to replay the events missed by a gateway, one batch at a time.
+     *
+     * @param domain the security domain
+     * @param sequence the sequence of the last event already processed (exclusive lower bound)
+     * @param limit the maximum number of events to retrieve
+     * @return the events ordered by sequence
+     */
+    Single<List<Event>> findByDomainAndSequenceAfter(String domain, long sequence, int limit);
+
+    /**
+     * Retrieve the last event appended to the log of a security domain.
+     *
+     * @param domain the security domain
+     * @return the last event of the domain or empty if no event has been appended yet
+     */
+    Maybe<Event> findLastByDomain(String domain);
+}
@@ -44,5 +44,14 @@ public interface UserRepository extends CrudRepository<User, String> {
 
     Single<List<User>> findByIdIn(List<String> ids);
 
-
+    /**
+     * Record a login of the user identified by its domain, username and source in a single atomic operation : the
+     * user is created if it does not exist yet, otherwise its external id, client and additional information are
+     * replaced, its logins count is incremented and its last login date is set.
+     *
+     * @param user the user who has just logged in
+     * @param mergeRoles <code>true</code> to add the user roles to the stored ones, <code>false</code> to replace them
+     * @return the stored user
+     */
+    Single<User> upsertLogin(User user, boolean mergeRoles);
 }
@@ -21,6 +21,8 @@ import io.reactivex.Maybe;
 import io.reactivex.Observable;
 import io.reactivex.Single;
 
+import java.util.List;
+
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
@@ -31,6 +33,14 @@ public interface AccessTokenRepository {
 
     Single<AccessToken> create(AccessToken accessToken);
 
+    /**
+     * Store access tokens in a single unordered batch, stored tokens are not read back.
+     *
+     * @param accessTokens access tokens to store
+     * @return completion of the batch
+     */
+    Completable bulkWrite(List<AccessToken> accessTokens);
+
     Completable delete(String token);
 
     /**
@@ -20,6 +20,8 @@ import io.reactivex.Completable;
 import io.reactivex.Maybe;
 import io.reactivex.Single;
 
+import java.util.List;
+
 /**
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
@@ -30,5 +32,13 @@ public interface RefreshTokenRepository {
 
     Single<RefreshToken> create(RefreshToken refreshToken);
 
+    /**
+     * Store refresh tokens in a single unordered batch, stored tokens are not read back.
+     *
+     * @param refreshTokens refresh tokens to store
+     * @return completion of the batch
+     */
+    Completable bulkWrite(List<RefreshToken> refreshTokens);
+
     Completable delete(String token);
 }
@@ -0,0 +1,39 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.oauth2.api;
+
+import io.gravitee.am.repository.oauth2.model.RevokedToken;
+import io.reactivex.Observable;
+import io.reactivex.Single;
+
+import java.util.Date;
+
+/**
+ * @author GraviteeSource Team
+ */
+public interface RevokedTokenRepository {
+
+    Single<RevokedToken> create(RevokedToken revokedToken);
+
+    /**
+     * Retrieve tokens revoked since the provided date, ordered by revocation date.
+     * Used by gateway nodes to incrementally synchronize their revocation list.
+     *
+     * @param date the lower bound (inclusive) of the revocation date
+     * @return a collection of revoked tokens
+     */
+    Observable<RevokedToken> findByCreatedAtAfter(Date date);
+}
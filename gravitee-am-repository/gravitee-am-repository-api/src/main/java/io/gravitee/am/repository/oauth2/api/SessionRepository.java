@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.oauth2.api;
+
+import io.gravitee.am.repository.oauth2.model.Session;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+
+/**
+ * @author GraviteeSource Team
+ */
+public interface SessionRepository {
+
+    /**
+     * Retrieve a session which has not expired yet.
+     *
+     * @param id the session identifier
+     * @return the session or nothing if it does not exist or has expired
+     */
+    Maybe<Session> findById(String id);
+
+    /**
+     * Create the session or replace its previous version.
+     */
+    Single<Session> save(Session session);
+
+    Completable delete(String id);
+
+    /**
+     * Delete all the sessions of a security domain.
+     */
+    Completable deleteByDomain(String domain);
+
+    /**
+     * Count the sessions of a security domain which have not expired yet.
+     */
+    Single<Long> countByDomain(String domain);
+}
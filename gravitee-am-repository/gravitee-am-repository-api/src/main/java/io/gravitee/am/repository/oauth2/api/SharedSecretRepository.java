@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.oauth2.api;
+
+import io.gravitee.am.repository.oauth2.model.SharedSecret;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+
+/**
+ * @author GraviteeSource Team
+ */
+public interface SharedSecretRepository {
+
+    /**
+     * Retrieve the secret with the identifier of the given one, which is only created if no secret exists yet with
+     * this identifier. All the gateway nodes asking for the same secret therefore get the same value.
+     *
+     * @param secret the secret to create if it does not exist yet
+     * @return the stored secret
+     */
+    Single<SharedSecret> findOrCreate(SharedSecret secret);
+
+    /**
+     * Retrieve a secret without creating it.
+     *
+     * @param id the identifier of the secret
+     * @return the stored secret or nothing if no secret exists with this identifier
+     */
+    Maybe<SharedSecret> findById(String id);
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.mongodb.common;
+
+import com.mongodb.client.model.FindOneAndReplaceOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Create and update operations honoring the configured {@link WriteMode}.
+ *
+ * The write mode is read from the <code>{scope}.mongodb.write.mode</code> property and can be overridden per collection
+ * with <code>{scope}.mongodb.write.{collection}.mode</code>. Documents are read back unless another mode is configured.
+ *
+ * @author GraviteeSource Team
+ */
+public abstract class AbstractMongoRepository {
+
+    private static final WriteMode DEFAULT_WRITE_MODE = WriteMode.READ_BACK;
+
+    @Autowired
+    protected Environment environment;
+
+    private final String propertyPrefix;
+    private final Map<String, WriteMode> writeModes = new ConcurrentHashMap<>();
+
+    protected AbstractMongoRepository(String scope) {
+        this.propertyPrefix = scope + ".mongodb.write.";
+    }
+
+    protected <T, R> Single<R> insert(MongoCollection<T> collection, T document, Function<T, R> converter, Supplier<Maybe<R>> reader) {
+        Single<R> insert = Single.fromPublisher(collection.insertOne(document)).map(success -> converter.apply(document));
+        return writeMode(collection) == WriteMode.READ_BACK ? insert.flatMap(entity -> reader.get().toSingle()) : insert;
+    }
+
+    protected <T, R> Single<R> replace(MongoCollection<T> collection, Bson filter, T document, Function<T, R> converter, Supplier<Maybe<R>> reader) {
+        switch (writeMode(collection)) {
+            case READ_BACK:
+                return Single.fromPublisher(collection.replaceOne(filter, document)).flatMap(updateResult -> reader.get().toSingle());
+            case RETURN_AFTER:
+                return Single.fromPublisher(collection.findOneAndReplace(filter, document, new FindOneAndReplaceOptions().returnDocument(ReturnDocument.AFTER)))
+                        .map(converter::apply);
+            default:
+                return Single.fromPublisher(collection.replaceOne(filter, document))
+                        .map(updateResult -> {
+                            // keep the same behavior as the read back when the document does not exist
+                            if (updateResult.getMatchedCount() == 0) {
+                                throw new NoSuchElementException();
+                            }
+                            return converter.apply(document);
+                        });
+        }
+    }
+
+    protected WriteMode writeMode(MongoCollection<?> collection) {
+        return writeModes.computeIfAbsent(collection.getNamespace().getCollectionName(), collectionName -> {
+            String mode = environment.getProperty(propertyPrefix + collectionName + ".mode",
+                    environment.getProperty(propertyPrefix + "mode", DEFAULT_WRITE_MODE.name()));
+            return WriteMode.valueOf(mode.toUpperCase());
+        });
+    }
+}
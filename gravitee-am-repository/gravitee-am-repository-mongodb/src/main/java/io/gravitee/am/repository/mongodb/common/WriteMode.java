@@ -0,0 +1,39 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.mongodb.common;
+
+/**
+ * How create and update operations build the entity they return.
+ *
+ * @author GraviteeSource Team
+ */
+public enum WriteMode {
+
+    /**
+     * Write the document then read it back by its identifier (two round trips).
+     */
+    READ_BACK,
+
+    /**
+     * Write the document then return the written document converted back to the entity (one round trip).
+     */
+    RETURN_INPUT,
+
+    /**
+     * Same as {@link #RETURN_INPUT} for creations, updates use findOneAndReplace and return the document as stored by the server (one round trip).
+     */
+    RETURN_AFTER
+}
@@ -73,13 +73,13 @@ public class MongoCertificateRepository extends AbstractManagementMongoRepositor
     public Single<Certificate> create(Certificate item) {
         CertificateMongo certificate = convert(item);
         certificate.setId(certificate.getId() == null ? RandomString.generate() : certificate.getId());
-        return Single.fromPublisher(certificatesCollection.insertOne(certificate)).flatMap(success -> findById(certificate.getId()).toSingle());
+        return insert(certificatesCollection, certificate, this::convert, () -> findById(certificate.getId()));
     }
 
     @Override
     public Single<Certificate> update(Certificate item) {
         CertificateMongo certificate = convert(item);
-        return Single.fromPublisher(certificatesCollection.replaceOne(eq(FIELD_ID, certificate.getId()), certificate)).flatMap(updateResult -> findById(certificate.getId()).toSingle());
+        return replace(certificatesCollection, eq(FIELD_ID, certificate.getId()), certificate, this::convert, () -> findById(certificate.getId()));
     }
 
     @Override
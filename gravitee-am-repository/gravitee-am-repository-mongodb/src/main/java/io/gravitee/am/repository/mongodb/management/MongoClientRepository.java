@@ -18,6 +18,7 @@ package io.gravitee.am.repository.mongodb.management;
 import com.mongodb.reactivestreams.client.MongoCollection;
 import io.gravitee.am.common.utils.RandomString;
 import io.gravitee.am.model.Client;
+import io.gravitee.am.model.IdentityProviderStrategy;
 import io.gravitee.am.model.common.Page;
 import io.gravitee.am.model.jose.ECKey;
 import io.gravitee.am.model.jose.JWK;
@@ -134,13 +135,13 @@ public class MongoClientRepository extends AbstractManagementMongoRepository imp
     public Single<Client> create(Client item) {
         ClientMongo client = convert(item);
         client.setId(client.getId() == null ? RandomString.generate() : client.getId());
-        return Single.fromPublisher(clientsCollection.insertOne(client)).flatMap(success -> findById(client.getId()).toSingle());
+        return insert(clientsCollection, client, this::convert, () -> findById(client.getId()));
     }
 
     @Override
     public Single<Client> update(Client item) {
         ClientMongo client = convert(item);
-        return Single.fromPublisher(clientsCollection.replaceOne(eq(FIELD_ID, client.getId()), client)).flatMap(success -> findById(client.getId()).toSingle());
+        return replace(clientsCollection, eq(FIELD_ID, client.getId()), client, this::convert, () -> findById(client.getId()));
     }
 
     @Override
@@ -219,6 +220,9 @@ public class MongoClientRepository extends AbstractManagementMongoRepository imp
         client.setCreatedAt(clientMongo.getCreatedAt());
         client.setUpdatedAt(clientMongo.getUpdatedAt());
         client.setScopeApprovals((Map)clientMongo.getScopeApprovals());
+        client.setStatelessTokenValidation(clientMongo.isStatelessTokenValidation());
+        client.setIdentityProviderStrategy(clientMongo.getIdentityProviderStrategy() != null ? IdentityProviderStrategy.valueOf(clientMongo.getIdentityProviderStrategy()) : null);
+        client.setIdentityProviderRoutes((Map)clientMongo.getIdentityProviderRoutes());
         return client;
     }
 
@@ -283,6 +287,9 @@ public class MongoClientRepository extends AbstractManagementMongoRepository imp
         clientMongo.setCreatedAt(client.getCreatedAt());
         clientMongo.setUpdatedAt(client.getUpdatedAt());
         clientMongo.setScopeApprovals(client.getScopeApprovals() != null ? new Document((Map)client.getScopeApprovals()) : new Document());
+        clientMongo.setStatelessTokenValidation(client.isStatelessTokenValidation());
+        clientMongo.setIdentityProviderStrategy(client.getIdentityProviderStrategy() != null ? client.getIdentityProviderStrategy().name() : null);
+        clientMongo.setIdentityProviderRoutes(client.getIdentityProviderRoutes() != null ? new Document((Map)client.getIdentityProviderRoutes()) : null);
         return clientMongo;
     }
 
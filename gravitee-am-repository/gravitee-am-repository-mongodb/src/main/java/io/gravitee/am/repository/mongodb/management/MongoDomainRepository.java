@@ -85,13 +85,13 @@ public class MongoDomainRepository extends AbstractManagementMongoRepository imp
     public Single<Domain> create(Domain item) {
         DomainMongo domain = convert(item);
         domain.setId(domain.getId() == null ? RandomString.generate() : domain.getId());
-        return Single.fromPublisher(domainsCollection.insertOne(domain)).flatMap(success -> findById(domain.getId()).toSingle());
+        return insert(domainsCollection, domain, this::convert, () -> findById(domain.getId()));
     }
 
     @Override
     public Single<Domain> update(Domain item) {
         DomainMongo domain = convert(item);
-        return Single.fromPublisher(domainsCollection.replaceOne(eq(FIELD_ID, domain.getId()), domain)).flatMap(updateResult -> findById(domain.getId()).toSingle());
+        return replace(domainsCollection, eq(FIELD_ID, domain.getId()), domain, this::convert, () -> findById(domain.getId()));
     }
 
     @Override
@@ -195,9 +195,10 @@ public class MongoDomainRepository extends AbstractManagementMongoRepository imp
     private Document convert(Event event) {
         Document document = new Document();
         document.put("type", event.getType().toString());
-        Payload payload = event.getPayload();
-        payload.put("action", payload.getAction().toString());
-        document.put("content", payload);
+        // copy the payload, the event instance is still used by the caller
+        Document content = new Document(event.getPayload());
+        content.put("action", event.getPayload().getAction().toString());
+        document.put("content", content);
 
         return document;
     }
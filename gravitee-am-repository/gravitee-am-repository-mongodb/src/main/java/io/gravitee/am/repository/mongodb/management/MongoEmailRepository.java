@@ -108,13 +108,13 @@ public class MongoEmailRepository extends AbstractManagementMongoRepository impl
     public Single<Email> create(Email item) {
         EmailMongo email = convert(item);
         email.setId(email.getId() == null ? RandomString.generate() : email.getId());
-        return Single.fromPublisher(emailsCollection.insertOne(email)).flatMap(success -> findById(email.getId()).toSingle());
+        return insert(emailsCollection, email, this::convert, () -> findById(email.getId()));
     }
 
     @Override
     public Single<Email> update(Email item) {
         EmailMongo email = convert(item);
-        return Single.fromPublisher(emailsCollection.replaceOne(eq(FIELD_ID, email.getId()), email)).flatMap(updateResult -> findById(email.getId()).toSingle());
+        return replace(emailsCollection, eq(FIELD_ID, email.getId()), email, this::convert, () -> findById(email.getId()));
     }
 
     @Override
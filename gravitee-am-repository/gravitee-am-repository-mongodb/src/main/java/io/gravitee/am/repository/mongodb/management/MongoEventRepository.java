@@ -0,0 +1,234 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.mongodb.management;
+
+import com.mongodb.CursorType;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.gravitee.am.model.common.event.Action;
+import io.gravitee.am.model.common.event.Event;
+import io.gravitee.am.model.common.event.Payload;
+import io.gravitee.am.model.common.event.Type;
+import io.gravitee.am.repository.management.api.EventRepository;
+import io.gravitee.am.repository.mongodb.common.LoggableIndexSubscriber;
+import io.gravitee.am.repository.mongodb.management.internal.model.EventMongo;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
+import io.reactivex.Observable;
+import io.reactivex.Single;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.mongodb.client.model.Filters.*;
+import static com.mongodb.client.model.Updates.max;
+
+/**
+ * Events are stored in the <code>events</code> collection, expired after the configured retention period, with a
+ * unique sequence for each domain. An event is only appended once the previous event of its domain has been stored:
+ * the events of a domain are visible in sequence order. The last known sequence of each domain is kept in the
+ * <code>event_sequences</code> collection so that sequences are never reused once old events have expired.
+ *
+ * Each appended event is then copied into the capped <code>event_notifications</code> collection, watched through a
+ * tailable cursor : the cursor stays open on the server side and new events are pushed to the gateways as soon as
+ * they are inserted, without any collection scan. Notifications may be evicted, the gateways replay the missed
+ * events from the <code>events</code> collection.
+ *
+ * @author GraviteeSource Team
+ */
+@Component
+public class MongoEventRepository extends AbstractManagementMongoRepository implements EventRepository {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MongoEventRepository.class);
+    private static final String COLLECTION_NAME = "events";
+    private static final String NOTIFICATIONS_COLLECTION_NAME = "event_notifications";
+    private static final String FIELD_ID = "_id";
+    private static final String FIELD_DOMAIN = "domain";
+    private static final String FIELD_SEQUENCE = "sequence";
+    private static final String FIELD_VALUE = "value";
+    private static final String FIELD_CREATED_AT = "createdAt";
+    private static final String FIELD_NATURAL_ORDER = "$natural";
+    private static final String PAYLOAD_ACTION = "action";
+    // error code returned when the collection already exists
+    private static final int NAMESPACE_EXISTS = 48;
+    private static final int DUPLICATE_KEY_ERROR_CODE = 11000;
+    // maximum attempts to append an event while other events of the same domain are appended
+    private static final int MAX_APPEND_ATTEMPTS = 10;
+    private MongoCollection<EventMongo> eventsCollection;
+    private MongoCollection<EventMongo> notificationsCollection;
+    private MongoCollection<Document> sequencesCollection;
+
+    @PostConstruct
+    public void init() {
+        long retention = environment.getProperty("management.mongodb.events.retention", Long.class, 7L * 24 * 3600);
+        long size = environment.getProperty("management.mongodb.events.notifications.size", Long.class, 10L * 1024 * 1024);
+        eventsCollection = mongoOperations.getCollection(COLLECTION_NAME, EventMongo.class);
+        // the unique sequence prevents two events of the same domain from being appended concurrently
+        eventsCollection.createIndex(new Document(FIELD_DOMAIN, 1).append(FIELD_SEQUENCE, 1),
+                new IndexOptions().unique(true).partialFilterExpression(gt(FIELD_SEQUENCE, 0))).subscribe(new LoggableIndexSubscriber());
+        eventsCollection.createIndex(new Document(FIELD_CREATED_AT, 1), new IndexOptions().expireAfter(retention, TimeUnit.SECONDS)).subscribe(new LoggableIndexSubscriber());
+        // the collection must be created as capped before the first insert to be tailable
+        Completable.fromPublisher(mongoOperations.createCollection(NOTIFICATIONS_COLLECTION_NAME, new CreateCollectionOptions().capped(true).sizeInBytes(size)))
+                .onErrorComplete(ex -> ex instanceof MongoCommandException && ((MongoCommandException) ex).getErrorCode() == NAMESPACE_EXISTS)
+                .blockingAwait();
+        notificationsCollection = mongoOperations.getCollection(NOTIFICATIONS_COLLECTION_NAME, EventMongo.class);
+        sequencesCollection = mongoOperations.getCollection("event_sequences");
+    }
+
+    @Override
+    public Single<Event> create(Event item) {
+        EventMongo event = convert(item);
+        event.setId(item.getId() == null ? new ObjectId() : new ObjectId(item.getId()));
+        event.setCreatedAt(item.getCreatedAt() == null ? new Date() : item.getCreatedAt());
+        Completable append = event.getDomain() == null ? Completable.fromPublisher(eventsCollection.insertOne(event)) : append(event);
+        return append
+                .andThen(Completable.fromPublisher(notificationsCollection.insertOne(event)))
+                .andThen(Single.fromCallable(() -> convert(event)));
+    }
+
+    @Override
+    public Single<List<Event>> findByDomainAndSequenceAfter(String domain, long sequence, int limit) {
+        return Observable.fromPublisher(eventsCollection
+                .find(and(eq(FIELD_DOMAIN, domain), gt(FIELD_SEQUENCE, sequence)))
+                .sort(new Document(FIELD_SEQUENCE, 1))
+                .limit(limit))
+                .map(this::convert)
+                .collect(ArrayList::new, List::add);
+    }
+
+    @Override
+    public Maybe<Event> findLastByDomain(String domain) {
+        return Observable.fromPublisher(eventsCollection.find(eq(FIELD_DOMAIN, domain)).sort(new Document(FIELD_SEQUENCE, -1)).first())
+                .firstElement()
+                .map(this::convert);
+    }
+
+    @Override
+    public Flowable<Event> watch(String lastEventId) {
+        return Flowable.defer(() -> {
+            AtomicReference<ObjectId> lastId = new AtomicReference<>(lastEventId == null ? null : new ObjectId(lastEventId));
+            Maybe<ObjectId> start = lastId.get() != null ? Maybe.just(lastId.get()) : findLastId();
+
+            return start
+                    .doOnSuccess(lastId::set)
+                    .ignoreElement()
+                    .andThen(Flowable.defer(() -> tail(lastId.get())))
+                    // skip the resume event itself, it is matched to keep the cursor alive
+                    .filter(eventMongo -> !eventMongo.getId().equals(lastId.get()))
+                    .doOnNext(eventMongo -> lastId.set(eventMongo.getId()))
+                    // a tailable cursor dies when the collection is empty, wait for the first events
+                    .repeatWhen(completed -> completed.delay(100, TimeUnit.MILLISECONDS))
+                    .retryWhen(errors -> errors
+                            .doOnNext(ex -> LOGGER.error("An error occurs while watching events, resume from {}", lastId.get(), ex))
+                            .delay(1, TimeUnit.SECONDS))
+                    .map(this::convert);
+        });
+    }
+
+    private Flowable<EventMongo> tail(ObjectId lastId) {
+        return Flowable.fromPublisher(notificationsCollection
+                .find(lastId == null ? new Document() : gte(FIELD_ID, lastId))
+                .cursorType(CursorType.TailableAwait)
+                .maxAwaitTime(1, TimeUnit.SECONDS));
+    }
+
+    private Completable append(EventMongo event) {
+        final String domain = event.getDomain();
+        return lastSequence(domain)
+                .flatMapCompletable(sequence -> {
+                    event.setSequence(sequence + 1);
+                    return Completable.fromPublisher(eventsCollection.insertOne(event))
+                            // the sequence is already used by another event, move the last sequence forward and try again
+                            .onErrorResumeNext(error -> isDuplicateKey(error) ?
+                                    updateLastSequence(domain, event.getSequence()).andThen(Completable.error(error)) : Completable.error(error));
+                })
+                .retry((count, error) -> count < MAX_APPEND_ATTEMPTS && isDuplicateKey(error))
+                .andThen(Completable.defer(() -> updateLastSequence(domain, event.getSequence())));
+    }
+
+    private Single<Long> lastSequence(String domain) {
+        return Observable.fromPublisher(sequencesCollection.find(eq(FIELD_ID, domain)).first())
+                .firstElement()
+                .map(document -> ((Number) document.get(FIELD_VALUE)).longValue())
+                .toSingle(0L);
+    }
+
+    private Completable updateLastSequence(String domain, long sequence) {
+        return Completable.fromPublisher(sequencesCollection.updateOne(eq(FIELD_ID, domain), max(FIELD_VALUE, sequence), new UpdateOptions().upsert(true)))
+                // the sequence document has been created concurrently, the next append will move it forward if needed
+                .onErrorComplete(this::isDuplicateKey);
+    }
+
+    private boolean isDuplicateKey(Throwable error) {
+        return error instanceof MongoException && ((MongoException) error).getCode() == DUPLICATE_KEY_ERROR_CODE;
+    }
+
+    private Maybe<ObjectId> findLastId() {
+        return Observable.fromPublisher(notificationsCollection.find().sort(new Document(FIELD_NATURAL_ORDER, -1)).first())
+                .firstElement()
+                .map(EventMongo::getId);
+    }
+
+    private Event convert(EventMongo eventMongo) {
+        if (eventMongo == null) {
+            return null;
+        }
+
+        Payload payload = new Payload(eventMongo.getPayload());
+        Object action = payload.get(PAYLOAD_ACTION);
+        if (action instanceof String) {
+            payload.put(PAYLOAD_ACTION, Action.valueOf((String) action));
+        }
+        Event event = new Event(Type.valueOf(eventMongo.getType()), payload);
+        event.setId(eventMongo.getId().toHexString());
+        event.setSequence(eventMongo.getSequence());
+        event.setCreatedAt(eventMongo.getCreatedAt());
+        return event;
+    }
+
+    private EventMongo convert(Event event) {
+        if (event == null) {
+            return null;
+        }
+
+        // copy the payload, the model instance may still be used by the caller
+        Document payload = new Document(event.getPayload());
+        Object action = payload.get(PAYLOAD_ACTION);
+        if (action != null) {
+            payload.put(PAYLOAD_ACTION, action.toString());
+        }
+
+        EventMongo eventMongo = new EventMongo();
+        eventMongo.setType(event.getType().toString());
+        eventMongo.setDomain(event.getPayload().getDomain());
+        eventMongo.setPayload(payload);
+        return eventMongo;
+    }
+}
@@ -73,13 +73,13 @@ public class MongoExtensionGrantRepository extends AbstractManagementMongoReposi
     public Single<ExtensionGrant> create(ExtensionGrant item) {
         ExtensionGrantMongo extensionGrant = convert(item);
         extensionGrant.setId(extensionGrant.getId() == null ? RandomString.generate() : extensionGrant.getId());
-        return Single.fromPublisher(extensionGrantsCollection.insertOne(extensionGrant)).flatMap(success -> findById(extensionGrant.getId()).toSingle());
+        return insert(extensionGrantsCollection, extensionGrant, this::convert, () -> findById(extensionGrant.getId()));
     }
 
     @Override
     public Single<ExtensionGrant> update(ExtensionGrant item) {
         ExtensionGrantMongo extensionGrant = convert(item);
-        return Single.fromPublisher(extensionGrantsCollection.replaceOne(eq(FIELD_ID, extensionGrant.getId()), extensionGrant)).flatMap(updateResult -> findById(extensionGrant.getId()).toSingle());
+        return replace(extensionGrantsCollection, eq(FIELD_ID, extensionGrant.getId()), extensionGrant, this::convert, () -> findById(extensionGrant.getId()));
     }
 
     @Override
@@ -104,13 +104,13 @@ public class MongoFormRepository extends AbstractManagementMongoRepository imple
     public Single<Form> create(Form item) {
         FormMongo page = convert(item);
         page.setId(page.getId() == null ? RandomString.generate() : page.getId());
-        return Single.fromPublisher(formsCollection.insertOne(page)).flatMap(success -> findById(page.getId()).toSingle());
+        return insert(formsCollection, page, this::convert, () -> findById(page.getId()));
     }
 
     @Override
     public Single<Form> update(Form item) {
         FormMongo page = convert(item);
-        return Single.fromPublisher(formsCollection.replaceOne(eq(FIELD_ID, page.getId()), page)).flatMap(updateResult -> findById(page.getId()).toSingle());
+        return replace(formsCollection, eq(FIELD_ID, page.getId()), page, this::convert, () -> findById(page.getId()));
     }
 
     @Override
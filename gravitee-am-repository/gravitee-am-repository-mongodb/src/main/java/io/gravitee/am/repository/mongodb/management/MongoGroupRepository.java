@@ -99,13 +99,13 @@ public class MongoGroupRepository extends AbstractManagementMongoRepository impl
     public Single<Group> create(Group item) {
         GroupMongo group = convert(item);
         group.setId(group.getId() == null ? RandomString.generate() : group.getId());
-        return Single.fromPublisher(groupsCollection.insertOne(group)).flatMap(success -> findById(group.getId()).toSingle());
+        return insert(groupsCollection, group, this::convert, () -> findById(group.getId()));
     }
 
     @Override
     public Single<Group> update(Group item) {
         GroupMongo group = convert(item);
-        return Single.fromPublisher(groupsCollection.replaceOne(eq(FIELD_ID, group.getId()), group)).flatMap(success -> findById(group.getId()).toSingle());
+        return replace(groupsCollection, eq(FIELD_ID, group.getId()), group, this::convert, () -> findById(group.getId()));
     }
 
     @Override
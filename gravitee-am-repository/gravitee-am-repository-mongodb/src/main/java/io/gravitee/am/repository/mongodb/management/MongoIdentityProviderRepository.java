@@ -70,13 +70,13 @@ public class MongoIdentityProviderRepository extends AbstractManagementMongoRepo
     public Single<IdentityProvider> create(IdentityProvider item) {
         IdentityProviderMongo identityProvider = convert(item);
         identityProvider.setId(identityProvider.getId() == null ? RandomString.generate() : identityProvider.getId());
-        return Single.fromPublisher(identitiesCollection.insertOne(identityProvider)).flatMap(success -> findById(identityProvider.getId()).toSingle());
+        return insert(identitiesCollection, identityProvider, this::convert, () -> findById(identityProvider.getId()));
     }
 
     @Override
     public Single<IdentityProvider> update(IdentityProvider item) {
         IdentityProviderMongo identityProvider = convert(item);
-        return Single.fromPublisher(identitiesCollection.replaceOne(eq(FIELD_ID, identityProvider.getId()), identityProvider)).flatMap(updateResult -> findById(identityProvider.getId()).toSingle());
+        return replace(identitiesCollection, eq(FIELD_ID, identityProvider.getId()), identityProvider, this::convert, () -> findById(identityProvider.getId()));
     }
 
     @Override
@@ -109,6 +109,7 @@ public class MongoIdentityProviderRepository extends AbstractManagementMongoRepo
 
         identityProvider.setDomain(identityProviderMongo.getDomain());
         identityProvider.setExternal(identityProviderMongo.isExternal());
+        identityProvider.setCacheTimeToLive(identityProviderMongo.getCacheTimeToLive());
         identityProvider.setCreatedAt(identityProviderMongo.getCreatedAt());
         identityProvider.setUpdatedAt(identityProviderMongo.getUpdatedAt());
         return identityProvider;
@@ -128,6 +129,7 @@ public class MongoIdentityProviderRepository extends AbstractManagementMongoRepo
         identityProviderMongo.setRoleMapper(identityProvider.getRoleMapper() != null ? convert(identityProvider.getRoleMapper()) : new Document());
         identityProviderMongo.setDomain(identityProvider.getDomain());
         identityProviderMongo.setExternal(identityProvider.isExternal());
+        identityProviderMongo.setCacheTimeToLive(identityProvider.getCacheTimeToLive());
         identityProviderMongo.setCreatedAt(identityProvider.getCreatedAt());
         identityProviderMongo.setUpdatedAt(identityProvider.getUpdatedAt());
         return identityProviderMongo;
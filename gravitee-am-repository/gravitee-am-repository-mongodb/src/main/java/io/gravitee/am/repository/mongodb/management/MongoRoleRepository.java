@@ -72,13 +72,13 @@ public class MongoRoleRepository extends AbstractManagementMongoRepository imple
     public Single<Role> create(Role item) {
         RoleMongo role = convert(item);
         role.setId(role.getId() == null ? RandomString.generate() : role.getId());
-        return Single.fromPublisher(rolesCollection.insertOne(role)).flatMap(success -> findById(role.getId()).toSingle());
+        return insert(rolesCollection, role, this::convert, () -> findById(role.getId()));
     }
 
     @Override
     public Single<Role> update(Role item) {
         RoleMongo role = convert(item);
-        return Single.fromPublisher(rolesCollection.replaceOne(eq(FIELD_ID, role.getId()), role)).flatMap(updateResult -> findById(role.getId()).toSingle());
+        return replace(rolesCollection, eq(FIELD_ID, role.getId()), role, this::convert, () -> findById(role.getId()));
     }
 
     @Override
@@ -64,13 +64,13 @@ public class MongoScopeRepository extends AbstractManagementMongoRepository impl
     public Single<Scope> create(Scope item) {
         ScopeMongo scope = convert(item);
         scope.setId(scope.getId() == null ? RandomString.generate() : scope.getId());
-        return Single.fromPublisher(scopesCollection.insertOne(scope)).flatMap(success -> findById(scope.getId()).toSingle());
+        return insert(scopesCollection, scope, this::convert, () -> findById(scope.getId()));
     }
 
     @Override
     public Single<Scope> update(Scope item) {
         ScopeMongo scope = convert(item);
-        return Single.fromPublisher(scopesCollection.replaceOne(eq(FIELD_ID, scope.getId()), scope)).flatMap(updateResult -> findById(scope.getId()).toSingle());
+        return replace(scopesCollection, eq(FIELD_ID, scope.getId()), scope, this::convert, () -> findById(scope.getId()));
     }
 
     @Override
@@ -16,6 +16,8 @@
 package io.gravitee.am.repository.mongodb.management;
 
 import com.mongodb.BasicDBObject;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
 import com.mongodb.reactivestreams.client.MongoCollection;
 import io.gravitee.am.common.utils.RandomString;
 import io.gravitee.am.model.User;
@@ -43,6 +45,11 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static com.mongodb.client.model.Filters.*;
+import static com.mongodb.client.model.Updates.addEachToSet;
+import static com.mongodb.client.model.Updates.combine;
+import static com.mongodb.client.model.Updates.inc;
+import static com.mongodb.client.model.Updates.set;
+import static com.mongodb.client.model.Updates.setOnInsert;
 
 /**
  * @author Titouan COMPIEGNE (david.brassely at graviteesource.com)
@@ -56,6 +63,20 @@ public class MongoUserRepository extends AbstractManagementMongoRepository imple
     private static final String FIELD_USERNAME = "username";
     private static final String FIELD_SOURCE = "source";
     private static final String FIELD_EMAIL = "email";
+    private static final String FIELD_EXTERNAL_ID = "externalId";
+    private static final String FIELD_CLIENT = "client";
+    private static final String FIELD_ROLES = "roles";
+    private static final String FIELD_ADDITIONAL_INFORMATION = "additionalInformation";
+    private static final String FIELD_LOGINS_COUNT = "loginsCount";
+    private static final String FIELD_LOGGED_AT = "loggedAt";
+    private static final String FIELD_CREATED_AT = "createdAt";
+    private static final String FIELD_ACCOUNT_NON_EXPIRED = "accountNonExpired";
+    private static final String FIELD_ACCOUNT_NON_LOCKED = "accountNonLocked";
+    private static final String FIELD_CREDENTIALS_NON_EXPIRED = "credentialsNonExpired";
+    private static final String FIELD_ENABLED = "enabled";
+    private static final String FIELD_INTERNAL = "internal";
+    private static final String FIELD_PRE_REGISTRATION = "preRegistration";
+    private static final String FIELD_REGISTRATION_COMPLETED = "registrationCompleted";
 
     private MongoCollection<UserMongo> usersCollection;
 
@@ -124,6 +145,41 @@ public class MongoUserRepository extends AbstractManagementMongoRepository imple
         return Observable.fromPublisher(usersCollection.find(in(FIELD_ID, ids))).map(this::convert).collect(ArrayList::new, List::add);
     }
 
+    @Override
+    public Single<User> upsertLogin(User user, boolean mergeRoles) {
+        final Date loggedAt = user.getLoggedAt() == null ? new Date() : user.getLoggedAt();
+
+        List<Bson> updates = new ArrayList<>();
+        updates.add(set(FIELD_EXTERNAL_ID, user.getExternalId()));
+        updates.add(set(FIELD_CLIENT, user.getClient()));
+        updates.add(set(FIELD_ADDITIONAL_INFORMATION, user.getAdditionalInformation() != null ? new Document(user.getAdditionalInformation()) : new Document()));
+        updates.add(set(FIELD_LOGGED_AT, loggedAt));
+        updates.add(inc(FIELD_LOGINS_COUNT, 1L));
+        if (!mergeRoles) {
+            updates.add(set(FIELD_ROLES, user.getRoles() != null ? user.getRoles() : Collections.emptyList()));
+        } else if (user.getRoles() != null && !user.getRoles().isEmpty()) {
+            updates.add(addEachToSet(FIELD_ROLES, user.getRoles()));
+        }
+
+        // only applied when the user is created, domain, username and source are taken from the filter
+        updates.add(setOnInsert(FIELD_ID, user.getId() == null ? RandomString.generate() : user.getId()));
+        updates.add(setOnInsert(FIELD_CREATED_AT, user.getCreatedAt() == null ? loggedAt : user.getCreatedAt()));
+        updates.add(setOnInsert(FIELD_ACCOUNT_NON_EXPIRED, user.isAccountNonExpired()));
+        updates.add(setOnInsert(FIELD_ACCOUNT_NON_LOCKED, user.isAccountNonLocked()));
+        updates.add(setOnInsert(FIELD_CREDENTIALS_NON_EXPIRED, user.isCredentialsNonExpired()));
+        updates.add(setOnInsert(FIELD_ENABLED, user.isEnabled()));
+        updates.add(setOnInsert(FIELD_INTERNAL, user.isInternal()));
+        updates.add(setOnInsert(FIELD_PRE_REGISTRATION, user.isPreRegistration()));
+        updates.add(setOnInsert(FIELD_REGISTRATION_COMPLETED, user.isRegistrationCompleted()));
+
+        return Single
+                .fromPublisher(usersCollection.findOneAndUpdate(
+                        and(eq(FIELD_DOMAIN, user.getDomain()), eq(FIELD_USERNAME, user.getUsername()), eq(FIELD_SOURCE, user.getSource())),
+                        combine(updates),
+                        new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER)))
+                .map(this::convert);
+    }
+
     @Override
     public Maybe<User> findById(String userId) {
         return Observable.fromPublisher(usersCollection.find(eq(FIELD_ID, userId)).first()).firstElement().map(this::convert);
@@ -133,13 +189,13 @@ public class MongoUserRepository extends AbstractManagementMongoRepository imple
     public Single<User> create(User item) {
         UserMongo user = convert(item);
         user.setId(user.getId() == null ? RandomString.generate() : user.getId());
-        return Single.fromPublisher(usersCollection.insertOne(user)).flatMap(success -> findById(user.getId()).toSingle());
+        return insert(usersCollection, user, this::convert, () -> findById(user.getId()));
     }
 
     @Override
     public Single<User> update(User item) {
         UserMongo user = convert(item);
-        return Single.fromPublisher(usersCollection.replaceOne(eq(FIELD_ID, user.getId()), user)).flatMap(updateResult -> findById(user.getId()).toSingle());
+        return replace(usersCollection, eq(FIELD_ID, user.getId()), user, this::convert, () -> findById(user.getId()));
     }
 
     @Override
@@ -149,6 +149,12 @@ public class ClientMongo extends Auditable {
      */
     private Document scopeApprovals;
 
+    private boolean statelessTokenValidation;
+
+    private String identityProviderStrategy;
+
+    private Document identityProviderRoutes;
+
     public String getId() {
         return id;
     }
@@ -573,6 +579,30 @@ public class ClientMongo extends Auditable {
         this.scopeApprovals = scopeApprovals;
     }
 
+    public boolean isStatelessTokenValidation() {
+        return statelessTokenValidation;
+    }
+
+    public void setStatelessTokenValidation(boolean statelessTokenValidation) {
+        this.statelessTokenValidation = statelessTokenValidation;
+    }
+
+    public String getIdentityProviderStrategy() {
+        return identityProviderStrategy;
+    }
+
+    public void setIdentityProviderStrategy(String identityProviderStrategy) {
+        this.identityProviderStrategy = identityProviderStrategy;
+    }
+
+    public Document getIdentityProviderRoutes() {
+        return identityProviderRoutes;
+    }
+
+    public void setIdentityProviderRoutes(Document identityProviderRoutes) {
+        this.identityProviderRoutes = identityProviderRoutes;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -50,6 +50,8 @@ public class IdentityProviderMongo extends Auditable {
 
     private boolean external;
 
+    private Long cacheTimeToLive;
+
     public String getId() {
         return id;
     }
@@ -114,6 +116,14 @@ public class IdentityProviderMongo extends Auditable {
         this.external = external;
     }
 
+    public Long getCacheTimeToLive() {
+        return cacheTimeToLive;
+    }
+
+    public void setCacheTimeToLive(Long cacheTimeToLive) {
+        this.cacheTimeToLive = cacheTimeToLive;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -16,6 +16,7 @@
 package io.gravitee.am.repository.mongodb.oauth2;
 
 import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.InsertManyOptions;
 import com.mongodb.reactivestreams.client.MongoCollection;
 import io.gravitee.am.repository.mongodb.common.LoggableIndexSubscriber;
 import io.gravitee.am.repository.mongodb.oauth2.internal.model.AccessTokenMongo;
@@ -29,7 +30,9 @@ import org.bson.Document;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
@@ -83,9 +86,18 @@ public class MongoAccessTokenRepository extends AbstractOAuth2MongoRepository im
 
     @Override
     public Single<AccessToken> create(AccessToken accessToken) {
-        return Single
-                .fromPublisher(accessTokenCollection.insertOne(convert(accessToken)))
-                .flatMap(success -> findById(accessToken.getId()).toSingle());
+        return insert(accessTokenCollection, convert(accessToken), this::convert, () -> findById(accessToken.getId()));
+    }
+
+    @Override
+    public Completable bulkWrite(List<AccessToken> accessTokens) {
+        if (accessTokens == null || accessTokens.isEmpty()) {
+            return Completable.complete();
+        }
+
+        return Completable.fromPublisher(accessTokenCollection.insertMany(
+                accessTokens.stream().map(this::convert).collect(Collectors.toList()),
+                new InsertManyOptions().ordered(false)));
     }
 
     @Override
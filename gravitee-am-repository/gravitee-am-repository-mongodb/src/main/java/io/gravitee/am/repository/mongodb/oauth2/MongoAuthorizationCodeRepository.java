@@ -68,9 +68,7 @@ public class MongoAuthorizationCodeRepository extends AbstractOAuth2MongoReposit
             authorizationCode.setId(RandomString.generate());
         }
 
-        return Single
-                .fromPublisher(authorizationCodeCollection.insertOne(convert(authorizationCode)))
-                .flatMap(success -> findById(authorizationCode.getId()).toSingle());
+        return insert(authorizationCodeCollection, convert(authorizationCode), this::convert, () -> findById(authorizationCode.getId()));
     }
 
     @Override
@@ -16,6 +16,7 @@
 package io.gravitee.am.repository.mongodb.oauth2;
 
 import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.InsertManyOptions;
 import com.mongodb.reactivestreams.client.MongoCollection;
 import io.gravitee.am.common.utils.RandomString;
 import io.gravitee.am.repository.mongodb.common.LoggableIndexSubscriber;
@@ -30,7 +31,9 @@ import org.bson.Document;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static com.mongodb.client.model.Filters.eq;
 
@@ -75,9 +78,18 @@ public class MongoRefreshTokenRepository extends AbstractOAuth2MongoRepository i
             refreshToken.setId(RandomString.generate());
         }
 
-        return Single
-                .fromPublisher(refreshTokenCollection.insertOne(convert(refreshToken)))
-                .flatMap(success -> findById(refreshToken.getId()).toSingle());
+        return insert(refreshTokenCollection, convert(refreshToken), this::convert, () -> findById(refreshToken.getId()));
+    }
+
+    @Override
+    public Completable bulkWrite(List<RefreshToken> refreshTokens) {
+        if (refreshTokens == null || refreshTokens.isEmpty()) {
+            return Completable.complete();
+        }
+
+        return Completable.fromPublisher(refreshTokenCollection.insertMany(
+                refreshTokens.stream().map(this::convert).collect(Collectors.toList()),
+                new InsertManyOptions().ordered(false)));
     }
 
     @Override
@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.mongodb.oauth2;
+
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.gravitee.am.repository.mongodb.common.LoggableIndexSubscriber;
+import io.gravitee.am.repository.mongodb.oauth2.internal.model.RevokedTokenMongo;
+import io.gravitee.am.repository.oauth2.api.RevokedTokenRepository;
+import io.gravitee.am.repository.oauth2.model.RevokedToken;
+import io.reactivex.Maybe;
+import io.reactivex.Observable;
+import io.reactivex.Single;
+import org.bson.Document;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.gte;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class MongoRevokedTokenRepository extends AbstractOAuth2MongoRepository implements RevokedTokenRepository {
+
+    private MongoCollection<RevokedTokenMongo> revokedTokenCollection;
+
+    private static final String FIELD_ID = "_id";
+    private static final String FIELD_TOKEN = "token";
+    private static final String FIELD_CREATED_AT = "created_at";
+    private static final String FIELD_RESET_TIME = "expire_at";
+
+    @PostConstruct
+    public void init() {
+        revokedTokenCollection = mongoOperations.getCollection("revoked_tokens", RevokedTokenMongo.class);
+
+        // one field index
+        revokedTokenCollection.createIndex(new Document(FIELD_TOKEN, 1)).subscribe(new LoggableIndexSubscriber());
+        revokedTokenCollection.createIndex(new Document(FIELD_CREATED_AT, 1)).subscribe(new LoggableIndexSubscriber());
+
+        // expire after index
+        revokedTokenCollection.createIndex(new Document(FIELD_RESET_TIME, 1), new IndexOptions().expireAfter(0L, TimeUnit.SECONDS)).subscribe(new LoggableIndexSubscriber());
+    }
+
+    private Maybe<RevokedToken> findById(String id) {
+        return Observable
+                .fromPublisher(revokedTokenCollection.find(eq(FIELD_ID, id)).limit(1).first())
+                .firstElement()
+                .map(this::convert);
+    }
+
+    @Override
+    public Single<RevokedToken> create(RevokedToken revokedToken) {
+        return insert(revokedTokenCollection, convert(revokedToken), this::convert, () -> findById(revokedToken.getId()));
+    }
+
+    @Override
+    public Observable<RevokedToken> findByCreatedAtAfter(Date date) {
+        return Observable
+                .fromPublisher(revokedTokenCollection.find(gte(FIELD_CREATED_AT, date)).sort(new Document(FIELD_CREATED_AT, 1)))
+                .map(this::convert);
+    }
+
+    private RevokedTokenMongo convert(RevokedToken revokedToken) {
+        if (revokedToken == null) {
+            return null;
+        }
+
+        RevokedTokenMongo revokedTokenMongo = new RevokedTokenMongo();
+        revokedTokenMongo.setId(revokedToken.getId());
+        revokedTokenMongo.setToken(revokedToken.getToken());
+        revokedTokenMongo.setDomain(revokedToken.getDomain());
+        revokedTokenMongo.setClient(revokedToken.getClient());
+        revokedTokenMongo.setSubject(revokedToken.getSubject());
+        revokedTokenMongo.setCreatedAt(revokedToken.getCreatedAt());
+        revokedTokenMongo.setExpireAt(revokedToken.getExpireAt());
+
+        return revokedTokenMongo;
+    }
+
+    private RevokedToken convert(RevokedTokenMongo revokedTokenMongo) {
+        if (revokedTokenMongo == null) {
+            return null;
+        }
+
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setId(revokedTokenMongo.getId());
+        revokedToken.setToken(revokedTokenMongo.getToken());
+        revokedToken.setDomain(revokedTokenMongo.getDomain());
+        revokedToken.setClient(revokedTokenMongo.getClient());
+        revokedToken.setSubject(revokedTokenMongo.getSubject());
+        revokedToken.setCreatedAt(revokedTokenMongo.getCreatedAt());
+        revokedToken.setExpireAt(revokedTokenMongo.getExpireAt());
+
+        return revokedToken;
+    }
+}
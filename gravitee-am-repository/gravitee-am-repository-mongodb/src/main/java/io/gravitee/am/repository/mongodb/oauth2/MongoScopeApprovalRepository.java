@@ -74,7 +74,7 @@ public class MongoScopeApprovalRepository extends AbstractOAuth2MongoRepository
     public Single<ScopeApproval> create(ScopeApproval scopeApproval) {
         ScopeApprovalMongo scopeApprovalMongo = convert(scopeApproval);
         scopeApprovalMongo.setId(scopeApprovalMongo.getId() == null ? RandomString.generate() : scopeApprovalMongo.getId());
-        return Single.fromPublisher(scopeApprovalsCollection.insertOne(scopeApprovalMongo)).flatMap(success -> _findById(scopeApprovalMongo.getId()));
+        return insert(scopeApprovalsCollection, scopeApprovalMongo, this::convert, () -> _findById(scopeApprovalMongo.getId()).toMaybe());
     }
 
     @Override
@@ -0,0 +1,121 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.mongodb.oauth2;
+
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.gravitee.am.repository.mongodb.common.LoggableIndexSubscriber;
+import io.gravitee.am.repository.mongodb.oauth2.internal.model.SessionMongo;
+import io.gravitee.am.repository.oauth2.api.SessionRepository;
+import io.gravitee.am.repository.oauth2.model.Session;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Observable;
+import io.reactivex.Single;
+import org.bson.Document;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.gt;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class MongoSessionRepository extends AbstractOAuth2MongoRepository implements SessionRepository {
+
+    private MongoCollection<SessionMongo> sessionCollection;
+
+    private static final String FIELD_ID = "_id";
+    private static final String FIELD_DOMAIN = "domain";
+    private static final String FIELD_RESET_TIME = "expire_at";
+
+    @PostConstruct
+    public void init() {
+        sessionCollection = mongoOperations.getCollection("sessions", SessionMongo.class);
+
+        // expire after index
+        sessionCollection.createIndex(new Document(FIELD_RESET_TIME, 1), new IndexOptions().expireAfter(0L, TimeUnit.SECONDS)).subscribe(new LoggableIndexSubscriber());
+        sessionCollection.createIndex(new Document(FIELD_DOMAIN, 1)).subscribe(new LoggableIndexSubscriber());
+    }
+
+    @Override
+    public Maybe<Session> findById(String id) {
+        // expired sessions are only removed periodically by the TTL monitor
+        return Observable
+                .fromPublisher(sessionCollection.find(and(eq(FIELD_ID, id), gt(FIELD_RESET_TIME, new Date()))).limit(1).first())
+                .firstElement()
+                .map(this::convert);
+    }
+
+    @Override
+    public Single<Session> save(Session session) {
+        return Single
+                .fromPublisher(sessionCollection.replaceOne(eq(FIELD_ID, session.getId()), convert(session), new ReplaceOptions().upsert(true)))
+                .map(updateResult -> session);
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return Completable.fromPublisher(sessionCollection.deleteOne(eq(FIELD_ID, id)));
+    }
+
+    @Override
+    public Completable deleteByDomain(String domain) {
+        return Completable.fromPublisher(sessionCollection.deleteMany(eq(FIELD_DOMAIN, domain)));
+    }
+
+    @Override
+    public Single<Long> countByDomain(String domain) {
+        return Observable.fromPublisher(sessionCollection.countDocuments(and(eq(FIELD_DOMAIN, domain), gt(FIELD_RESET_TIME, new Date())))).first(0l);
+    }
+
+    private SessionMongo convert(Session session) {
+        if (session == null) {
+            return null;
+        }
+
+        SessionMongo sessionMongo = new SessionMongo();
+        sessionMongo.setId(session.getId());
+        sessionMongo.setDomain(session.getDomain());
+        sessionMongo.setValue(session.getValue());
+        sessionMongo.setUpdatedAt(session.getUpdatedAt());
+        sessionMongo.setExpireAt(session.getExpireAt());
+
+        return sessionMongo;
+    }
+
+    private Session convert(SessionMongo sessionMongo) {
+        if (sessionMongo == null) {
+            return null;
+        }
+
+        Session session = new Session();
+        session.setId(sessionMongo.getId());
+        session.setDomain(sessionMongo.getDomain());
+        session.setValue(sessionMongo.getValue());
+        session.setUpdatedAt(sessionMongo.getUpdatedAt());
+        session.setExpireAt(sessionMongo.getExpireAt());
+
+        return session;
+    }
+}
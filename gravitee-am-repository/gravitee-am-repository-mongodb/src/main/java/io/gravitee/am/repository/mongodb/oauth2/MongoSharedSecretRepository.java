@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.mongodb.oauth2;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.gravitee.am.repository.mongodb.common.LoggableIndexSubscriber;
+import io.gravitee.am.repository.mongodb.oauth2.internal.model.SharedSecretMongo;
+import io.gravitee.am.repository.oauth2.api.SharedSecretRepository;
+import io.gravitee.am.repository.oauth2.model.SharedSecret;
+import io.reactivex.Maybe;
+import io.reactivex.Observable;
+import io.reactivex.Single;
+import org.bson.Document;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.TimeUnit;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Updates.combine;
+import static com.mongodb.client.model.Updates.setOnInsert;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class MongoSharedSecretRepository extends AbstractOAuth2MongoRepository implements SharedSecretRepository {
+
+    private static final int DUPLICATE_KEY_ERROR_CODE = 11000;
+
+    private MongoCollection<SharedSecretMongo> sharedSecretCollection;
+
+    private static final String FIELD_ID = "_id";
+    private static final String FIELD_DOMAIN = "domain";
+    private static final String FIELD_VALUE = "value";
+    private static final String FIELD_CREATED_AT = "created_at";
+    private static final String FIELD_RESET_TIME = "expire_at";
+
+    @PostConstruct
+    public void init() {
+        sharedSecretCollection = mongoOperations.getCollection("shared_secrets", SharedSecretMongo.class);
+
+        // expire after index
+        sharedSecretCollection.createIndex(new Document(FIELD_RESET_TIME, 1), new IndexOptions().expireAfter(0L, TimeUnit.SECONDS)).subscribe(new LoggableIndexSubscriber());
+    }
+
+    @Override
+    public Single<SharedSecret> findOrCreate(SharedSecret secret) {
+        return Single
+                .fromPublisher(sharedSecretCollection.findOneAndUpdate(
+                        eq(FIELD_ID, secret.getId()),
+                        combine(
+                                setOnInsert(FIELD_DOMAIN, secret.getDomain()),
+                                setOnInsert(FIELD_VALUE, secret.getValue()),
+                                setOnInsert(FIELD_CREATED_AT, secret.getCreatedAt()),
+                                setOnInsert(FIELD_RESET_TIME, secret.getExpireAt())),
+                        new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER)))
+                // concurrent upserts of the same secret: the one which has failed reads the secret created by the other
+                .retry((count, error) -> count < 2 && error instanceof MongoException && ((MongoException) error).getCode() == DUPLICATE_KEY_ERROR_CODE)
+                .map(this::convert);
+    }
+
+    @Override
+    public Maybe<SharedSecret> findById(String id) {
+        return Observable.fromPublisher(sharedSecretCollection.find(eq(FIELD_ID, id)).first()).firstElement().map(this::convert);
+    }
+
+    private SharedSecret convert(SharedSecretMongo sharedSecretMongo) {
+        if (sharedSecretMongo == null) {
+            return null;
+        }
+
+        SharedSecret sharedSecret = new SharedSecret();
+        sharedSecret.setId(sharedSecretMongo.getId());
+        sharedSecret.setDomain(sharedSecretMongo.getDomain());
+        sharedSecret.setValue(sharedSecretMongo.getValue());
+        sharedSecret.setCreatedAt(sharedSecretMongo.getCreatedAt());
+        sharedSecret.setExpireAt(sharedSecretMongo.getExpireAt());
+
+        return sharedSecret;
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.mongodb.management;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.model.common.event.Action;
+import io.gravitee.am.model.common.event.Event;
+import io.gravitee.am.model.common.event.Payload;
+import io.gravitee.am.model.common.event.Type;
+import io.reactivex.Flowable;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.TestSubscriber;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class MongoEventRepositoryTest extends AbstractManagementRepositoryTest {
+
+    @Autowired
+    private MongoEventRepository eventRepository;
+
+    @Override
+    public String collectionName() {
+        return "events";
+    }
+
+    @Test
+    public void shouldCreate() {
+        TestObserver<Event> testObserver = eventRepository.create(event("client-id", Action.CREATE)).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        testObserver.assertValue(event -> event.getId() != null
+                && event.getCreatedAt() != null
+                && event.getType() == Type.CLIENT
+                && event.getPayload().getAction() == Action.CREATE
+                && "client-id".equals(event.getPayload().getId()));
+    }
+
+    @Test
+    public void shouldCreate_sequencedByDomain() {
+        String domain = RandomString.generate();
+        String otherDomain = RandomString.generate();
+
+        Event event1 = eventRepository.create(event("client-1", domain, Action.CREATE)).blockingGet();
+        Event event2 = eventRepository.create(event("client-1", domain, Action.UPDATE)).blockingGet();
+        Event otherEvent = eventRepository.create(event("client-2", otherDomain, Action.CREATE)).blockingGet();
+
+        Assert.assertEquals(1, event1.getSequence());
+        Assert.assertEquals(2, event2.getSequence());
+        Assert.assertEquals(1, otherEvent.getSequence());
+    }
+
+    @Test
+    public void shouldCreate_concurrently() {
+        String domain = RandomString.generate();
+
+        List<Long> sequences = Flowable.range(0, 5)
+                .flatMapSingle(i -> eventRepository.create(event("client-" + i, domain, Action.UPDATE)).subscribeOn(Schedulers.io()))
+                .map(Event::getSequence)
+                .sorted()
+                .toList()
+                .blockingGet();
+
+        Assert.assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L), sequences);
+    }
+
+    @Test
+    public void shouldFindByDomainAndSequenceAfter() {
+        String domain = RandomString.generate();
+        for (int i = 0; i < 5; i++) {
+            eventRepository.create(event("client-" + i, domain, Action.UPDATE)).blockingGet();
+        }
+        eventRepository.create(event("client-other", RandomString.generate(), Action.UPDATE)).blockingGet();
+
+        TestObserver<List<Event>> testObserver = eventRepository.findByDomainAndSequenceAfter(domain, 2, 2).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        testObserver.assertValue(events -> events.size() == 2
+                && events.get(0).getSequence() == 3 && "client-2".equals(events.get(0).getPayload().getId())
+                && events.get(1).getSequence() == 4 && "client-3".equals(events.get(1).getPayload().getId()));
+    }
+
+    @Test
+    public void shouldFindLastByDomain() {
+        String domain = RandomString.generate();
+        eventRepository.create(event("client-1", domain, Action.CREATE)).blockingGet();
+        eventRepository.create(event("client-1", domain, Action.DELETE)).blockingGet();
+
+        TestObserver<Event> testObserver = eventRepository.findLastByDomain(domain).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        testObserver.assertValue(event -> event.getSequence() == 2 && event.getPayload().getAction() == Action.DELETE);
+    }
+
+    @Test
+    public void shouldWatch_resumeAfterLastEvent() {
+        Event lastEvent = eventRepository.create(event("client-1", Action.CREATE)).blockingGet();
+
+        TestSubscriber<Event> testSubscriber = eventRepository.watch(lastEvent.getId()).test();
+
+        eventRepository.create(event("client-2", Action.CREATE)).blockingGet();
+        eventRepository.create(event("client-2", Action.UPDATE)).blockingGet();
+
+        testSubscriber.awaitCount(2);
+        testSubscriber.assertNoErrors();
+        testSubscriber.assertValueCount(2);
+        testSubscriber.assertValueAt(0, event -> "client-2".equals(event.getPayload().getId()) && event.getPayload().getAction() == Action.CREATE);
+        testSubscriber.assertValueAt(1, event -> "client-2".equals(event.getPayload().getId()) && event.getPayload().getAction() == Action.UPDATE);
+        testSubscriber.dispose();
+    }
+
+    @Test
+    public void shouldWatch_fromNow() throws InterruptedException {
+        eventRepository.create(event("client-old", Action.CREATE)).blockingGet();
+
+        TestSubscriber<Event> testSubscriber = eventRepository.watch(null).test();
+        // let the subscriber position itself at the end of the log
+        Thread.sleep(500);
+
+        eventRepository.create(event("client-new", Action.CREATE)).blockingGet();
+
+        testSubscriber.awaitCount(1);
+        testSubscriber.assertNoErrors();
+        testSubscriber.assertValueCount(1);
+        testSubscriber.assertValue(event -> "client-new".equals(event.getPayload().getId()));
+        testSubscriber.dispose();
+    }
+
+    private Event event(String id, Action action) {
+        return event(id, "domain-id", action);
+    }
+
+    private Event event(String id, String domain, Action action) {
+        return new Event(Type.CLIENT, new Payload(id, domain, action));
+    }
+}
@@ -22,6 +22,7 @@ import io.reactivex.observers.TestObserver;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Set;
 
@@ -110,6 +111,67 @@ public class MongoUserRepositoryTest extends AbstractManagementRepositoryTest {
         testObserver.assertValue(u -> u.getUsername().equals(updatedUser.getUsername()));
     }
 
+    @Test
+    public void testUpsertLogin_create() throws TechnicalException {
+        User user = loginUser();
+        user.setRoles(Collections.singletonList("role-1"));
+
+        TestObserver<User> testObserver = userRepository.upsertLogin(user, true).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        testObserver.assertValue(u -> u.getId() != null
+                && u.getUsername().equals("testsUsername")
+                && u.getDomain().equals("testDomain")
+                && u.getSource().equals("testSource")
+                && u.getLoginsCount() == 1
+                && u.getLoggedAt() != null
+                && u.getCreatedAt() != null
+                && u.isEnabled()
+                && !u.isInternal()
+                && u.getRoles().equals(Collections.singletonList("role-1")));
+    }
+
+    @Test
+    public void testUpsertLogin_update() throws TechnicalException {
+        User user = loginUser();
+        user.setRoles(Collections.singletonList("role-1"));
+        User userCreated = userRepository.upsertLogin(user, true).blockingGet();
+
+        User nextLogin = loginUser();
+        nextLogin.setExternalId("newExternalId");
+        nextLogin.setRoles(Arrays.asList("role-1", "role-2"));
+
+        TestObserver<User> testObserver = userRepository.upsertLogin(nextLogin, true).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        testObserver.assertValue(u -> u.getId().equals(userCreated.getId())
+                && u.getExternalId().equals("newExternalId")
+                && u.getLoginsCount() == 2
+                && u.getCreatedAt().equals(userCreated.getCreatedAt())
+                && u.getRoles().equals(Arrays.asList("role-1", "role-2")));
+    }
+
+    @Test
+    public void testUpsertLogin_replaceRoles() throws TechnicalException {
+        User user = loginUser();
+        user.setRoles(Arrays.asList("role-1", "role-2"));
+        userRepository.upsertLogin(user, true).blockingGet();
+
+        User nextLogin = loginUser();
+        nextLogin.setRoles(Collections.singletonList("role-3"));
+
+        TestObserver<User> testObserver = userRepository.upsertLogin(nextLogin, false).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        testObserver.assertValue(u -> u.getRoles().equals(Collections.singletonList("role-3")));
+    }
+
     @Test
     public void testDelete() throws TechnicalException {
         // create user
@@ -132,4 +194,14 @@ public class MongoUserRepositoryTest extends AbstractManagementRepositoryTest {
         userRepository.findById(userCreated.getId()).test().assertEmpty();
     }
 
+    private User loginUser() {
+        User user = new User();
+        user.setUsername("testsUsername");
+        user.setDomain("testDomain");
+        user.setSource("testSource");
+        user.setExternalId("testExternalId");
+        user.setClient("testClient");
+        user.setAdditionalInformation(Collections.singletonMap("email", "test@gravitee.io"));
+        return user;
+    }
 }
@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.mongodb.management;
+
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import io.gravitee.am.model.Group;
+import io.gravitee.am.model.Role;
+import io.gravitee.am.model.oauth2.Scope;
+import io.gravitee.am.repository.management.api.GroupRepository;
+import io.gravitee.am.repository.management.api.RoleRepository;
+import io.gravitee.am.repository.management.api.ScopeRepository;
+import io.reactivex.Observable;
+import io.reactivex.observers.TestObserver;
+import org.bson.Document;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Scopes return the written document, roles return the document stored by the server and groups use the default write mode (read back).
+ *
+ * @author GraviteeSource Team
+ */
+@TestPropertySource(properties = {
+        "management.mongodb.write.scopes.mode=return_input",
+        "management.mongodb.write.roles.mode=return_after"
+})
+public class MongoWriteModeTest extends AbstractManagementRepositoryTest {
+
+    @Autowired
+    private MongoDatabase mongoDatabase;
+
+    @Autowired
+    private ScopeRepository scopeRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Override
+    public String collectionName() {
+        return "scopes";
+    }
+
+    @After
+    public void cleanGroups() {
+        Observable.fromPublisher(mongoDatabase.getCollection("groups").deleteMany(new Document())).blockingSubscribe();
+    }
+
+    @Test
+    public void shouldCreate_returnInput() {
+        Scope scope = new Scope();
+        scope.setName("testName");
+        scope.setDomain("testDomain");
+        Scope scopeCreated = scopeRepository.create(scope).blockingGet();
+
+        TestObserver<Scope> testObserver = scopeRepository.findById(scopeCreated.getId()).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        testObserver.assertValue(s -> s.getName().equals(scopeCreated.getName()) && s.getDomain().equals(scopeCreated.getDomain()));
+    }
+
+    @Test
+    public void shouldNotUpdate_returnInput_notFound() {
+        Scope scope = new Scope();
+        scope.setId("unknown-scope");
+        scope.setName("testName");
+
+        TestObserver<Scope> testObserver = scopeRepository.update(scope).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertError(NoSuchElementException.class);
+    }
+
+    @Test
+    public void shouldUpdate_returnAfter() {
+        Role role = new Role();
+        role.setName("testName");
+        Role roleCreated = roleRepository.create(role).blockingGet();
+
+        Role updatedRole = new Role();
+        updatedRole.setId(roleCreated.getId());
+        updatedRole.setName("testUpdatedName");
+
+        TestObserver<Role> testObserver = roleRepository.update(updatedRole).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        testObserver.assertValue(r -> r.getName().equals("testUpdatedName"));
+
+        roleRepository.delete(roleCreated.getId()).blockingAwait();
+    }
+
+    @Test
+    public void shouldNotUpdate_returnAfter_notFound() {
+        Role role = new Role();
+        role.setId("unknown-role");
+        role.setName("testName");
+
+        TestObserver<Role> testObserver = roleRepository.update(role).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertError(NoSuchElementException.class);
+    }
+
+    @Test
+    public void shouldCreateAndUpdate_readBack() {
+        Group group = new Group();
+        group.setName("testName");
+        Group groupCreated = groupRepository.create(group).blockingGet();
+
+        Group updatedGroup = new Group();
+        updatedGroup.setId(groupCreated.getId());
+        updatedGroup.setName("testUpdatedName");
+
+        TestObserver<Group> testObserver = groupRepository.update(updatedGroup).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        testObserver.assertValue(g -> g.getName().equals("testUpdatedName"));
+    }
+}
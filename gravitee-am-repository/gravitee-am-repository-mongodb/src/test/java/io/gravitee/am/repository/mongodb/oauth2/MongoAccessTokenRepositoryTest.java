@@ -22,6 +22,7 @@ import io.reactivex.observers.TestObserver;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Arrays;
 import java.util.UUID;
 
 /**
@@ -68,6 +69,30 @@ public class MongoAccessTokenRepositoryTest extends AbstractOAuth2RepositoryTest
         observer.assertNoErrors();
     }
 
+    @Test
+    public void shouldBulkWrite() {
+        AccessToken token = new AccessToken();
+        token.setId(RandomString.generate());
+        token.setToken("my-bulk-token");
+        token.setClient("my-bulk-client-id");
+
+        AccessToken token2 = new AccessToken();
+        token2.setId(RandomString.generate());
+        token2.setToken("my-bulk-token-2");
+        token2.setClient("my-bulk-client-id");
+
+        TestObserver<Long> observer = accessTokenRepository
+                .bulkWrite(Arrays.asList(token, token2))
+                .andThen(accessTokenRepository.countByClientId("my-bulk-client-id"))
+                .test();
+
+        observer.awaitTerminalEvent();
+
+        observer.assertComplete();
+        observer.assertNoErrors();
+        observer.assertValue(2L);
+    }
+
     @Test
     public void shouldFindByClientIdAndSubject() {
         AccessToken token = new AccessToken();
@@ -21,6 +21,7 @@ import io.reactivex.observers.TestObserver;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Collections;
 import java.util.UUID;
 
 /**
@@ -67,6 +68,24 @@ public class MongoRefreshTokenRepositoryTest extends AbstractOAuth2RepositoryTes
         observer.assertNoErrors();
     }
 
+    @Test
+    public void shouldBulkWrite() {
+        RefreshToken token = new RefreshToken();
+        token.setId(RandomString.generate());
+        token.setToken("my-bulk-token");
+
+        TestObserver<RefreshToken> observer = refreshTokenRepository
+                .bulkWrite(Collections.singletonList(token))
+                .andThen(refreshTokenRepository.findByToken("my-bulk-token"))
+                .test();
+
+        observer.awaitTerminalEvent();
+
+        observer.assertComplete();
+        observer.assertNoErrors();
+        observer.assertValue(refreshToken -> token.getId().equals(refreshToken.getId()));
+    }
+
     @Test
     public void shouldDelete() {
         RefreshToken token = new RefreshToken();
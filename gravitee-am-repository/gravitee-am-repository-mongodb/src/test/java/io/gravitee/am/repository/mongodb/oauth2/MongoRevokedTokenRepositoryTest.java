@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.mongodb.oauth2;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.repository.oauth2.model.RevokedToken;
+import io.reactivex.observers.TestObserver;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Date;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class MongoRevokedTokenRepositoryTest extends AbstractOAuth2RepositoryTest {
+
+    @Autowired
+    private MongoRevokedTokenRepository revokedTokenRepository;
+
+    @Override
+    public String collectionName() {
+        return "revoked_tokens";
+    }
+
+    @Test
+    public void shouldCreate() {
+        RevokedToken token = new RevokedToken();
+        token.setId(RandomString.generate());
+        token.setToken("my-token");
+        token.setCreatedAt(new Date());
+        token.setExpireAt(new Date(System.currentTimeMillis() + 60000));
+
+        TestObserver<RevokedToken> observer = revokedTokenRepository.create(token).test();
+
+        observer.awaitTerminalEvent();
+
+        observer.assertComplete();
+        observer.assertNoErrors();
+        observer.assertValue(revokedToken -> revokedToken.getToken().equals("my-token"));
+    }
+
+    @Test
+    public void shouldFindByCreatedAtAfter() {
+        Date now = new Date();
+
+        RevokedToken oldToken = new RevokedToken();
+        oldToken.setId(RandomString.generate());
+        oldToken.setToken("my-old-token");
+        oldToken.setCreatedAt(new Date(now.getTime() - 60000));
+
+        RevokedToken newToken = new RevokedToken();
+        newToken.setId(RandomString.generate());
+        newToken.setToken("my-new-token");
+        newToken.setCreatedAt(now);
+
+        TestObserver<RevokedToken> observer = revokedTokenRepository
+                .create(oldToken)
+                .toCompletable()
+                .andThen(revokedTokenRepository.create(newToken).toCompletable())
+                .andThen(revokedTokenRepository.findByCreatedAtAfter(now))
+                .test();
+
+        observer.awaitTerminalEvent();
+
+        observer.assertComplete();
+        observer.assertNoErrors();
+        observer.assertValueCount(1);
+        observer.assertValue(revokedToken -> revokedToken.getToken().equals("my-new-token"));
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.mongodb.oauth2;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.repository.oauth2.model.Session;
+import io.reactivex.observers.TestObserver;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class MongoSessionRepositoryTest extends AbstractOAuth2RepositoryTest {
+
+    @Autowired
+    private MongoSessionRepository sessionRepository;
+
+    @Override
+    public String collectionName() {
+        return "sessions";
+    }
+
+    @Test
+    public void shouldSave() {
+        Session session = session(RandomString.generate(), new byte[]{1, 2, 3}, 60000);
+
+        TestObserver<Session> observer = sessionRepository.save(session).test();
+
+        observer.awaitTerminalEvent();
+
+        observer.assertComplete();
+        observer.assertNoErrors();
+        observer.assertValue(savedSession -> savedSession.getId().equals(session.getId()));
+    }
+
+    @Test
+    public void shouldFindById_replacedSession() {
+        String id = RandomString.generate();
+
+        TestObserver<Session> observer = sessionRepository.save(session(id, new byte[]{1}, 60000))
+                .flatMap(savedSession -> sessionRepository.save(session(id, new byte[]{2, 3}, 60000)))
+                .flatMapMaybe(savedSession -> sessionRepository.findById(id))
+                .test();
+
+        observer.awaitTerminalEvent();
+
+        observer.assertComplete();
+        observer.assertNoErrors();
+        observer.assertValue(session -> Arrays.equals(session.getValue(), new byte[]{2, 3}) && "my-domain".equals(session.getDomain()));
+    }
+
+    @Test
+    public void shouldNotFindById_expiredSession() {
+        Session session = session(RandomString.generate(), new byte[]{1}, -1000);
+
+        TestObserver<Session> observer = sessionRepository.save(session)
+                .flatMapMaybe(savedSession -> sessionRepository.findById(session.getId()))
+                .test();
+
+        observer.awaitTerminalEvent();
+
+        observer.assertComplete();
+        observer.assertNoErrors();
+        observer.assertNoValues();
+    }
+
+    @Test
+    public void shouldDelete() {
+        Session session = session(RandomString.generate(), new byte[]{1}, 60000);
+
+        TestObserver<Session> observer = sessionRepository.save(session)
+                .toCompletable()
+                .andThen(sessionRepository.delete(session.getId()))
+                .andThen(sessionRepository.findById(session.getId()))
+                .test();
+
+        observer.awaitTerminalEvent();
+
+        observer.assertComplete();
+        observer.assertNoErrors();
+        observer.assertNoValues();
+    }
+
+    @Test
+    public void shouldCountByDomain() {
+        String domain = RandomString.generate();
+
+        TestObserver<Long> observer = sessionRepository.save(session(RandomString.generate(), domain, new byte[]{1}, 60000))
+                .flatMap(savedSession -> sessionRepository.save(session(RandomString.generate(), domain, new byte[]{1}, -1000)))
+                .flatMap(savedSession -> sessionRepository.save(session(RandomString.generate(), new byte[]{1}, 60000)))
+                .flatMap(savedSession -> sessionRepository.countByDomain(domain))
+                .test();
+
+        observer.awaitTerminalEvent();
+
+        observer.assertComplete();
+        observer.assertNoErrors();
+        observer.assertValue(1L);
+    }
+
+    @Test
+    public void shouldDeleteByDomain() {
+        String domain = RandomString.generate();
+        Session otherSession = session(RandomString.generate(), new byte[]{1}, 60000);
+
+        TestObserver<Session> observer = sessionRepository.save(session(RandomString.generate(), domain, new byte[]{1}, 60000))
+                .flatMap(savedSession -> sessionRepository.save(otherSession))
+                .toCompletable()
+                .andThen(sessionRepository.deleteByDomain(domain))
+                .andThen(sessionRepository.findById(otherSession.getId()))
+                .test();
+
+        observer.awaitTerminalEvent();
+
+        observer.assertComplete();
+        observer.assertNoErrors();
+        observer.assertValue(session -> session.getId().equals(otherSession.getId()));
+        Assert.assertEquals(Long.valueOf(0), sessionRepository.countByDomain(domain).blockingGet());
+    }
+
+    private static Session session(String id, byte[] value, long timeToLive) {
+        return session(id, "my-domain", value, timeToLive);
+    }
+
+    private static Session session(String id, String domain, byte[] value, long timeToLive) {
+        Session session = new Session();
+        session.setId(id);
+        session.setDomain(domain);
+        session.setValue(value);
+        session.setUpdatedAt(new Date());
+        session.setExpireAt(new Date(System.currentTimeMillis() + timeToLive));
+        return session;
+    }
+}
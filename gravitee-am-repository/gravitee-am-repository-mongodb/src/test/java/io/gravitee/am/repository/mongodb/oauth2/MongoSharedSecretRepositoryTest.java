@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.mongodb.oauth2;
+
+import io.gravitee.am.common.utils.RandomString;
+import io.gravitee.am.repository.oauth2.model.SharedSecret;
+import io.reactivex.observers.TestObserver;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Date;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class MongoSharedSecretRepositoryTest extends AbstractOAuth2RepositoryTest {
+
+    @Autowired
+    private MongoSharedSecretRepository sharedSecretRepository;
+
+    @Override
+    public String collectionName() {
+        return "shared_secrets";
+    }
+
+    @Test
+    public void shouldCreate() {
+        SharedSecret secret = secret(RandomString.generate(), "my-secret");
+
+        TestObserver<SharedSecret> observer = sharedSecretRepository.findOrCreate(secret).test();
+
+        observer.awaitTerminalEvent();
+
+        observer.assertComplete();
+        observer.assertNoErrors();
+        observer.assertValue(sharedSecret -> sharedSecret.getValue().equals("my-secret") && sharedSecret.getDomain().equals("my-domain"));
+    }
+
+    @Test
+    public void shouldFind_existingSecret() {
+        String id = RandomString.generate();
+
+        TestObserver<SharedSecret> observer = sharedSecretRepository.findOrCreate(secret(id, "my-secret"))
+                .flatMap(sharedSecret -> sharedSecretRepository.findOrCreate(secret(id, "my-other-secret")))
+                .test();
+
+        observer.awaitTerminalEvent();
+
+        observer.assertComplete();
+        observer.assertNoErrors();
+        observer.assertValue(sharedSecret -> sharedSecret.getValue().equals("my-secret"));
+    }
+
+    @Test
+    public void shouldFindById() {
+        String id = RandomString.generate();
+
+        TestObserver<SharedSecret> observer = sharedSecretRepository.findOrCreate(secret(id, "my-secret"))
+                .flatMapMaybe(sharedSecret -> sharedSecretRepository.findById(id))
+                .test();
+
+        observer.awaitTerminalEvent();
+
+        observer.assertComplete();
+        observer.assertNoErrors();
+        observer.assertValue(sharedSecret -> sharedSecret.getValue().equals("my-secret"));
+    }
+
+    @Test
+    public void shouldNotFindById_unknownSecret() {
+        TestObserver<SharedSecret> observer = sharedSecretRepository.findById(RandomString.generate()).test();
+
+        observer.awaitTerminalEvent();
+
+        observer.assertComplete();
+        observer.assertNoValues();
+    }
+
+    private static SharedSecret secret(String id, String value) {
+        SharedSecret secret = new SharedSecret();
+        secret.setId(id);
+        secret.setDomain("my-domain");
+        secret.setValue(value);
+        secret.setCreatedAt(new Date());
+        secret.setExpireAt(new Date(System.currentTimeMillis() + 60000));
+        return secret;
+    }
+}
@@ -42,4 +42,14 @@ public interface PasswordEncoder {
      */
     boolean matches(CharSequence rawPassword, String encodedPassword);
 
+    /**
+     * Returns true if the encoded password should be encoded again for better security, else false.
+     * The default implementation always returns false.
+     *
+     * @param encodedPassword the encoded password to check
+     * @return true if the encoded password should be encoded again for better security, else false
+     */
+    default boolean upgradeEncoding(String encodedPassword) {
+        return false;
+    }
 }
@@ -93,4 +93,15 @@ public class BCryptPasswordEncoder implements PasswordEncoder {
 
         return BCrypt.checkpw(rawPassword.toString(), encodedPassword);
     }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (strength <= 0 || encodedPassword == null || !BCRYPT_PATTERN.matcher(encodedPassword).matches()) {
+            return false;
+        }
+
+        // encoded password format is $2a$<cost>$<salt+hash>
+        int cost = Integer.parseInt(encodedPassword.substring(encodedPassword.length() - 56, encodedPassword.length() - 54));
+        return cost < strength;
+    }
 }
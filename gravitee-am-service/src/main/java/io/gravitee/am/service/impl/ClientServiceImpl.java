@@ -360,6 +360,9 @@ public class ClientServiceImpl implements ClientService {
                     client.setCertificate(updateClient.getCertificate());
                     client.setEnhanceScopesWithUserPermissions(updateClient.isEnhanceScopesWithUserPermissions());
                     client.setScopeApprovals(updateClient.getScopeApprovals());
+                    client.setStatelessTokenValidation(updateClient.isStatelessTokenValidation());
+                    client.setIdentityProviderStrategy(updateClient.getIdentityProviderStrategy());
+                    client.setIdentityProviderRoutes(updateClient.getIdentityProviderRoutes());
                     return client;
                 })
                 .map(ResponseTypeUtils::applyDefaultResponseType)
@@ -88,6 +88,9 @@ public class DomainServiceImpl implements DomainService {
     @Autowired
     private FormService formService;
 
+    @Autowired
+    private EventService eventService;
+
     @Override
     public Maybe<Domain> findById(String id) {
         LOGGER.debug("Find domain by ID: {}", id);
@@ -143,6 +146,7 @@ public class DomainServiceImpl implements DomainService {
                         return domainRepository.create(domain);
                     }
                 })
+                .flatMap(domain -> createEvent(domain, new Event(Type.DOMAIN, new Payload(domain.getId(), domain.getId(), Action.CREATE))))
                 .flatMap(this::createSystemScopes)
                 .onErrorResumeNext(ex -> {
                     if (ex instanceof AbstractManagementException) {
@@ -180,6 +184,7 @@ public class DomainServiceImpl implements DomainService {
 
                     return domainRepository.update(domain);
                 })
+                .flatMap(domain -> createEvent(domain, new Event(Type.DOMAIN, new Payload(domainId, domainId, Action.UPDATE))))
                 .onErrorResumeNext(ex -> {
                     if (ex instanceof AbstractManagementException) {
                         return Single.error(ex);
@@ -200,6 +205,7 @@ public class DomainServiceImpl implements DomainService {
                     toPatch.setLastEvent(new Event(Type.DOMAIN, new Payload(domainId, domainId, Action.UPDATE)));
                     return domainRepository.update(toPatch);
                 })
+                .flatMap(domain -> createEvent(domain, new Event(Type.DOMAIN, new Payload(domainId, domainId, Action.UPDATE))))
                 .onErrorResumeNext(ex -> {
                     if (ex instanceof AbstractManagementException) {
                         return Single.error(ex);
@@ -220,6 +226,7 @@ public class DomainServiceImpl implements DomainService {
                     oldDomain.setLastEvent(event);
                     return domainRepository.update(oldDomain);
                 })
+                .flatMap(domain -> createEvent(domain, event))
                 .onErrorResumeNext(ex -> {
                     if (ex instanceof AbstractManagementException) {
                         return Single.error(ex);
@@ -331,7 +338,8 @@ public class DomainServiceImpl implements DomainService {
                                         return Completable.concat(deleteFormsCompletable);
                                     })
                             )
-                            .andThen(domainRepository.delete(domainId));
+                            .andThen(domainRepository.delete(domainId))
+                            .andThen(eventService.create(new Event(Type.DOMAIN, new Payload(domainId, domainId, Action.DELETE))).toCompletable());
                 })
                 .onErrorResumeNext(ex -> {
                     if (ex instanceof AbstractManagementException) {
@@ -385,4 +393,9 @@ public class DomainServiceImpl implements DomainService {
         domainName = pattern.matcher(nfdNormalizedString).replaceAll("");
         return domainName.toLowerCase().trim().replaceAll("\\s{1,}", "-");
     }
+
+    private Single<Domain> createEvent(Domain domain, Event event) {
+        // append the change to the event log so that gateways are notified of it
+        return event == null ? Single.just(domain) : eventService.create(event).map(event1 -> domain);
+    }
 }
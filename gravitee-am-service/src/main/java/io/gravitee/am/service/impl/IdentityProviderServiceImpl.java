@@ -135,6 +135,7 @@ public class IdentityProviderServiceImpl implements IdentityProviderService {
                     identityProvider.setConfiguration(updateIdentityProvider.getConfiguration());
                     identityProvider.setMappers(updateIdentityProvider.getMappers());
                     identityProvider.setRoleMapper(updateIdentityProvider.getRoleMapper());
+                    identityProvider.setCacheTimeToLive(updateIdentityProvider.getCacheTimeToLive());
                     identityProvider.setUpdatedAt(new Date());
 
                     return identityProviderRepository.update(identityProvider)
@@ -214,6 +214,13 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public Single<User> findOrCreate(String domain,io.gravitee.am.identityprovider.api.User user) {
+        // group mapping needs the user id to check the group memberships, otherwise the login is stored in one round trip
+        Map<String, List<String>> groupMapping = (Map<String, List<String>>) user.getAdditionalInformation().get(GROUP_MAPPING_ATTRIBUTE);
+        if (groupMapping == null || groupMapping.values().stream().allMatch(groups -> groups == null || groups.isEmpty())) {
+            // with a (group-less) role mapper the stored roles are replaced by the mapped ones, otherwise they are merged
+            return upsertLogin(domain, user, groupMapping == null);
+        }
+
         String source = (String) user.getAdditionalInformation().get("source");
         return userRepository.findByDomainAndUsernameAndSource(domain, user.getUsername(), source)
                 .switchIfEmpty(Maybe.error(new UserNotFoundException(user.getUsername())))
@@ -256,6 +263,21 @@ public class UserServiceImpl implements UserService {
 
     }
 
+    private Single<User> upsertLogin(String domain, io.gravitee.am.identityprovider.api.User user, boolean mergeRoles) {
+        LOGGER.debug("Upserting user: username[{}]", user.getUsername());
+        final User loggedUser = new User();
+        // set external id
+        loggedUser.setExternalId(user.getId());
+        loggedUser.setUsername(user.getUsername());
+        loggedUser.setDomain(domain);
+        loggedUser.setLoggedAt(new Date());
+        loggedUser.setRoles(user.getRoles());
+
+        Map<String, Object> additionalInformation = user.getAdditionalInformation();
+        extractAdditionalInformation(loggedUser, additionalInformation);
+        return userRepository.upsertLogin(loggedUser, mergeRoles);
+    }
+
     private Single<User> enhanceUserWithGroupRoles(User user, io.gravitee.am.identityprovider.api.User idpUser) {
         if (idpUser.getAdditionalInformation() != null && idpUser.getAdditionalInformation().containsKey(GROUP_MAPPING_ATTRIBUTE)) {
             Map<String, List<String>> groupMapping = (Map<String, List<String>>) idpUser.getAdditionalInformation().get(GROUP_MAPPING_ATTRIBUTE);
@@ -16,6 +16,7 @@
 package io.gravitee.am.service.model;
 
 import io.gravitee.am.model.Client;
+import io.gravitee.am.model.IdentityProviderStrategy;
 import io.gravitee.am.model.oidc.JWKSet;
 import io.gravitee.am.service.utils.SetterUtils;
 
@@ -76,6 +77,9 @@ public class PatchClient {
     private Optional<String> certificate;
     private Optional<Boolean> enhanceScopesWithUserPermissions;
     private Optional<Map<String, Integer>> scopeApprovals;
+    private Optional<Boolean> statelessTokenValidation;
+    private Optional<IdentityProviderStrategy> identityProviderStrategy;
+    private Optional<Map<String, String>> identityProviderRoutes;
 
     public Optional<List<String>> getRedirectUris() {
         return redirectUris;
@@ -469,6 +473,30 @@ public class PatchClient {
         this.scopeApprovals = scopeApprovals;
     }
 
+    public Optional<Boolean> getStatelessTokenValidation() {
+        return statelessTokenValidation;
+    }
+
+    public void setStatelessTokenValidation(Optional<Boolean> statelessTokenValidation) {
+        this.statelessTokenValidation = statelessTokenValidation;
+    }
+
+    public Optional<IdentityProviderStrategy> getIdentityProviderStrategy() {
+        return identityProviderStrategy;
+    }
+
+    public void setIdentityProviderStrategy(Optional<IdentityProviderStrategy> identityProviderStrategy) {
+        this.identityProviderStrategy = identityProviderStrategy;
+    }
+
+    public Optional<Map<String, String>> getIdentityProviderRoutes() {
+        return identityProviderRoutes;
+    }
+
+    public void setIdentityProviderRoutes(Optional<Map<String, String>> identityProviderRoutes) {
+        this.identityProviderRoutes = identityProviderRoutes;
+    }
+
     public Client patch(Client toPatch, boolean forceNull) {
 
         SetterUtils.safeSet(toPatch::setRedirectUris, this.getRedirectUris());
@@ -525,6 +553,9 @@ public class PatchClient {
         }
         SetterUtils.safeSet(toPatch::setEnhanceScopesWithUserPermissions, this.getEnhanceScopesWithUserPermissions(), boolean.class);
         SetterUtils.safeSet(toPatch::setScopeApprovals, this.getScopeApprovals());
+        SetterUtils.safeSet(toPatch::setStatelessTokenValidation, this.getStatelessTokenValidation(), boolean.class);
+        SetterUtils.safeSet(toPatch::setIdentityProviderStrategy, this.getIdentityProviderStrategy());
+        SetterUtils.safeSet(toPatch::setIdentityProviderRoutes, this.getIdentityProviderRoutes());
 
         return toPatch;
     }
@@ -15,6 +15,8 @@
  */
 package io.gravitee.am.service.model;
 
+import io.gravitee.am.model.IdentityProviderStrategy;
+
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -55,6 +57,12 @@ public class UpdateClient {
 
     private Map<String, Integer> scopeApprovals;
 
+    private boolean statelessTokenValidation;
+
+    private IdentityProviderStrategy identityProviderStrategy;
+
+    private Map<String, String> identityProviderRoutes;
+
     public List<String> getRedirectUris() {
         return redirectUris;
     }
@@ -174,4 +182,28 @@ public class UpdateClient {
     public void setScopeApprovals(Map<String, Integer> scopeApprovals) {
         this.scopeApprovals = scopeApprovals;
     }
+
+    public boolean isStatelessTokenValidation() {
+        return statelessTokenValidation;
+    }
+
+    public void setStatelessTokenValidation(boolean statelessTokenValidation) {
+        this.statelessTokenValidation = statelessTokenValidation;
+    }
+
+    public IdentityProviderStrategy getIdentityProviderStrategy() {
+        return identityProviderStrategy;
+    }
+
+    public void setIdentityProviderStrategy(IdentityProviderStrategy identityProviderStrategy) {
+        this.identityProviderStrategy = identityProviderStrategy;
+    }
+
+    public Map<String, String> getIdentityProviderRoutes() {
+        return identityProviderRoutes;
+    }
+
+    public void setIdentityProviderRoutes(Map<String, String> identityProviderRoutes) {
+        this.identityProviderRoutes = identityProviderRoutes;
+    }
 }
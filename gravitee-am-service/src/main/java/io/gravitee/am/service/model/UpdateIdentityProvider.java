@@ -34,6 +34,8 @@ public class UpdateIdentityProvider {
 
     private Map<String, String[]> roleMapper;
 
+    private Long cacheTimeToLive;
+
     public String getName() {
         return name;
     }
@@ -66,6 +68,14 @@ public class UpdateIdentityProvider {
         this.roleMapper = roleMapper;
     }
 
+    public Long getCacheTimeToLive() {
+        return cacheTimeToLive;
+    }
+
+    public void setCacheTimeToLive(Long cacheTimeToLive) {
+        this.cacheTimeToLive = cacheTimeToLive;
+    }
+
     @Override
     public String toString() {
         return "UpdateIdentityProvider{" +
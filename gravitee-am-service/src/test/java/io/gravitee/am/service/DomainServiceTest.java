@@ -16,6 +16,10 @@
 package io.gravitee.am.service;
 
 import io.gravitee.am.model.*;
+import io.gravitee.am.model.common.event.Action;
+import io.gravitee.am.model.common.event.Event;
+import io.gravitee.am.model.common.event.Payload;
+import io.gravitee.am.model.common.event.Type;
 import io.gravitee.am.model.oauth2.Scope;
 import io.gravitee.am.repository.exceptions.TechnicalException;
 import io.gravitee.am.repository.management.api.DomainRepository;
@@ -34,6 +38,7 @@ import io.reactivex.Single;
 import io.reactivex.observers.TestObserver;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatcher;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -131,6 +136,9 @@ public class DomainServiceTest {
     @Mock
     private EmailTemplateService emailTemplateService;
 
+    @Mock
+    private EventService eventService;
+
 
     @Test
     public void shouldFindById() {
@@ -213,6 +221,7 @@ public class DomainServiceTest {
         when(domainRepository.findById("my-domain")).thenReturn(Maybe.empty());
         when(domainRepository.create(any(Domain.class))).thenReturn(Single.just(new Domain()));
         when(scopeService.create(anyString(), any(NewSystemScope.class))).thenReturn(Single.just(new Scope()));
+        when(eventService.create(any())).thenReturn(Single.just(new Event()));
 
         TestObserver testObserver = domainService.create(newDomain).test();
         testObserver.awaitTerminalEvent();
@@ -222,6 +231,7 @@ public class DomainServiceTest {
 
         verify(domainRepository, times(1)).findById(anyString());
         verify(domainRepository, times(1)).create(any(Domain.class));
+        verify(eventService, times(1)).create(any());
         verify(scopeService, times(io.gravitee.am.common.oidc.Scope.values().length)).create(anyString(), any(NewSystemScope.class));
     }
 
@@ -276,6 +286,7 @@ public class DomainServiceTest {
         UpdateDomain updateDomain = Mockito.mock(UpdateDomain.class);
         when(domainRepository.findById("my-domain")).thenReturn(Maybe.just(new Domain()));
         when(domainRepository.update(any(Domain.class))).thenReturn(Single.just(new Domain()));
+        when(eventService.create(any())).thenReturn(Single.just(new Event()));
 
         TestObserver testObserver = domainService.update("my-domain", updateDomain).test();
         testObserver.awaitTerminalEvent();
@@ -285,6 +296,7 @@ public class DomainServiceTest {
 
         verify(domainRepository, times(1)).findById(anyString());
         verify(domainRepository, times(1)).update(any(Domain.class));
+        verify(eventService, times(1)).create(any());
     }
 
     @Test
@@ -346,6 +358,7 @@ public class DomainServiceTest {
         when(patchDomain.patch(any())).thenReturn(new Domain());
         when(domainRepository.findById("my-domain")).thenReturn(Maybe.just(new Domain()));
         when(domainRepository.update(any(Domain.class))).thenReturn(Single.just(new Domain()));
+        when(eventService.create(any())).thenReturn(Single.just(new Event()));
 
         TestObserver testObserver = domainService.patch("my-domain", patchDomain).test();
         testObserver.awaitTerminalEvent();
@@ -355,6 +368,7 @@ public class DomainServiceTest {
 
         verify(domainRepository, times(1)).findById(anyString());
         verify(domainRepository, times(1)).update(any(Domain.class));
+        verify(eventService, times(1)).create(any());
     }
 
     @Test
@@ -415,6 +429,7 @@ public class DomainServiceTest {
         when(email.getId()).thenReturn(EMAIL_ID);
         when(emailTemplateService.findByDomain(DOMAIN_ID)).thenReturn(Single.just(Collections.singletonList(email)));
         when(emailTemplateService.delete(anyString())).thenReturn(Completable.complete());
+        when(eventService.create(any())).thenReturn(Single.just(new Event()));
 
         TestObserver testObserver = domainService.delete(DOMAIN_ID).test();
         testObserver.awaitTerminalEvent();
@@ -432,6 +447,13 @@ public class DomainServiceTest {
         verify(groupService, times(1)).delete(GROUP_ID);
         verify(formService, times(1)).delete(FORM_ID);
         verify(emailTemplateService, times(1)).delete(EMAIL_ID);
+        verify(eventService, times(1)).create(argThat(new ArgumentMatcher<Event>() {
+            @Override
+            public boolean matches(Object argument) {
+                Event event = (Event) argument;
+                return event.getType() == Type.DOMAIN && event.getPayload().getAction() == Action.DELETE;
+            }
+        }));
     }
 
     @Test
@@ -448,6 +470,7 @@ public class DomainServiceTest {
         when(groupService.findByDomain(DOMAIN_ID)).thenReturn(Single.just(Collections.emptyList()));
         when(formService.findByDomain(DOMAIN_ID)).thenReturn(Single.just(Collections.emptyList()));
         when(emailTemplateService.findByDomain(DOMAIN_ID)).thenReturn(Single.just(Collections.emptyList()));
+        when(eventService.create(any())).thenReturn(Single.just(new Event()));
 
         TestObserver testObserver = domainService.delete(DOMAIN_ID).test();
         testObserver.awaitTerminalEvent();
@@ -597,6 +620,23 @@ public class DomainServiceTest {
         verify(domainRepository, times(1)).update(any(Domain.class));
     }
 
+    @Test
+    public void shouldReload_createEvent() {
+        Event event = new Event(Type.CLIENT, new Payload("client-id", DOMAIN_ID, Action.UPDATE));
+        when(domainRepository.findById(DOMAIN_ID)).thenReturn(Maybe.just(new Domain()));
+        when(domainRepository.update(any(Domain.class))).thenReturn(Single.just(new Domain()));
+        when(eventService.create(event)).thenReturn(Single.just(event));
+
+        TestObserver testObserver = domainService.reload(DOMAIN_ID, event).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+
+        verify(domainRepository, times(1)).update(any(Domain.class));
+        verify(eventService, times(1)).create(event);
+    }
+
     @Test
     public void shouldReload_domainNotFound() {
         when(domainRepository.findById(DOMAIN_ID)).thenReturn(Maybe.empty());
@@ -15,9 +15,12 @@
  */
 package io.gravitee.am.service;
 
+import io.gravitee.am.identityprovider.api.DefaultUser;
+import io.gravitee.am.model.Group;
 import io.gravitee.am.model.User;
 import io.gravitee.am.model.common.Page;
 import io.gravitee.am.repository.exceptions.TechnicalException;
+import io.gravitee.am.repository.management.api.GroupRepository;
 import io.gravitee.am.repository.management.api.UserRepository;
 import io.gravitee.am.service.exception.TechnicalManagementException;
 import io.gravitee.am.service.exception.UserAlreadyExistsException;
@@ -31,15 +34,21 @@ import io.reactivex.Single;
 import io.reactivex.observers.TestObserver;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatcher;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -55,6 +64,9 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private GroupRepository groupRepository;
+
     private final static String DOMAIN = "domain1";
 
     @Test
@@ -289,4 +301,77 @@ public class UserServiceTest {
 
         verify(userRepository, never()).delete("my-user");
     }
+
+    @Test
+    public void shouldFindOrCreate_upsert() {
+        when(userRepository.upsertLogin(any(User.class), eq(true))).thenReturn(Single.just(new User()));
+
+        TestObserver testObserver = userService.findOrCreate(DOMAIN, idpUser(null)).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+
+        verify(userRepository, times(1)).upsertLogin(argThat(new ArgumentMatcher<User>() {
+            @Override
+            public boolean matches(Object argument) {
+                User user = (User) argument;
+                return DOMAIN.equals(user.getDomain())
+                        && "username".equals(user.getUsername())
+                        && "idp".equals(user.getSource())
+                        && "client".equals(user.getClient())
+                        && "external-id".equals(user.getExternalId())
+                        && user.getLoggedAt() != null
+                        && !user.getAdditionalInformation().containsKey("source");
+            }
+        }), eq(true));
+        verify(userRepository, never()).findByDomainAndUsernameAndSource(any(), any(), any());
+    }
+
+    @Test
+    public void shouldFindOrCreate_upsertWithoutGroups() {
+        when(userRepository.upsertLogin(any(User.class), eq(false))).thenReturn(Single.just(new User()));
+
+        TestObserver testObserver = userService.findOrCreate(DOMAIN, idpUser(Collections.singletonMap("role-id", Collections.emptyList()))).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+
+        verify(userRepository, times(1)).upsertLogin(any(User.class), eq(false));
+        verify(groupRepository, never()).findByIdIn(anyList());
+    }
+
+    @Test
+    public void shouldFindOrCreate_groupMapping() {
+        User existingUser = new User();
+        existingUser.setId("user-id");
+        Group group = new Group();
+        group.setMembers(Collections.singletonList("user-id"));
+        when(userRepository.findByDomainAndUsernameAndSource(DOMAIN, "username", "idp")).thenReturn(Maybe.just(existingUser));
+        when(groupRepository.findByIdIn(Collections.singletonList("group-id"))).thenReturn(Single.just(Collections.singletonList(group)));
+        when(userRepository.update(any(User.class))).thenReturn(Single.just(existingUser));
+
+        TestObserver<User> testObserver = userService.findOrCreate(DOMAIN, idpUser(Collections.singletonMap("role-id", Collections.singletonList("group-id")))).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        testObserver.assertValue(user -> user.getRoles().contains("role-id") && user.getLoginsCount() == 1);
+
+        verify(userRepository, never()).upsertLogin(any(User.class), anyBoolean());
+    }
+
+    private DefaultUser idpUser(Map<String, List<String>> groupMapping) {
+        DefaultUser user = new DefaultUser("username");
+        user.setId("external-id");
+        Map<String, Object> additionalInformation = new HashMap<>();
+        additionalInformation.put("source", "idp");
+        additionalInformation.put("client_id", "client");
+        if (groupMapping != null) {
+            additionalInformation.put("_RESERVED_AM_GROUP_MAPPING_", groupMapping);
+        }
+        user.setAdditionalInformation(additionalInformation);
+        return user;
+    }
 }
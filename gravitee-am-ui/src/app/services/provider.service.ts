@@ -45,7 +45,8 @@ export class ProviderService {
       'name' : provider.name,
       'configuration' : provider.configuration,
       'mappers' : provider.mappers,
-      'roleMapper' : provider.roleMapper
+      'roleMapper' : provider.roleMapper,
+      'cacheTimeToLive' : provider.cacheTimeToLive
     });
   }
 